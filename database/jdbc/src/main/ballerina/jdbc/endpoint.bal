@@ -23,12 +23,16 @@ import ballerina/sql;
 # + password - Password for the database connection
 # + poolOptions - Properties for the connection pool configuration. Refer `sql:PoolOptions` for more details
 # + dbOptions - A map of DB specific properties. These properties will have an effect only if the dataSourceClassName is provided in poolOptions
+# + replicaOptions - Read replicas to which select operations are routed. Refer `sql:ReplicaOptions` for more details
+# + shardingOptions - Shards across which the data is split. Refer `sql:ShardingOptions` for more details
 public type ClientEndpointConfiguration record {
     string url;
     string username;
     string password;
     sql:PoolOptions poolOptions;
     map dbOptions;
+    sql:ReplicaOptions replicaOptions;
+    sql:ShardingOptions shardingOptions;
     !...
 };
 
@@ -25,6 +25,8 @@ import ballerina/sql;
 # + password - Password for the database connection
 # + poolOptions - Properties for the connection pool configuration. Refer `sql:PoolOptions` for more details
 # + dbOptions - A map of DB specific properties
+# + replicaOptions - Read replicas to which select operations are routed. Refer `sql:ReplicaOptions` for more details
+# + shardingOptions - Shards across which the data is split. Refer `sql:ShardingOptions` for more details
 public type ClientEndpointConfiguration record {
     string host;
     int port = 3306;
@@ -33,6 +35,8 @@ public type ClientEndpointConfiguration record {
     string password;
     sql:PoolOptions poolOptions;
     map dbOptions;
+    sql:ReplicaOptions replicaOptions;
+    sql:ShardingOptions shardingOptions;
     !...
 };
 
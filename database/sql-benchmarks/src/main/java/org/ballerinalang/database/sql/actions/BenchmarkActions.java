@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.actions;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.database.sql.SQLDatasource;
+import org.ballerinalang.database.sql.statement.SQLTemplate;
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStringArray;
+
+import java.sql.SQLException;
+
+/**
+ * Calls the actions of the connector with the arguments already read from the context, so that the benchmarks can
+ * run the actions outside a Ballerina program. The benchmarks live in another module, hence this class is in the
+ * package of the actions to reach their protected methods.
+ *
+ * @since 0.982.1
+ */
+public final class BenchmarkActions {
+
+    private static final Select SELECT = new Select();
+    private static final Update UPDATE = new Update();
+    private static final UpdateWithGeneratedKeys UPDATE_WITH_KEYS = new UpdateWithGeneratedKeys();
+    private static final Call CALL = new Call();
+    private static final BatchUpdate BATCH_UPDATE = new BatchUpdate();
+
+    private BenchmarkActions() {
+    }
+
+    public static void select(Context context, SQLDatasource datasource, String query, BRefValueArray parameters,
+            BStructureType structType, boolean loadToMemory) {
+        SELECT.executeQuery(context, datasource, query, parameters, structType, loadToMemory, -1);
+    }
+
+    public static void update(Context context, SQLDatasource datasource, String query, BRefValueArray parameters) {
+        UPDATE.executeUpdate(context, datasource, query, parameters);
+    }
+
+    public static void updateWithKeys(Context context, SQLDatasource datasource, String query,
+            BStringArray keyColumns, BRefValueArray parameters) {
+        UPDATE_WITH_KEYS.executeUpdateWithKeys(context, datasource, query, keyColumns, parameters);
+    }
+
+    public static void call(Context context, SQLDatasource datasource, String query, BRefValueArray parameters) {
+        CALL.executeProcedure(context, datasource, query, parameters, null);
+    }
+
+    public static void batchUpdate(Context context, SQLDatasource datasource, String query,
+            BRefValueArray parameters, int batchSize) throws SQLException {
+        BATCH_UPDATE.executeBatchUpdate(context, datasource, query, parameters, batchSize, false, 1);
+    }
+
+    public static String processQuery(SQLTemplate template, BRefValueArray parameters) {
+        return SELECT.createProcessedQueryString(template, parameters);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.benchmarks;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.database.sql.SQLDatasource;
+import org.ballerinalang.database.sql.actions.BenchmarkActions;
+import org.ballerinalang.database.sql.statement.SQLTemplate;
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.ProgramFile;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+
+/**
+ * Runs the actions of the connector outside a Ballerina program through {@link BenchmarkActions}. Each action is
+ * given a stub context, which is not in a transaction and keeps the values the action returns, so that the benchmarks
+ * measure the same code as the actions called from Ballerina, apart from reading the arguments.
+ *
+ * @since 0.982.1
+ */
+class BenchmarkSQLAction {
+
+    // An empty program, so that the time types of the tables returned by selects are not found.
+    private static final ProgramFile PROGRAM_FILE = new ProgramFile();
+
+    BValue select(SQLDatasource datasource, String query, BRefValueArray parameters, BStructureType structType,
+            boolean loadToMemory) {
+        StubContext context = new StubContext();
+        BenchmarkActions.select(context.proxy, datasource, query, parameters, structType, loadToMemory);
+        return context.getReturnValue();
+    }
+
+    BValue update(SQLDatasource datasource, String query, BRefValueArray parameters) {
+        StubContext context = new StubContext();
+        BenchmarkActions.update(context.proxy, datasource, query, parameters);
+        return context.getReturnValue();
+    }
+
+    BValue updateWithKeys(SQLDatasource datasource, String query, BStringArray keyColumns,
+            BRefValueArray parameters) {
+        StubContext context = new StubContext();
+        BenchmarkActions.updateWithKeys(context.proxy, datasource, query, keyColumns, parameters);
+        return context.getReturnValue();
+    }
+
+    BValue call(SQLDatasource datasource, String query, BRefValueArray parameters) {
+        StubContext context = new StubContext();
+        BenchmarkActions.call(context.proxy, datasource, query, parameters);
+        return context.getReturnValue();
+    }
+
+    BValue batchUpdate(SQLDatasource datasource, String query, BRefValueArray parameters, int batchSize)
+            throws SQLException {
+        StubContext context = new StubContext();
+        BenchmarkActions.batchUpdate(context.proxy, datasource, query, parameters, batchSize);
+        return context.getReturnValue();
+    }
+
+    String processQuery(SQLTemplate template, BRefValueArray parameters) {
+        return BenchmarkActions.processQuery(template, parameters);
+    }
+
+    /**
+     * The context of an action run by a benchmark. Only the methods the actions use outside a transaction are
+     * implemented, the others return the default value of their type.
+     */
+    private static class StubContext implements InvocationHandler {
+
+        private final Context proxy = (Context) Proxy.newProxyInstance(Context.class.getClassLoader(),
+                new Class<?>[] {Context.class}, this);
+        private BValue[] returnValues;
+
+        BValue getReturnValue() {
+            return returnValues != null && returnValues.length > 0 ? returnValues[0] : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+            case "setReturnValues":
+                returnValues = (BValue[]) args[0];
+                return null;
+            case "getProgramFile":
+                return PROGRAM_FILE;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "benchmark context";
+            default:
+                return defaultValue(method.getReturnType());
+            }
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            } else if (type == long.class) {
+                return 0L;
+            } else if (type == int.class) {
+                return 0;
+            } else if (type == double.class) {
+                return 0.0;
+            }
+            return null;
+        }
+    }
+}
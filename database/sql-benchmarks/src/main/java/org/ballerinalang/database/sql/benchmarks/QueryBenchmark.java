@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.benchmarks;
+
+import org.ballerinalang.model.values.BInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the select action: a streamed select and a select loaded to memory. Each benchmark reads all the rows
+ * and maps them to records.
+ *
+ * @since 0.982.1
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static final String QUERY = "SELECT " + SQLBenchmarkState.ITEM_COLUMNS + " FROM ITEMS WHERE ID <= ?";
+
+    @Benchmark
+    public int selectStreaming(SQLBenchmarkState state, Blackhole blackhole) {
+        return select(state, blackhole, false);
+    }
+
+    @Benchmark
+    public int selectLoadToMemory(SQLBenchmarkState state, Blackhole blackhole) {
+        return select(state, blackhole, true);
+    }
+
+    private static int select(SQLBenchmarkState state, Blackhole blackhole, boolean loadToMemory) {
+        return SQLBenchmarkState.consume(state.action.select(state.datasource, QUERY,
+                SQLBenchmarkState.parameters(new BInteger(state.rowCount)), state.itemType, loadToMemory),
+                blackhole);
+    }
+}
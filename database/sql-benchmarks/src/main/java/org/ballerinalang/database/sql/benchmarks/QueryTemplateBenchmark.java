@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.benchmarks;
+
+import org.ballerinalang.database.sql.statement.SQLTemplate;
+import org.ballerinalang.database.sql.statement.TableReferences;
+import org.ballerinalang.model.values.BIntArray;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the processing of a query before it is prepared: expanding the placeholders of an array parameter, as
+ * done for an IN clause by the actions, and scanning the query for the tables it refers to. No database is involved.
+ *
+ * @since 0.982.1
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryTemplateBenchmark {
+
+    private static final String QUERY = "SELECT ID, NAME, PRICE FROM ITEMS i JOIN EVENTS e ON i.ID = e.ITEM_ID "
+            + "WHERE i.CATEGORY = ? AND i.ID IN (?) AND e.NOTE <> '?' -- ?\nORDER BY i.ID";
+
+    @Param({"1", "10", "100"})
+    public int arraySize;
+
+    private BenchmarkSQLAction action;
+    private BRefValueArray parameters;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        action = new BenchmarkSQLAction();
+        long[] ids = new long[arraySize];
+        for (int i = 0; i < arraySize; i++) {
+            ids[i] = i + 1;
+        }
+        parameters = SQLBenchmarkState.parameters(new BString("BOOK"), new BIntArray(ids));
+    }
+
+    @Benchmark
+    public String expandArrayParameter() {
+        return action.processQuery(SQLTemplate.compile(QUERY), parameters);
+    }
+
+    @Benchmark
+    public TableReferences parseTableReferences() {
+        return TableReferences.parse(QUERY);
+    }
+}
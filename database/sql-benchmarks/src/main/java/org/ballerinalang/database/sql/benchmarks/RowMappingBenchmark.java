@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.benchmarks;
+
+import org.ballerinalang.database.sql.SQLDataIterator;
+import org.ballerinalang.database.sql.SQLDatasourceUtils;
+import org.ballerinalang.database.table.AbstractInMemoryResultSet;
+import org.ballerinalang.database.table.BCursorTable;
+import org.ballerinalang.database.table.ColumnarResultSet;
+import org.ballerinalang.model.ColumnDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks mapping rows to records while a table returned by a select loaded to memory is iterated. The rows are
+ * loaded once, and each iteration reads them through a table built the way the select action builds it, so the
+ * database is not a part of the measurement.
+ *
+ * @since 0.982.1
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowMappingBenchmark {
+
+    private AbstractInMemoryResultSet rows;
+    private List<ColumnDefinition> columnDefinitions;
+
+    @Setup(Level.Trial)
+    public void loadRows(SQLBenchmarkState state) throws SQLException {
+        try (Connection conn = state.datasource.getSQLConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT " + SQLBenchmarkState.ITEM_COLUMNS
+                     + " FROM ITEMS");
+             ResultSet rs = stmt.executeQuery()) {
+            columnDefinitions = SQLDatasourceUtils.getColumnDefinitions(rs);
+            rows = ColumnarResultSet.load(rs);
+        }
+    }
+
+    @Benchmark
+    public int generateNext(SQLBenchmarkState state, Blackhole blackhole) {
+        SQLDataIterator iterator = new SQLDataIterator(null, rows.copy(), state.utcCalendar, columnDefinitions,
+                state.itemType, null, null, state.datasource.getDatabaseProductName());
+        return SQLBenchmarkState.consume(new BCursorTable(iterator, true), blackhole);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.benchmarks;
+
+import org.ballerinalang.database.sql.Constants;
+import org.ballerinalang.database.sql.SQLDatasource;
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.types.BField;
+import org.ballerinalang.model.types.BRecordType;
+import org.ballerinalang.model.types.BStructureType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BTable;
+import org.ballerinalang.model.values.BValue;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An embedded H2 database shared by the benchmarks of a trial, with an ITEMS table of {@link #rowCount} rows, an
+ * EVENTS table for inserts and an UPDATE_PRICE procedure.
+ * <p>
+ * The benchmarks run the actions through {@link BenchmarkSQLAction}, which gives them a stub context, so that they
+ * measure the code the actions run when called from Ballerina. Build the module with {@code mvn package} and run
+ * {@code java -jar target/benchmarks.jar -prof gc} to report the allocation rate along with the throughput and the
+ * latency. A benchmark name pattern can be appended to run a subset of the benchmarks.
+ *
+ * @since 0.982.1
+ */
+@State(Scope.Benchmark)
+public class SQLBenchmarkState {
+
+    static final String ITEM_COLUMNS = "ID, NAME, CATEGORY, PRICE, QUANTITY, ACTIVE, CREATED";
+    private static final String[] CATEGORIES = {"BOOK", "FOOD", "TOOL", "TOY"};
+
+    @Param({"100", "10000"})
+    public int rowCount;
+
+    SQLDatasource datasource;
+    BenchmarkSQLAction action;
+    Calendar utcCalendar;
+    BStructureType itemType;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        datasource = new SQLDatasource();
+        datasource.init(new SQLDatasource.SQLDatasourceParamsBuilder("H2").withJdbcUrl(url).withHostOrPath("")
+                .withPort(0).withUsername("sa").withPassword("").withDbName("").withUrlOptions("").build());
+        action = new BenchmarkSQLAction();
+        utcCalendar = Calendar.getInstance(TimeZone.getTimeZone(Constants.TIMEZONE_UTC));
+        itemType = createItemType();
+        try (Connection conn = datasource.getSQLConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE ITEMS (ID INT PRIMARY KEY, NAME VARCHAR(64), CATEGORY VARCHAR(16), "
+                    + "PRICE DOUBLE, QUANTITY INT, ACTIVE BOOLEAN, CREATED TIMESTAMP)");
+            stmt.execute("CREATE TABLE EVENTS (ID INT AUTO_INCREMENT PRIMARY KEY, ITEM_ID INT, NOTE VARCHAR(64))");
+            stmt.execute("CREATE ALIAS UPDATE_PRICE FOR \"" + SQLBenchmarkState.class.getName() + ".updatePrice\"");
+            insertItems(conn);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearEvents() throws SQLException {
+        try (Connection conn = datasource.getSQLConnection(); Statement stmt = conn.createStatement()) {
+            stmt.execute("TRUNCATE TABLE EVENTS");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        datasource.closeConnectionPool();
+    }
+
+    /**
+     * Body of the UPDATE_PRICE procedure.
+     *
+     * @param conn  The connection the procedure is called on
+     * @param id    Id of the item
+     * @param price The new price
+     * @throws SQLException If the update fails
+     */
+    public static void updatePrice(Connection conn, int id, double price) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("UPDATE ITEMS SET PRICE = ? WHERE ID = ?")) {
+            stmt.setDouble(1, price);
+            stmt.setInt(2, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    int randomItemId() {
+        return ThreadLocalRandom.current().nextInt(1, rowCount + 1);
+    }
+
+    /**
+     * Creates the parameters of an action, as passed by a Ballerina program.
+     */
+    static BRefValueArray parameters(BRefType<?>... values) {
+        BRefValueArray parameters = new BRefValueArray(new BArrayType(BTypes.typeAny));
+        for (int i = 0; i < values.length; i++) {
+            parameters.add(i, values[i]);
+        }
+        return parameters;
+    }
+
+    /**
+     * Reads all the rows of a table returned by a select, the way a Ballerina program iterates it, and closes it.
+     *
+     * @return Number of rows read
+     */
+    static int consume(BValue result, Blackhole blackhole) {
+        BTable table = (BTable) result;
+        int rows = 0;
+        try {
+            while (table.hasNext(false)) {
+                blackhole.consume(table.getNext());
+                rows++;
+            }
+        } finally {
+            table.close(false);
+        }
+        return rows;
+    }
+
+    private void insertItems(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO ITEMS (" + ITEM_COLUMNS
+                + ") VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= rowCount; id++) {
+                stmt.setInt(1, id);
+                stmt.setString(2, "item-" + id);
+                stmt.setString(3, CATEGORIES[id % CATEGORIES.length]);
+                stmt.setDouble(4, id * 0.25);
+                stmt.setInt(5, id % 100);
+                stmt.setBoolean(6, id % 2 == 0);
+                stmt.setTimestamp(7, new Timestamp(1500000000000L + id * 1000L));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static BStructureType createItemType() {
+        BRecordType type = new BRecordType(null, "Item", "", 0);
+        type.setFields(new BField[] {
+                new BField(BTypes.typeInt, "id", 0),
+                new BField(BTypes.typeString, "name", 0),
+                new BField(BTypes.typeString, "category", 0),
+                new BField(BTypes.typeFloat, "price", 0),
+                new BField(BTypes.typeInt, "quantity", 0),
+                new BField(BTypes.typeBoolean, "active", 0),
+                new BField(BTypes.typeInt, "created", 0)
+        });
+        return type;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.benchmarks;
+
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the update, update with generated keys and call actions, each of which writes a single row.
+ *
+ * @since 0.982.1
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateBenchmark {
+
+    private static final String UPDATE = "UPDATE ITEMS SET PRICE = ? WHERE ID = ?";
+    private static final String INSERT = "INSERT INTO EVENTS (ITEM_ID, NOTE) VALUES (?, ?)";
+    private static final String CALL = "{call UPDATE_PRICE(?, ?)}";
+
+    @Benchmark
+    public BValue update(SQLBenchmarkState state) {
+        return state.action.update(state.datasource, UPDATE,
+                SQLBenchmarkState.parameters(new BFloat(9.5), new BInteger(state.randomItemId())));
+    }
+
+    @Benchmark
+    public BValue updateWithGeneratedKeys(SQLBenchmarkState state) {
+        return state.action.updateWithKeys(state.datasource, INSERT, null,
+                SQLBenchmarkState.parameters(new BInteger(state.randomItemId()), new BString("viewed")));
+    }
+
+    @Benchmark
+    public BValue call(SQLBenchmarkState state) {
+        return state.action.call(state.datasource, CALL,
+                SQLBenchmarkState.parameters(new BInteger(state.randomItemId()), new BFloat(9.5)));
+    }
+}
@@ -33,10 +33,12 @@ public type CallerActions object {
     # + sqlQuery - SQL query to execute
     # + recordType - Type of the returned table
     # + loadToMemory - Indicates whether to load the retrieved data to memory or not
+    # + fetchSize - Number of rows fetched from the database at a time. Default is -1, which uses the `fetchSize` of
+    #               the `sql:PoolOptions`
     # + parameters - The parameters to be passed to the select query. The number of parameters is variable
     # + return - A `table` returned by the sql query statement else `error` will be returned if there is any error
     public extern function select(@sensitive string sqlQuery, typedesc? recordType, boolean loadToMemory = false,
-                                  Param... parameters) returns @tainted table|error;
+                                  int fetchSize = -1, Param... parameters) returns @tainted table|error;
 
     # The update operation implementation for SQL connector to update data and schema of the database.
     #
@@ -48,17 +50,46 @@ public type CallerActions object {
     # The batchUpdate operation implementation for SQL connector to batch data insert.
     #
     # + sqlQuery - SQL statement to execute
+    # + batchSize - Number of parameter arrays sent to the database at a time. Default is 0, which sends all of them at
+    #               once. If a batch fails, the error names the first parameter array of the batch
+    # + commitPerBatch - Whether each batch is committed on its own, so that a large update does not run as a single
+    #                    transaction. If a batch fails, the batches before it stay committed. Ignored within a
+    #                    transaction. Default is false, which commits all the batches at once
+    # + parallelism - Number of partitions of consecutive parameter arrays run at the same time, each on its own
+    #                 connection and committed on its own. If a partition fails, the others may stay committed and
+    #                 the error is a `BatchUpdateError` holding their update counts, so this is meant for updates
+    #                 which can be run again, such as upserts. Limited to the maximumPoolSize. Ignored within a
+    #                 transaction. Default is 1, which runs all of them on one connection
     # + parameters - Variable number of parameter arrays each representing the set of parameters of belonging to each
     #                individual update
     # + return - An `int[]` - The elements in the array returned by the operation may be one of the following  or else
-    #            an`error` will be returned if there is any error.
+    #            an`error` will be returned if there is any error. Outside a transaction, if some of the batches,
+    #            partitions or shards stay committed, the error is a `BatchUpdateError` holding the update counts
+    #            of the rows, where the rows which were not written have a value of -3.
     #            A number greater than or equal to zero - indicates that the command was processed successfully
     #                                                     and is an update count giving the number of rows
     #            A value of -2 - Indicates that the command was processed successfully but that the number of rows affected
     #                            is unknown
     #            A value of -3 - Indicates that the command failed to execute successfully and occurs only if a driver
     #                            continues to process commands after a command fails
-    public extern function batchUpdate(@sensitive string sqlQuery, Param[]... parameters) returns int[]|error;
+    public extern function batchUpdate(@sensitive string sqlQuery, int batchSize = 0, boolean commitPerBatch = false,
+                                       int parallelism = 1, Param[]... parameters) returns int[]|error;
+
+    # The bulkLoad operation implementation for SQL connector to load a large number of rows into a table. On
+    # PostgreSQL the rows are streamed to the database with COPY, and on MySQL with LOAD DATA LOCAL INFILE, which needs
+    # the `allowLoadLocalInfile` property of the driver to be set. On other databases, on sharded endpoints and for rows
+    # with values other than strings, ints, floats, booleans and, on PostgreSQL, byte arrays, the rows are inserted in
+    # batches of 1000 with inserts of several rows each. All the rows are loaded or none of them, unless the batches are
+    # inserted on several shards. On MySQL, where the server skips rows with duplicate keys and truncates values it
+    # cannot convert instead of failing, a load which reports such warnings fails and is rolled back.
+    #
+    # + tableName - Name of the table to load the rows into
+    # + columns - Names of the columns the values of the rows are loaded into, in order. An empty array loads the
+    #             values into all the columns of the table, in the order of the table
+    # + rows - Variable number of parameter arrays each holding the values of a row
+    # + return - `int` number of rows loaded and else `error` will be returned if there is any error
+    public extern function bulkLoad(@sensitive string tableName, @sensitive string[] columns, Param[]... rows)
+        returns int|error;
 
     # The updateWithGeneratedKeys operation implementation for SQL connector which returns the auto
     # generated keys during the update action.
@@ -14,7 +14,8 @@
 // specific language governing permissions and limitations
 // under the License.
 
-# Represents the properties which are used to configure DB connection pool.
+# Represents the properties which are used to configure DB connection pool. Endpoints which connect to the same
+# database with the same credentials and options share a connection pool, which is closed once all of them are closed.
 #
 # + connectionInitSql - SQL statement that will be executed after every new connection creation before adding it
 #                       to the pool
@@ -29,6 +30,108 @@
 # + minimumIdle - Minimum number of idle connections that pool tries to maintain in the pool. Default is same as maximumPoolSize
 # + maxLifetime - Maximum lifetime of a connection in the pool. Default is 30 minutes
 # + validationTimeout - Maximum amount of time that a connection will be tested for aliveness. Default 5 seconds
+# + statementCacheSize - Maximum number of prepared statements cached per pooled connection. The least recently used
+#                        statement is closed when the limit is reached. Only used when autoCommit is true. Default is
+#                        0, which disables the cache
+# + fetchSize - Number of rows fetched from the database at a time by select operations. Default is -1, which uses
+#               the driver default when the result is loaded to memory. When the result is streamed, MySQL fetches
+#               one row at a time and PostgreSQL fetches 1000 rows at a time. A positive value with MySQL requires
+#               `useCursorFetch=true` in the connection URL. PostgreSQL streams only outside auto-commit, so a
+#               streamed select runs on a connection with auto-commit disabled, and is committed when the table is
+#               closed
+# + inMemoryTableSpillThreshold - Estimated heap size in bytes after which the rows of a select loaded to memory are
+#                                 written to a temporary file, which is read back through a memory mapping. Default
+#                                 is 0, which keeps all the rows on the heap
+# + resultCacheMaxEntries - Maximum number of select results cached. Only selects loaded to memory are cached, and a
+#                           cached result is invalidated when an update, batch update or update with generated keys of
+#                           this client writes a table it reads. A call invalidates all the cached results. Writes
+#                           made by other clients, or through views and triggers, are not detected. The results of
+#                           selects routed to read replicas are not cached, as a replica may lag behind the writes
+#                           which invalidated the cache. Default is 0, which disables the cache
+# + resultCacheMaxBytes - Maximum estimated size in bytes of all the cached results. Default is 0, which does not
+#                         limit the size
+# + resultCacheTtl - Number of milliseconds a select result is cached for. Default is 1 minute. A value of 0 keeps the
+#                    results until they are invalidated
+# + coalesceSelects - Whether concurrent selects loaded to memory share one execution when their query and
+#                     parameters are the same. The selects which arrive while the query is being executed wait
+#                     for it and get their own copy of its result. Default is false
+# + initMode - When the connection pools are created and the database is first connected to. EAGER does it when the
+#              endpoint is initialized, LAZY on first use of the endpoint and ASYNC in the background, with first use
+#              waiting for it to complete. With LAZY and ASYNC, configuration and connection errors are returned by
+#              the first operation. Default is EAGER
+# + prewarmSize - Number of connections opened in each connection pool when it is created, so that they are not
+#                 opened by the first operations. Initialization completes once they are open, in the background
+#                 with the ASYNC init mode. Capped by maximumPoolSize. Default is 0, which opens connections on demand
+# + prewarmTimeout - Maximum number of milliseconds spent pre-warming the connection pools. Connections which are not
+#                    open by then are opened on demand. Default is 30 seconds
+# + warmUpStatements - SQL statements prepared on each connection opened by pre-warming. If the statement cache is
+#                      enabled, they are also prepared on every new connection and kept in its cache. A statement is
+#                      reused by an operation only if its query is exactly the same. A statement which cannot be
+#                      prepared is skipped
+# + concurrencyLimit - Maximum number of connections of the endpoint in use at a time. Operations over the limit wait
+#                      in a queue, and fail with a `ConnectionRejectedError` once the queue is full or they have waited
+#                      for longer than admissionTimeout. Default is 0, which does not limit the connections beyond
+#                      maximumPoolSize
+# + admissionQueueSize - Maximum number of operations waiting for a connection when concurrencyLimit is reached.
+#                        Default is 100
+# + admissionTimeout - Maximum number of milliseconds an operation waits in the queue. Default is 30 seconds
+# + admissionPriority - Kind of operations admitted first when concurrencyLimit is reached. READS are selects outside
+#                       a transaction, WRITES are all other operations. Default is NONE
+# + adaptiveConcurrencyLimit - Whether the limit is lowered when connections are held for longer than
+#                              latencyThreshold, and raised back up to concurrencyLimit while they are not.
+#                              Connections of streamed tables and of transactions are not counted
+# + latencyThreshold - Number of milliseconds a connection may be held for before the adaptive limit is lowered.
+#                      Default is 1 second
+# + circuitBreakerFailureRate - Percentage of failed operations within circuitBreakerRollingWindow at which the
+#                               circuit breaker of the database opens. While it is open, operations fail with a
+#                               `ConnectionRejectedError` right away. Getting a connection which fails or takes longer
+#                               than circuitBreakerLatencyThreshold, and an operation which fails because the database
+#                               cannot be reached, count as failed operations. Each shard has its own breaker.
+#                               Default is 0, which disables the circuit breaker
+# + circuitBreakerLatencyThreshold - Number of milliseconds after which getting a connection counts as failed.
+#                                    Default is 0, which counts only errors
+# + circuitBreakerMinimumRequests - Minimum number of operations within circuitBreakerRollingWindow for the circuit
+#                                   breaker to open. Default is 10
+# + circuitBreakerRollingWindow - Number of milliseconds over which operations are counted. Default is 10 seconds
+# + circuitBreakerResetTimeout - Number of milliseconds the circuit breaker stays open before an operation is let
+#                                through as a probe. The breaker closes if the probe gets a connection and opens again
+#                                if not. Default is 30 seconds
+# + adaptivePoolSize - Whether each connection pool is resized at runtime between minimumPoolSize and
+#                      maximumPoolSize. A pool starts at maximumPoolSize. It grows when operations wait for connections
+#                      or take longer than acquireLatencyThreshold to get one, shrinks by one connection when less than
+#                      half of its connections are in use, and backs off when the database is saturated. The target
+#                      size and the resize decisions are published as metrics. Default is false
+# + minimumPoolSize - Size an adaptive pool does not shrink below. Default is 1
+# + poolResizeInterval - Number of milliseconds between resizes of an adaptive pool. Default is 5 seconds
+# + acquireLatencyThreshold - Average number of milliseconds taken to get a connection above which an adaptive pool
+#                             grows. Default is 10 milliseconds
+# + saturationThreshold - Average time connections are held for, as a percentage of the lowest time observed, above
+#                         which the database is taken to be saturated and an adaptive pool shrinks by a quarter.
+#                         Default is 200
+# + rewriteBatchedInserts - Whether a batch update of an `INSERT ... VALUES (...)` statement is sent as inserts of up
+#                           to 128 rows each, `INSERT ... VALUES (...), (...)`, instead of one insert per row. Used on
+#                           PostgreSQL, MySQL, MariaDB, H2 and SQL Server, for statements which end with their row of
+#                           values and do not pass an array as several parameters. The update count of each row is 1
+#                           if all the rows of an insert were inserted, and -2 (SUCCESS_NO_INFO) otherwise. Default is
+#                           false
+# + writeBufferSize - Number of updates of the same statement written together. When set, the inserts, updates,
+#                     deletes and merges made outside a transaction are buffered and written as a single batch in a
+#                     single transaction, once there are writeBufferSize of them or the oldest has waited for
+#                     writeBufferDelay. If the batch fails, its updates are written one by one, so that only the
+#                     failing updates fail. Other statements, such as DDL, are not buffered. Default is 0, which
+#                     does not buffer updates
+# + writeBufferDelay - Maximum number of milliseconds an update is buffered before it is written. Default is 10
+#                      milliseconds
+# + writeBufferCapacity - Maximum number of updates buffered or being written. Updates made while the buffer is full
+#                         wait for room. Default is 10000
+# + writeBufferTimeout - Maximum number of milliseconds an update waits for room in a full buffer, after which it
+#                        fails with a `ConnectionRejectedError`. Default is 30 seconds
+# + writeDurability - When a buffered update returns. COMMITTED returns its update count once it is committed.
+#                     BUFFERED returns -2 once it is buffered, and a failure to write it is returned by the next
+#                     buffered update of the same statement, which is then not buffered. The updates of different statements are written
+#                     in separate batches, so with BUFFERED, updates of different statements made one after the other
+#                     by the same caller may be written in another order, and a later update may be written although
+#                     an earlier one failed. Default is COMMITTED
 public type PoolOptions record {
     string connectionInitSql;
     string dataSourceClassName;
@@ -40,6 +143,158 @@ public type PoolOptions record {
     int minimumIdle = -1;
     int maxLifetime = 1800000;
     int validationTimeout = 5000;
+    int statementCacheSize = 0;
+    int fetchSize = -1;
+    int inMemoryTableSpillThreshold = 0;
+    int resultCacheMaxEntries = 0;
+    int resultCacheMaxBytes = 0;
+    int resultCacheTtl = 60000;
+    boolean coalesceSelects = false;
+    InitMode initMode = "EAGER";
+    int prewarmSize = 0;
+    int prewarmTimeout = 30000;
+    string[] warmUpStatements;
+    int concurrencyLimit = 0;
+    int admissionQueueSize = 100;
+    int admissionTimeout = 30000;
+    AdmissionPriority admissionPriority = "NONE";
+    boolean adaptiveConcurrencyLimit = false;
+    int latencyThreshold = 1000;
+    int circuitBreakerFailureRate = 0;
+    int circuitBreakerLatencyThreshold = 0;
+    int circuitBreakerMinimumRequests = 10;
+    int circuitBreakerRollingWindow = 10000;
+    int circuitBreakerResetTimeout = 30000;
+    boolean adaptivePoolSize = false;
+    int minimumPoolSize = 1;
+    int poolResizeInterval = 5000;
+    int acquireLatencyThreshold = 10;
+    int saturationThreshold = 200;
+    boolean rewriteBatchedInserts = false;
+    int writeBufferSize = 0;
+    int writeBufferDelay = 10;
+    int writeBufferCapacity = 10000;
+    int writeBufferTimeout = 30000;
+    WriteDurability writeDurability = "COMMITTED";
+    !...
+};
+
+# When the connection pools of an endpoint are created.
+#
+# EAGER - When the endpoint is initialized
+# LAZY - On first use of the endpoint
+# ASYNC - In the background, starting when the endpoint is initialized
+public type InitMode "EAGER"|"LAZY"|"ASYNC";
+
+@final public InitMode INIT_MODE_EAGER = "EAGER";
+@final public InitMode INIT_MODE_LAZY = "LAZY";
+@final public InitMode INIT_MODE_ASYNC = "ASYNC";
+
+# The kind of operations admitted first when an endpoint is at its concurrency limit.
+#
+# NONE - No kind of operations is preferred
+# READS - Selects outside a transaction are preferred
+# WRITES - All other operations are preferred
+public type AdmissionPriority "NONE"|"READS"|"WRITES";
+
+@final public AdmissionPriority ADMISSION_PRIORITY_NONE = "NONE";
+@final public AdmissionPriority ADMISSION_PRIORITY_READS = "READS";
+@final public AdmissionPriority ADMISSION_PRIORITY_WRITES = "WRITES";
+
+# When an update buffered by the write buffer of an endpoint returns.
+#
+# COMMITTED - The update returns once it is committed
+# BUFFERED - The update returns once it is buffered
+public type WriteDurability "COMMITTED"|"BUFFERED";
+
+@final public WriteDurability WRITE_DURABILITY_COMMITTED = "COMMITTED";
+@final public WriteDurability WRITE_DURABILITY_BUFFERED = "BUFFERED";
+
+# Represents the error returned when an operation is not given a connection because the endpoint is at its
+# concurrency limit, or because the circuit breaker of the database is open. It is also returned when an update is
+# not buffered because the write buffer of the endpoint stays full.
+#
+# + message - Error message
+# + cause - Cause of the error
+# + reason - QUEUE_FULL if the admission queue or the write buffer was full, TIMEOUT if the operation waited for
+#            longer than the admission timeout, CIRCUIT_OPEN if the circuit breaker was open, INTERRUPTED if the
+#            operation was interrupted while it waited
+public type ConnectionRejectedError record {
+    string message;
+    error? cause;
+    ConnectionRejectionReason reason;
+    !...
+};
+
+# Represents the error returned when a batch update fails outside a transaction after some of its parameter arrays
+# may have been committed, as those of a shard or a partition which succeeded before another failed.
+#
+# + message - Error message
+# + cause - Cause of the error
+# + updateCounts - The update count of each parameter array, as returned by a batch update which succeeds. A value of
+#                  -3 marks the parameter arrays which were not written
+public type BatchUpdateError record {
+    string message;
+    error? cause;
+    int[] updateCounts;
+    !...
+};
+
+# The reason an operation was not given a connection.
+#
+# QUEUE_FULL - The admission queue was full
+# TIMEOUT - The operation waited for longer than the admission timeout
+# CIRCUIT_OPEN - The circuit breaker of the database was open
+# INTERRUPTED - The operation was interrupted while it waited
+public type ConnectionRejectionReason "QUEUE_FULL"|"TIMEOUT"|"CIRCUIT_OPEN"|"INTERRUPTED";
+
+# Represents the read replicas of a database. Select operations outside a transaction are routed to a replica, while
+# all other operations and select operations within a transaction use the primary database. Each replica has its own
+# connection pool, configured with the same pool options as the primary database.
+#
+# + urls - JDBC URLs of the replicas
+# + loadBalancing - How select operations are spread across the replicas. ROUND_ROBIN picks the replicas in turn and
+#                   LEAST_ACTIVE picks the replica with the fewest connections in use. Default is ROUND_ROBIN
+# + retryInterval - Number of milliseconds a replica which failed to give a connection is skipped before it is tried
+#                   again. A select is run on the primary database when no replica is available. Default is 30 seconds
+# + connectionTimeout - Maximum number of milliseconds a select waits for a connection from a replica before the next
+#                       replica, or the primary database, is tried. It replaces the connectionTimeout pool option for
+#                       the replicas, so that a replica which is down does not hold up selects. A replica is only
+#                       skipped for the retry interval if it failed to open a connection, not if its pool was busy.
+#                       The lowest accepted value is 250. Default is 1 second
+public type ReplicaOptions record {
+    string[] urls;
+    LoadBalancing loadBalancing = "ROUND_ROBIN";
+    int retryInterval = 30000;
+    int connectionTimeout = 1000;
+    !...
+};
+
+# The policy used to pick a replica for a select operation.
+#
+# ROUND_ROBIN - Picks the replicas in turn
+# LEAST_ACTIVE - Picks the replica with the fewest connections in use
+public type LoadBalancing "ROUND_ROBIN"|"LEAST_ACTIVE";
+
+@final public LoadBalancing LOAD_BALANCING_ROUND_ROBIN = "ROUND_ROBIN";
+@final public LoadBalancing LOAD_BALANCING_LEAST_ACTIVE = "LEAST_ACTIVE";
+
+# Represents the shards of a sharded database. Each shard has its own connection pool, configured with the same pool
+# options as the database of the endpoint. An operation with a parameter marked as the shard key runs on the shard the
+# value of the key belongs to, which is found with a consistent hash ring. A select without a shard key is run on all
+# the shards and their rows are returned one shard after the other. Other operations without a shard key run on the
+# database of the endpoint, which can hold the tables that are not sharded. The rows of a batch update are grouped by
+# shard, and each group is run as a separate batch. Outside a transaction each group is committed on its own, and if a
+# group fails, the groups after it are not run and a `BatchUpdateError` tells which rows were committed. Within a
+# transaction, each shard is committed separately unless isXA is set in the pool options.
+#
+# + urls - JDBC URLs of the shards. Shards are placed on the hash ring by their URL, so adding or removing a shard
+#          only moves the keys of the ring segments next to it
+# + virtualNodes - Number of points at which each shard is placed on the hash ring. More points spread the keys more
+#                  evenly. Default is 160
+public type ShardingOptions record {
+    string[] urls;
+    int virtualNodes = 160;
     !...
 };
 
@@ -134,11 +389,14 @@ public type Direction "IN"|"OUT"|"INOUT";
 # + direction - Direction of the SQL Parameter IN, OUT, or INOUT - Default value is IN
 # + recordType - In case of OUT direction, if the sqlType is REFCURSOR, this represents the record type to map a
 #                result row
+# + shardKey - Whether the value of the parameter is the shard key, which picks the shard the operation runs on when
+#              the endpoint is sharded. Refer `ShardingOptions` for more details. Default is false
 public type Parameter record {
     SQLType sqlType;
     any value;
     Direction direction;
     typedesc recordType;
+    boolean shardKey;
     !...
 };
 
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Thrown when a batch update fails outside a transaction after some of its rows may have been committed, such as the
+ * rows of another shard or another partition. It carries the update counts of all the rows, so that the caller can
+ * tell which of them were written.
+ *
+ * @since 0.982.1
+ */
+public class BatchUpdateFailedException extends BallerinaException {
+
+    private final long[] updateCounts;
+
+    public BatchUpdateFailedException(String message, Throwable cause, long[] updateCounts) {
+        super(message, cause);
+        this.updateCounts = updateCounts;
+    }
+
+    /**
+     * Get the update counts of the rows of the batch update.
+     *
+     * @return The update counts, with {@link java.sql.Statement#EXECUTE_FAILED} for the rows which were not written
+     */
+    public long[] getUpdateCounts() {
+        return updateCounts.clone();
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BByteArray;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.function.Function;
+
+import static org.ballerinalang.database.sql.SQLDatasourceUtils.POSTGRES_DATABASE_NAME;
+
+/**
+ * Loads rows into a table through the bulk load path of the database, which is much faster than inserting them. The
+ * rows are streamed to the database as CSV text, with PostgreSQL COPY and with MySQL LOAD DATA LOCAL INFILE.
+ * <p>
+ * The drivers are not dependencies of the connector, so their bulk load APIs are looked up at runtime. Databases
+ * without a bulk load path, or whose driver is not found, have no loader.
+ *
+ * @since 0.982.1
+ */
+public abstract class BulkLoader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final Class<?> POSTGRES_BASE_CONNECTION = loadClass("org.postgresql.core.BaseConnection");
+    private static final Class<?> POSTGRES_COPY_MANAGER = loadClass("org.postgresql.copy.CopyManager");
+    // Statements of MySQL Connector/J 8, Connector/J 5 and MariaDB Connector/J, which accept the local infile stream.
+    private static final Class<?> MYSQL_STATEMENT = loadClass("com.mysql.cj.jdbc.JdbcStatement",
+            "com.mysql.jdbc.Statement", "org.mariadb.jdbc.MariaDbStatement");
+
+    /**
+     * Returns the loader of the given database.
+     *
+     * @param databaseProductName Lower case product name of the database
+     * @return The loader, or null if the database has no bulk load path or its driver is not found
+     */
+    public static BulkLoader forDatabase(String databaseProductName) {
+        if (POSTGRES_DATABASE_NAME.equals(databaseProductName)) {
+            return POSTGRES_BASE_CONNECTION != null && POSTGRES_COPY_MANAGER != null ? new PostgresLoader() : null;
+        }
+        if (databaseProductName != null && (databaseProductName.contains("mysql")
+                || databaseProductName.contains("mariadb"))) {
+            return MYSQL_STATEMENT != null ? new MySQLLoader() : null;
+        }
+        return null;
+    }
+
+    /**
+     * Creates the statement inserting a single row into the table, which is used to load the rows of databases
+     * without a loader.
+     *
+     * @param tableName Name of the table
+     * @param columns   Names of the columns the rows are loaded into, or an empty array for all the columns
+     * @param rowSize   Number of values of a row
+     * @return The insert statement
+     */
+    public static String createInsertQuery(String tableName, String[] columns, int rowSize) {
+        StringBuilder query = new StringBuilder("INSERT INTO ").append(tableName);
+        appendColumns(query, columns);
+        query.append(" VALUES (");
+        for (int i = 0; i < rowSize; i++) {
+            query.append(i > 0 ? ", ?" : "?");
+        }
+        return query.append(')').toString();
+    }
+
+    /**
+     * Checks whether all the values of the rows can be loaded as text.
+     *
+     * @param rows    The rows
+     * @param rowSize Number of values of each row
+     * @param valueOf Function which gives the value of a parameter
+     * @return true if the rows can be loaded
+     */
+    public boolean canLoad(BRefValueArray rows, int rowSize, Function<BRefType, BValue> valueOf) {
+        int rowCount = (int) rows.size();
+        for (int index = 0; index < rowCount; index++) {
+            BRefValueArray row = (BRefValueArray) rows.get(index);
+            if (row == null || row.size() != rowSize) {
+                return false;
+            }
+            for (int i = 0; i < rowSize; i++) {
+                BRefType param = row.get(i);
+                if (param != null && !isSupported(valueOf.apply(param))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Loads the rows into the table with a single statement.
+     *
+     * @param conn      Connection to load the rows with
+     * @param tableName Name of the table
+     * @param columns   Names of the columns the rows are loaded into, or an empty array for all the columns
+     * @param rows      The rows, which must be accepted by {@link #canLoad(BRefValueArray, int, Function)}
+     * @param valueOf   Function which gives the value of a parameter
+     * @return Number of rows loaded
+     * @throws SQLException If the rows cannot be loaded, or if some of them were not loaded as they were sent
+     */
+    public long load(Connection conn, String tableName, String[] columns, BRefValueArray rows,
+            Function<BRefType, BValue> valueOf) throws SQLException {
+        try {
+            long loadedCount = load(conn, tableName, columns, new RowInputStream(rows, valueOf));
+            if (loadedCount != rows.size()) {
+                throw new SQLException("error in bulk load: " + loadedCount + " of " + rows.size()
+                        + " rows were loaded");
+            }
+            return loadedCount;
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException("error in bulk load: " + cause.getMessage(), cause);
+        } catch (ReflectiveOperationException e) {
+            throw new SQLException("bulk load is not supported by the driver: " + e.getMessage(), e);
+        }
+    }
+
+    abstract long load(Connection conn, String tableName, String[] columns, InputStream data)
+            throws SQLException, ReflectiveOperationException;
+
+    abstract boolean isSupported(BValue value);
+
+    /**
+     * Appends a value as a field of a CSV line.
+     */
+    abstract void appendValue(StringBuilder line, BValue value);
+
+    static void appendColumns(StringBuilder query, String[] columns) {
+        if (columns.length == 0) {
+            return;
+        }
+        query.append(" (");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                query.append(", ");
+            }
+            query.append(columns[i]);
+        }
+        query.append(')');
+    }
+
+    static boolean isTextValue(BValue value) {
+        if (value == null) {
+            return true;
+        }
+        int tag = value.getType().getTag();
+        return tag == TypeTags.STRING_TAG || tag == TypeTags.INT_TAG || tag == TypeTags.FLOAT_TAG
+                || tag == TypeTags.BOOLEAN_TAG;
+    }
+
+    static boolean isByteArray(BValue value) {
+        return value != null && value.getType().getTag() == TypeTags.ARRAY_TAG
+                && ((BArrayType) value.getType()).getElementType().getTag() == TypeTags.BYTE_TAG;
+    }
+
+    static void appendQuoted(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private static Class<?> loadClass(String... classNames) {
+        for (String className : classNames) {
+            try {
+                return Class.forName(className, false, BulkLoader.class.getClassLoader());
+            } catch (ClassNotFoundException | LinkageError e) {
+                // The driver is not available, try the next one.
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Loads rows with COPY ... FROM STDIN through the CopyManager of the PostgreSQL driver.
+     */
+    private static class PostgresLoader extends BulkLoader {
+
+        @Override
+        long load(Connection conn, String tableName, String[] columns, InputStream data)
+                throws SQLException, ReflectiveOperationException {
+            StringBuilder query = new StringBuilder("COPY ").append(tableName);
+            appendColumns(query, columns);
+            query.append(" FROM STDIN WITH (FORMAT csv, ENCODING 'UTF8')");
+            Object copyManager = POSTGRES_COPY_MANAGER.getConstructor(POSTGRES_BASE_CONNECTION)
+                    .newInstance(conn.unwrap(POSTGRES_BASE_CONNECTION));
+            return (Long) POSTGRES_COPY_MANAGER.getMethod("copyIn", String.class, InputStream.class)
+                    .invoke(copyManager, query.toString(), data);
+        }
+
+        @Override
+        boolean isSupported(BValue value) {
+            return isTextValue(value) || isByteArray(value);
+        }
+
+        @Override
+        void appendValue(StringBuilder line, BValue value) {
+            // An unquoted empty field is null, while an empty string is quoted.
+            if (value == null) {
+                return;
+            }
+            if (isByteArray(value)) {
+                line.append("\\x");
+                for (byte b : ((BByteArray) value).getBytes()) {
+                    line.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+                }
+            } else if (value.getType().getTag() == TypeTags.STRING_TAG) {
+                appendQuoted(line, value.stringValue());
+            } else {
+                line.append(value.stringValue());
+            }
+        }
+    }
+
+    /**
+     * Loads rows with LOAD DATA LOCAL INFILE, giving the driver the stream to send instead of a file. The driver
+     * must allow local infiles, e.g. with the allowLoadLocalInfile property of Connector/J 8.
+     * <p>
+     * With LOCAL, the server skips rows with duplicate keys and loads values it cannot convert as they are truncated,
+     * reporting both as warnings, so a load with warnings fails.
+     */
+    private static class MySQLLoader extends BulkLoader {
+
+        @Override
+        long load(Connection conn, String tableName, String[] columns, InputStream data)
+                throws SQLException, ReflectiveOperationException {
+            StringBuilder query = new StringBuilder("LOAD DATA LOCAL INFILE 'stream' INTO TABLE ").append(tableName)
+                    .append(" CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"'")
+                    .append(" ESCAPED BY '' LINES TERMINATED BY '\\n'");
+            appendColumns(query, columns);
+            try (Statement stmt = conn.createStatement()) {
+                MYSQL_STATEMENT.getMethod("setLocalInfileInputStream", InputStream.class)
+                        .invoke(stmt.unwrap(MYSQL_STATEMENT), data);
+                int loadedCount = stmt.executeUpdate(query.toString());
+                SQLWarning warning = stmt.getWarnings();
+                if (warning != null) {
+                    throw new SQLException("error in bulk load: " + warning.getMessage(), warning.getSQLState(),
+                            warning.getErrorCode(), warning);
+                }
+                return loadedCount;
+            }
+        }
+
+        @Override
+        boolean isSupported(BValue value) {
+            return isTextValue(value);
+        }
+
+        @Override
+        void appendValue(StringBuilder line, BValue value) {
+            // Without an escape character, an unquoted NULL is null.
+            if (value == null) {
+                line.append("NULL");
+                return;
+            }
+            switch (value.getType().getTag()) {
+            case TypeTags.STRING_TAG:
+                appendQuoted(line, value.stringValue());
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                line.append("true".equals(value.stringValue()) ? '1' : '0');
+                break;
+            default:
+                line.append(value.stringValue());
+            }
+        }
+    }
+
+    /**
+     * Encodes the rows as UTF-8 CSV lines while they are read, so that only a few rows are held as text at a time.
+     */
+    private class RowInputStream extends InputStream {
+
+        private final BRefValueArray rows;
+        private final Function<BRefType, BValue> valueOf;
+        private final int rowCount;
+        private final StringBuilder lines = new StringBuilder(BUFFER_SIZE);
+        private int nextRow;
+        private byte[] buffer = new byte[0];
+        private int position;
+
+        RowInputStream(BRefValueArray rows, Function<BRefType, BValue> valueOf) {
+            this.rows = rows;
+            this.valueOf = valueOf;
+            this.rowCount = (int) rows.size();
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position == buffer.length && !fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == buffer.length && !fill()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.length - position);
+            System.arraycopy(buffer, position, bytes, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean fill() {
+            if (nextRow >= rowCount) {
+                return false;
+            }
+            lines.setLength(0);
+            while (nextRow < rowCount && lines.length() < BUFFER_SIZE) {
+                BRefValueArray row = (BRefValueArray) rows.get(nextRow++);
+                int rowSize = (int) row.size();
+                for (int i = 0; i < rowSize; i++) {
+                    if (i > 0) {
+                        lines.append(',');
+                    }
+                    BRefType param = row.get(i);
+                    appendValue(lines, param != null ? valueOf.apply(param) : null);
+                }
+                lines.append('\n');
+            }
+            buffer = lines.toString().getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+    }
+}
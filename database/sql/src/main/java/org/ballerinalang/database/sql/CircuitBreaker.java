@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker of a connection pool. The breaker opens when the share of failed requests within the rolling
+ * window reaches the failure rate threshold, given that the window holds at least the minimum number of requests. A
+ * request which takes longer than the latency threshold counts as failed. While the breaker is open, requests are
+ * rejected without touching the pool. Once the reset timeout has passed, a single request is let through as a probe,
+ * which closes the breaker if it succeeds and opens it again if it fails.
+ *
+ * @since 0.982.1
+ */
+public class CircuitBreaker {
+
+    private static final int BUCKET_COUNT = 10;
+    private static final String CONNECTION_EXCEPTION_SQL_STATE_CLASS = "08";
+
+    private final int failureRateThreshold;
+    private final long latencyThresholdNanos;
+    private final int minimumRequests;
+    private final long resetTimeoutNanos;
+    private final long bucketNanos;
+    private final long[] bucketIds = new long[BUCKET_COUNT];
+    private final int[] requests = new int[BUCKET_COUNT];
+    private final int[] failures = new int[BUCKET_COUNT];
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+
+    /**
+     * Creates a breaker.
+     *
+     * @param failureRateThreshold Percentage of failed requests at which the breaker opens
+     * @param latencyThreshold     Number of milliseconds after which a request counts as failed, or 0 to count only
+     *                             errors
+     * @param minimumRequests      Minimum number of requests in the rolling window for the breaker to open
+     * @param rollingWindow        Number of milliseconds over which requests are counted
+     * @param resetTimeout         Number of milliseconds the breaker stays open before a probe is let through
+     */
+    public CircuitBreaker(int failureRateThreshold, long latencyThreshold, int minimumRequests, long rollingWindow,
+            long resetTimeout) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThreshold);
+        this.minimumRequests = Math.max(1, minimumRequests);
+        this.resetTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(resetTimeout);
+        this.bucketNanos = Math.max(1, TimeUnit.MILLISECONDS.toNanos(rollingWindow) / BUCKET_COUNT);
+    }
+
+    /**
+     * Checks whether a request may go ahead.
+     *
+     * @return {@code true} if the breaker is closed or the request is the probe, {@code false} otherwise
+     */
+    public boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= resetTimeoutNanos) {
+                state = State.HALF_OPEN;
+                return true;
+            }
+            return state == State.CLOSED;
+        }
+    }
+
+    /**
+     * Checks whether the breaker is open and will stay open for now, so that a request can be rejected before it
+     * waits for anything. Unlike {@link #allowRequest()}, this does not let the probe through.
+     *
+     * @return {@code true} if the breaker is open and the reset timeout has not passed
+     */
+    public boolean isOpen() {
+        if (state != State.OPEN) {
+            return false;
+        }
+        synchronized (this) {
+            return state == State.OPEN && System.nanoTime() - openedAt < resetTimeoutNanos;
+        }
+    }
+
+    /**
+     * Records a request which completed.
+     *
+     * @param latencyNanos Time the request took
+     */
+    public synchronized void recordSuccess(long latencyNanos) {
+        if (latencyThresholdNanos > 0 && latencyNanos > latencyThresholdNanos) {
+            recordFailure();
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            close();
+        } else if (state == State.CLOSED) {
+            requests[getBucket(System.nanoTime())]++;
+        }
+    }
+
+    /**
+     * Records a request which failed.
+     */
+    public synchronized void recordFailure() {
+        recordFailure(true);
+    }
+
+    /**
+     * Records the failure of a request which was already recorded as a success, such as an action which failed on a
+     * connection that was acquired in time. The request is not counted again, so that each request has one outcome.
+     */
+    public synchronized void recordLateFailure() {
+        recordFailure(false);
+    }
+
+    private void recordFailure(boolean newRequest) {
+        long now = System.nanoTime();
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        int bucket = getBucket(now);
+        if (newRequest) {
+            requests[bucket]++;
+        }
+        failures[bucket]++;
+        int requestCount = 0;
+        int failureCount = 0;
+        long currentBucketId = Math.floorDiv(now, bucketNanos);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (currentBucketId - bucketIds[i] < BUCKET_COUNT) {
+                requestCount += requests[i];
+                failureCount += failures[i];
+            }
+        }
+        if (requestCount >= minimumRequests && failureCount * 100L >= (long) failureRateThreshold * requestCount) {
+            open(now);
+        }
+    }
+
+    /**
+     * Checks whether an error shows that the database could not be reached, as opposed to an error in the request.
+     *
+     * @param throwable The error
+     * @return {@code true} if the error or one of its causes is a connection error
+     */
+    public static boolean isConnectionFailure(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException || cause instanceof SQLNonTransientConnectionException
+                    || cause instanceof SQLRecoverableException || cause instanceof SQLTimeoutException) {
+                return true;
+            }
+            if (cause instanceof SQLException) {
+                String sqlState = ((SQLException) cause).getSQLState();
+                if (sqlState != null && sqlState.startsWith(CONNECTION_EXCEPTION_SQL_STATE_CLASS)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            requests[i] = 0;
+            failures[i] = 0;
+        }
+    }
+
+    /**
+     * Returns the index of the bucket of the given time, clearing the bucket if it was last used for an earlier
+     * period.
+     */
+    private int getBucket(long now) {
+        long bucketId = Math.floorDiv(now, bucketNanos);
+        int index = (int) Math.floorMod(bucketId, (long) BUCKET_COUNT);
+        if (bucketIds[index] != bucketId) {
+            bucketIds[index] = bucketId;
+            requests[index] = 0;
+            failures[index] = 0;
+        }
+        return index;
+    }
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Commits the work of a connection which was taken out of auto-commit mode before the connection is closed. The pool
+ * rolls back uncommitted work when a connection is returned to it, which would undo the work of a statement the
+ * caller expects to be committed as if the connection were in auto-commit mode.
+ *
+ * @since 0.982.1
+ */
+public class CommitOnCloseConnection implements InvocationHandler {
+
+    private final Connection connection;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private CommitOnCloseConnection(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Wraps a connection so that its work is committed when it is closed.
+     *
+     * @param conn A connection which is not in auto-commit mode
+     * @return The wrapped connection
+     */
+    public static Connection wrap(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(CommitOnCloseConnection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new CommitOnCloseConnection(conn));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+        case "close":
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    if (!connection.isClosed()) {
+                        connection.commit();
+                    }
+                } finally {
+                    connection.close();
+                }
+            }
+            return null;
+        case "equals":
+            return proxy == args[0];
+        case "hashCode":
+            return System.identityHashCode(proxy);
+        default:
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
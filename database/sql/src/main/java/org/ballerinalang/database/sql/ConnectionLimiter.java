@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of connections of an endpoint in use at a time. Callers over the limit wait in a bounded queue,
+ * and are rejected with a {@link ConnectionRejectedException} once the queue is full or they have waited for longer
+ * than the admission timeout. Reads or writes may be given priority, in which case a waiting caller of the other kind
+ * is admitted only when no caller of the preferred kind is waiting.
+ * <p>
+ * In adaptive mode, the limit is lowered when connections are held for longer than the latency threshold and raised
+ * again while they are not, following the additive increase, multiplicative decrease scheme. The configured limit is
+ * the upper bound. Connections held for as long as the caller chooses, such as those of streamed tables and of
+ * transactions, are not counted, as the time they are held for does not tell how fast the database is.
+ *
+ * @since 0.982.1
+ */
+public class ConnectionLimiter {
+
+    private static final double DECREASE_FACTOR = 0.9;
+
+    private final int maxLimit;
+    private final int queueSize;
+    private final long timeoutNanos;
+    private final String priority;
+    private final boolean adaptive;
+    private final long latencyThresholdNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition preferredCallers = lock.newCondition();
+    private final Condition otherCallers = lock.newCondition();
+    private double limit;
+    private int inUse;
+    private int preferredWaiting;
+    private int otherWaiting;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param limit            Maximum number of connections in use at a time
+     * @param queueSize        Maximum number of callers waiting for a connection
+     * @param timeout          Maximum number of milliseconds a caller waits in the queue
+     * @param priority         Kind of callers admitted first, {@link Constants.AdmissionPriority#READS},
+     *                         {@link Constants.AdmissionPriority#WRITES} or {@link Constants.AdmissionPriority#NONE}
+     * @param adaptive         Whether the limit is adjusted from the time connections are held
+     * @param latencyThreshold Number of milliseconds a connection may be held for before the limit is lowered
+     */
+    public ConnectionLimiter(int limit, int queueSize, long timeout, String priority, boolean adaptive,
+            long latencyThreshold) {
+        this.maxLimit = limit;
+        this.limit = limit;
+        this.queueSize = queueSize;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+        this.priority = priority;
+        this.adaptive = adaptive;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThreshold);
+    }
+
+    /**
+     * Gets a connection once the caller is admitted. The admission is given back when the connection is closed.
+     *
+     * @param readOnly Whether the connection is used to read only
+     * @param supplier Borrows the connection from the pool
+     * @return The connection
+     * @throws SQLException If the connection cannot be borrowed
+     */
+    public Connection getConnection(boolean readOnly, ConnectionSupplier supplier) throws SQLException {
+        long admittedAt = acquire(isPreferred(readOnly));
+        Connection conn;
+        try {
+            conn = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            release(admittedAt, false);
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(ConnectionLimiter.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new AdmittedConnection(conn, admittedAt));
+    }
+
+    /**
+     * Leaves the time a connection is held for out of the adjustment of the limit, as the connection is held until
+     * the caller is done with it rather than for a single statement.
+     *
+     * @param conn A connection, which is left as is if it was not handed out by a limiter
+     */
+    public static void excludeFromLatency(Connection conn) {
+        if (Proxy.isProxyClass(conn.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(conn);
+            if (handler instanceof AdmittedConnection) {
+                ((AdmittedConnection) handler).timed = false;
+            }
+        }
+    }
+
+    /**
+     * Returns the pooled connection behind a connection handed out by a limiter.
+     *
+     * @param conn A connection
+     * @return The pooled connection, or the given connection if it was not handed out by a limiter
+     */
+    public static Connection getPooledConnection(Connection conn) {
+        if (Proxy.isProxyClass(conn.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(conn);
+            if (handler instanceof AdmittedConnection) {
+                return ((AdmittedConnection) handler).connection;
+            }
+        }
+        return conn;
+    }
+
+    private boolean isPreferred(boolean readOnly) {
+        switch (priority) {
+        case Constants.AdmissionPriority.READS:
+            return readOnly;
+        case Constants.AdmissionPriority.WRITES:
+            return !readOnly;
+        default:
+            return false;
+        }
+    }
+
+    private long acquire(boolean preferred) {
+        lock.lock();
+        try {
+            if (canAdmit(preferred)) {
+                inUse++;
+                return System.nanoTime();
+            }
+            if (preferredWaiting + otherWaiting >= queueSize) {
+                throw new ConnectionRejectedException(ConnectionRejectedException.QUEUE_FULL,
+                        "connection rejected: " + Constants.CONNECTOR_NAME + ": " + inUse
+                                + " connections in use and " + queueSize + " callers waiting");
+            }
+            Condition condition = preferred ? preferredCallers : otherCallers;
+            long remainingNanos = timeoutNanos;
+            if (preferred) {
+                preferredWaiting++;
+            } else {
+                otherWaiting++;
+            }
+            try {
+                while (!canAdmit(preferred)) {
+                    if (remainingNanos <= 0) {
+                        throw new ConnectionRejectedException(ConnectionRejectedException.TIMEOUT,
+                                "connection rejected: " + Constants.CONNECTOR_NAME + ": no connection available in "
+                                        + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms");
+                    }
+                    remainingNanos = condition.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConnectionRejectedException(ConnectionRejectedException.INTERRUPTED,
+                        "connection rejected: " + Constants.CONNECTOR_NAME + ": interrupted while waiting");
+            } finally {
+                // The callers of the other kind may be admitted once the last preferred caller stops waiting, even if
+                // it gave up without being admitted.
+                if (preferred && --preferredWaiting == 0) {
+                    otherCallers.signalAll();
+                } else if (!preferred) {
+                    otherWaiting--;
+                }
+            }
+            inUse++;
+            return System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean canAdmit(boolean preferred) {
+        return inUse < Math.max(1, (int) limit) && (preferred || preferredWaiting == 0);
+    }
+
+    private void release(long admittedAt, boolean timed) {
+        lock.lock();
+        try {
+            inUse--;
+            if (adaptive && timed) {
+                if (System.nanoTime() - admittedAt > latencyThresholdNanos) {
+                    limit = Math.max(1, limit * DECREASE_FACTOR);
+                } else {
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+            }
+            if (preferredWaiting > 0) {
+                preferredCallers.signal();
+            } else {
+                otherCallers.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Borrows a connection from a pool.
+     */
+    public interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * Gives back the admission of a connection when it is closed.
+     */
+    private class AdmittedConnection implements InvocationHandler {
+        private final Connection connection;
+        private final long admittedAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean timed = true;
+
+        AdmittedConnection(Connection connection, long admittedAt) {
+            this.connection = connection;
+            this.admittedAt = admittedAt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+            case "close":
+                if (released.compareAndSet(false, true)) {
+                    try {
+                        connection.close();
+                    } finally {
+                        release(admittedAt, timed);
+                    }
+                }
+                return null;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * Thrown when a connection is not given to a caller because the endpoint is at its concurrency limit, or because the
+ * circuit breaker of the database is open. Also thrown when an update is not buffered because the write buffer of the
+ * endpoint stays full.
+ *
+ * @since 0.982.1
+ */
+public class ConnectionRejectedException extends BallerinaException {
+
+    public static final String QUEUE_FULL = "QUEUE_FULL";
+    public static final String TIMEOUT = "TIMEOUT";
+    public static final String CIRCUIT_OPEN = "CIRCUIT_OPEN";
+    public static final String INTERRUPTED = "INTERRUPTED";
+
+    private final String reason;
+
+    public ConnectionRejectedException(String reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    /**
+     * Get why the connection was rejected.
+     *
+     * @return {@link #QUEUE_FULL}, {@link #TIMEOUT}, {@link #CIRCUIT_OPEN} or {@link #INTERRUPTED}
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import java.util.Arrays;
+
+/**
+ * Consistent hash ring which maps keys to nodes. Each node is placed on the ring at a number of points derived from
+ * its name, and a key belongs to the node of the first point at or after the hash of the key. Since the points of a
+ * node depend only on its name, adding or removing a node moves only the keys of the ring segments it gains or loses.
+ *
+ * @since 0.982.1
+ */
+public class ConsistentHashRing {
+
+    private final long[] points;
+    private final int[] nodes;
+
+    /**
+     * Creates a ring of the given nodes.
+     *
+     * @param nodeNames    Names of the nodes. A key is mapped to the index of a node in this array
+     * @param virtualNodes Number of points each node is placed at. More points spread the keys more evenly
+     */
+    public ConsistentHashRing(String[] nodeNames, int virtualNodes) {
+        if (nodeNames.length == 0) {
+            throw new IllegalArgumentException("a hash ring needs at least one node");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("number of virtual nodes must be positive: " + virtualNodes);
+        }
+        int pointCount = nodeNames.length * virtualNodes;
+        long[] hashes = new long[pointCount];
+        for (int node = 0; node < nodeNames.length; node++) {
+            for (int i = 0; i < virtualNodes; i++) {
+                int point = node * virtualNodes + i;
+                hashes[point] = hash(nodeNames[node] + "#" + i);
+            }
+        }
+        // Sort the point indexes by hash. Ties, which are very unlikely, are broken by node order.
+        Integer[] order = new Integer[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int compare = Long.compare(hashes[a], hashes[b]);
+            return compare != 0 ? compare : Integer.compare(a, b);
+        });
+        points = new long[pointCount];
+        nodes = new int[pointCount];
+        for (int i = 0; i < pointCount; i++) {
+            points[i] = hashes[order[i]];
+            nodes[i] = order[i] / virtualNodes;
+        }
+    }
+
+    /**
+     * Returns the node the given key belongs to.
+     *
+     * @param key The key
+     * @return Index of the node in the names the ring was created with
+     */
+    public int getNode(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+            if (index == points.length) {
+                index = 0;
+            }
+        }
+        return nodes[index];
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters of a string, followed by the MurmurHash3 finalizer to spread similar
+     * strings such as "shard#1" and "shard#2" across the ring.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb53a185ec4cdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
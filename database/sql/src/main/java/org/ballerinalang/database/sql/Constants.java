@@ -145,6 +145,29 @@ public final class Constants {
         public static final String PASSWORD = "password";
         public static final String POOL_OPTIONS = "poolOptions";
         public static final String DB_OPTIONS = "dbOptions";
+        public static final String REPLICA_OPTIONS = "replicaOptions";
+        public static final String SHARDING_OPTIONS = "shardingOptions";
+    }
+
+    /**
+     * Constants for the read replica configuration.
+     */
+    public static final class ReplicaOptions {
+        public static final String URLS = "urls";
+        public static final String LOAD_BALANCING = "loadBalancing";
+        public static final String RETRY_INTERVAL = "retryInterval";
+        public static final String CONNECTION_TIMEOUT = "connectionTimeout";
+
+        public static final String ROUND_ROBIN = "ROUND_ROBIN";
+        public static final String LEAST_ACTIVE = "LEAST_ACTIVE";
+    }
+
+    /**
+     * Constants for the sharding configuration.
+     */
+    public static final class ShardingOptions {
+        public static final String URLS = "urls";
+        public static final String VIRTUAL_NODES = "virtualNodes";
     }
 
     /**
@@ -155,10 +178,20 @@ public final class Constants {
         public static final String URL = "url";
         public static final String DATASOURCE_CLASSNAME = "dataSourceClassName";
         public static final String CONNECTION_INIT_SQL = "connectionInitSql";
+        public static final String INIT_MODE = "initMode";
+        public static final String ADMISSION_PRIORITY = "admissionPriority";
+        public static final String WRITE_DURABILITY = "writeDurability";
+
+        //String[]
+        public static final String WARM_UP_STATEMENTS = "warmUpStatements";
 
         //Boolean
         public static final String AUTOCOMMIT = "autoCommit";
         public static final String IS_XA = "isXA";
+        public static final String ADAPTIVE_CONCURRENCY_LIMIT = "adaptiveConcurrencyLimit";
+        public static final String ADAPTIVE_POOL_SIZE = "adaptivePoolSize";
+        public static final String COALESCE_SELECTS = "coalesceSelects";
+        public static final String REWRITE_BATCHED_INSERTS = "rewriteBatchedInserts";
 
         //Int
         public static final String MAXIMUM_POOL_SIZE = "maximumPoolSize";
@@ -167,6 +200,57 @@ public final class Constants {
         public static final String MINIMUM_IDLE = "minimumIdle";
         public static final String MAX_LIFE_TIME = "maxLifetime";
         public static final String VALIDATION_TIMEOUT = "validationTimeout";
+        public static final String STATEMENT_CACHE_SIZE = "statementCacheSize";
+        public static final String FETCH_SIZE = "fetchSize";
+        public static final String IN_MEMORY_TABLE_SPILL_THRESHOLD = "inMemoryTableSpillThreshold";
+        public static final String RESULT_CACHE_MAX_ENTRIES = "resultCacheMaxEntries";
+        public static final String RESULT_CACHE_MAX_BYTES = "resultCacheMaxBytes";
+        public static final String RESULT_CACHE_TTL = "resultCacheTtl";
+        public static final String PREWARM_SIZE = "prewarmSize";
+        public static final String PREWARM_TIMEOUT = "prewarmTimeout";
+        public static final String CONCURRENCY_LIMIT = "concurrencyLimit";
+        public static final String ADMISSION_QUEUE_SIZE = "admissionQueueSize";
+        public static final String ADMISSION_TIMEOUT = "admissionTimeout";
+        public static final String LATENCY_THRESHOLD = "latencyThreshold";
+        public static final String CIRCUIT_BREAKER_FAILURE_RATE = "circuitBreakerFailureRate";
+        public static final String CIRCUIT_BREAKER_LATENCY_THRESHOLD = "circuitBreakerLatencyThreshold";
+        public static final String CIRCUIT_BREAKER_MINIMUM_REQUESTS = "circuitBreakerMinimumRequests";
+        public static final String CIRCUIT_BREAKER_ROLLING_WINDOW = "circuitBreakerRollingWindow";
+        public static final String CIRCUIT_BREAKER_RESET_TIMEOUT = "circuitBreakerResetTimeout";
+        public static final String MINIMUM_POOL_SIZE = "minimumPoolSize";
+        public static final String POOL_RESIZE_INTERVAL = "poolResizeInterval";
+        public static final String ACQUIRE_LATENCY_THRESHOLD = "acquireLatencyThreshold";
+        public static final String SATURATION_THRESHOLD = "saturationThreshold";
+        public static final String WRITE_BUFFER_SIZE = "writeBufferSize";
+        public static final String WRITE_BUFFER_DELAY = "writeBufferDelay";
+        public static final String WRITE_BUFFER_CAPACITY = "writeBufferCapacity";
+        public static final String WRITE_BUFFER_TIMEOUT = "writeBufferTimeout";
+    }
+
+    /**
+     * Constants for the kinds of callers given priority when an endpoint is at its concurrency limit.
+     */
+    public static final class AdmissionPriority {
+        public static final String NONE = "NONE";
+        public static final String READS = "READS";
+        public static final String WRITES = "WRITES";
+    }
+
+    /**
+     * Constants for when an update buffered by the write buffer of an endpoint returns.
+     */
+    public static final class WriteDurability {
+        public static final String COMMITTED = "COMMITTED";
+        public static final String BUFFERED = "BUFFERED";
+    }
+
+    /**
+     * Constants for the modes of datasource initialization.
+     */
+    public static final class InitModes {
+        public static final String EAGER = "EAGER";
+        public static final String LAZY = "LAZY";
+        public static final String ASYNC = "ASYNC";
     }
 
     /**
@@ -192,16 +276,22 @@ public final class Constants {
     public static final String SQL_PACKAGE_PATH = "ballerina" + ORG_NAME_SEPARATOR + "sql";
     public static final String SQL_PARAMETER = "Parameter";
     public static final String CALLER_ACTIONS = "CallerActions";
+    public static final String CLOSED = "closed";
 
     public static final String SQL_SERVER_DB_POSTFIX = "_SERVER";
     public static final String SQL_FILE_DB_POSTFIX = "_FILE";
     public static final String SQL_MEMORY_DB_POSTFIX = "_MEMORY";
 
     public static final String SQL_CONNECTOR_ERROR = "error";
+    public static final String CONNECTION_REJECTED_ERROR = "ConnectionRejectedError";
+    public static final String CONNECTION_REJECTED_ERROR_REASON_FIELD = "reason";
+    public static final String BATCH_UPDATE_ERROR = "BatchUpdateError";
+    public static final String BATCH_UPDATE_ERROR_UPDATE_COUNTS_FIELD = "updateCounts";
     public static final String SQL_EXCEPTION_OCCURED = "SQL Exception Occurred";
     
     public static final String PARAMETER_SQL_TYPE_FIELD = "sqlType";
     public static final String PARAMETER_VALUE_FIELD = "value";
     public static final String PARAMETER_DIRECTION_FIELD = "direction";
     public static final String PARAMETER_RECORD_TYPE_FIELD = "recordType";
+    public static final String PARAMETER_SHARD_KEY_FIELD = "shardKey";
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.ballerinalang.util.metrics.Counter;
+import org.ballerinalang.util.metrics.DefaultMetricRegistry;
+import org.ballerinalang.util.metrics.Gauge;
+import org.ballerinalang.util.metrics.Metric;
+import org.ballerinalang.util.metrics.MetricRegistry;
+import org.ballerinalang.util.metrics.PolledGauge;
+import org.ballerinalang.util.metrics.StatisticConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import static org.ballerinalang.util.observability.ObservabilityConstants.TAG_KEY_PEER_ADDRESS;
+
+/**
+ * Publishes the statistics of a connection pool as Ballerina metrics. The number of active, idle, total and pending
+ * connections are polled from the pool, while the connection acquire, usage and creation times are recorded as the
+ * pool reports them. The metrics are tagged by the connector id and the peer address of the pool.
+ *
+ * @since 0.982.1
+ */
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private static final String TAG_KEY_CONNECTOR_ID = "connector_id";
+    private static final String METRIC_PREFIX = "sql_pool_";
+
+    private final Map<String, String> tags;
+    private final PoolSizeController poolSizeController;
+
+    /**
+     * Creates a factory.
+     *
+     * @param tags               Tags of the metrics, see {@link #createTags(String, String)}
+     * @param poolSizeController Controller the connection acquire and usage times are reported to, or null
+     */
+    public PoolMetricsTrackerFactory(Map<String, String> tags, PoolSizeController poolSizeController) {
+        this.tags = tags;
+        this.poolSizeController = poolSizeController;
+    }
+
+    /**
+     * Creates the tags of the metrics of a pool.
+     *
+     * @param connectorId Id of the datasource the pool belongs to
+     * @param peerAddress Address of the database of the pool
+     * @return The tags
+     */
+    public static Map<String, String> createTags(String connectorId, String peerAddress) {
+        Map<String, String> tags = new HashMap<>();
+        tags.put(TAG_KEY_CONNECTOR_ID, connectorId);
+        tags.put(TAG_KEY_PEER_ADDRESS, peerAddress);
+        return tags;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new PoolMetricsTracker(tags, poolStats, poolSizeController);
+    }
+
+    /**
+     * Metrics of a single connection pool, which are unregistered when the pool is closed.
+     */
+    private static class PoolMetricsTracker implements IMetricsTracker {
+        private final MetricRegistry registry = DefaultMetricRegistry.getInstance();
+        private final Map<String, String> tags;
+        private final List<Metric> metrics = new ArrayList<>();
+        private final Gauge connectionAcquireTime;
+        private final Gauge connectionUsageTime;
+        private final Gauge connectionCreationTime;
+        private final Counter connectionTimeouts;
+        private final PoolSizeController poolSizeController;
+
+        PoolMetricsTracker(Map<String, String> tags, PoolStats poolStats, PoolSizeController poolSizeController) {
+            this.tags = tags;
+            this.poolSizeController = poolSizeController;
+            registerPolledGauge("active_connections", "Number of connections in use", poolStats,
+                    PoolStats::getActiveConnections);
+            registerPolledGauge("idle_connections", "Number of connections waiting to be used", poolStats,
+                    PoolStats::getIdleConnections);
+            registerPolledGauge("total_connections", "Number of connections in the pool", poolStats,
+                    PoolStats::getTotalConnections);
+            registerPolledGauge("pending_connections", "Number of callers waiting for a connection", poolStats,
+                    PoolStats::getPendingThreads);
+            registerPolledGauge("max_connections", "Maximum number of connections in the pool", poolStats,
+                    PoolStats::getMaxConnections);
+            connectionAcquireTime = registerTimer("connection_acquire_time_milliseconds",
+                    "Time taken to get a connection from the pool");
+            connectionUsageTime = registerTimer("connection_usage_time_milliseconds",
+                    "Time a connection is in use before it is returned to the pool");
+            connectionCreationTime = registerTimer("connection_creation_time_milliseconds",
+                    "Time taken to open a new connection");
+            connectionTimeouts = Counter.builder(METRIC_PREFIX + "connection_timeouts_total")
+                    .description("Number of times the pool failed to give a connection within the connection timeout")
+                    .tags(tags).register(registry);
+            metrics.add(connectionTimeouts);
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            connectionCreationTime.setValue(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            connectionAcquireTime.setValue((double) elapsedAcquiredNanos / TimeUnit.MILLISECONDS.toNanos(1));
+            if (poolSizeController != null) {
+                poolSizeController.recordConnectionAcquired(elapsedAcquiredNanos);
+            }
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            connectionUsageTime.setValue(elapsedBorrowedMillis);
+            if (poolSizeController != null) {
+                poolSizeController.recordConnectionUsage(elapsedBorrowedMillis);
+            }
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            connectionTimeouts.increment();
+        }
+
+        @Override
+        public void close() {
+            for (Metric metric : metrics) {
+                registry.unregister(metric);
+            }
+            metrics.clear();
+            if (poolSizeController != null) {
+                poolSizeController.stop();
+            }
+        }
+
+        private void registerPolledGauge(String name, String description, PoolStats poolStats,
+                ToDoubleFunction<PoolStats> valueFunction) {
+            metrics.add(PolledGauge.builder(METRIC_PREFIX + name, poolStats, valueFunction).description(description)
+                    .tags(tags).register(registry));
+        }
+
+        private Gauge registerTimer(String name, String description) {
+            Gauge gauge = Gauge.builder(METRIC_PREFIX + name).description(description).tags(tags)
+                    .summarize(StatisticConfig.DEFAULT).register(registry);
+            metrics.add(gauge);
+            return gauge;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.ballerinalang.util.metrics.Counter;
+import org.ballerinalang.util.metrics.DefaultMetricRegistry;
+import org.ballerinalang.util.metrics.Metric;
+import org.ballerinalang.util.metrics.MetricRegistry;
+import org.ballerinalang.util.metrics.PolledGauge;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resizes a connection pool at runtime between a minimum and a maximum size. At each interval the pool grows when
+ * callers wait for connections or take longer than the acquire latency threshold to get one, and shrinks by one
+ * connection when less than half of the connections are in use.
+ * <p>
+ * The time connections are held for stands in for the query latency. Its lowest value is kept as the baseline, which
+ * slowly follows lasting changes. When the latency exceeds the saturation threshold, as a percentage of the baseline,
+ * the database is taken to be saturated and the pool backs off by a quarter of its size instead of growing.
+ * <p>
+ * The current size and the decisions taken are published as metrics, tagged like the other pool metrics.
+ *
+ * @since 0.982.1
+ */
+public class PoolSizeController {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ballerina-sql-pool-size-controller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final double BACKOFF_FACTOR = 0.75;
+    private static final double BASELINE_DRIFT = 1.01;
+    private static final String METRIC_PREFIX = "sql_pool_";
+    private static final String TAG_KEY_DECISION = "decision";
+
+    private final int minimumSize;
+    private final int minimumIdle;
+    private final long intervalMillis;
+    private final long acquireLatencyThresholdNanos;
+    private final double saturationRatio;
+    private final Map<String, String> tags;
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAdder usageCount = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+    private final MetricRegistry registry = DefaultMetricRegistry.getInstance();
+    private final List<Metric> metrics = new ArrayList<>();
+    private volatile int size;
+    private int maximumSize;
+    private double baselineUsageMillis = -1;
+    private HikariDataSource dataSource;
+    private ScheduledFuture<?> task;
+    private Counter grows;
+    private Counter shrinks;
+    private Counter backoffs;
+
+    /**
+     * Creates a controller.
+     *
+     * @param minimumSize             Size the pool does not shrink below
+     * @param minimumIdle             Configured minimum number of idle connections, or -1 to keep the pool full
+     * @param interval                Number of milliseconds between adjustments
+     * @param acquireLatencyThreshold Average number of milliseconds taken to get a connection above which the pool
+     *                                grows
+     * @param saturationThreshold     Query latency, as a percentage of the baseline, above which the pool backs off
+     * @param tags                    Tags of the metrics of the pool
+     */
+    public PoolSizeController(int minimumSize, int minimumIdle, long interval, long acquireLatencyThreshold,
+            int saturationThreshold, Map<String, String> tags) {
+        this.minimumSize = Math.max(1, minimumSize);
+        this.minimumIdle = minimumIdle;
+        this.intervalMillis = interval;
+        this.acquireLatencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(acquireLatencyThreshold);
+        this.saturationRatio = saturationThreshold / 100.0;
+        this.tags = tags;
+    }
+
+    /**
+     * Starts adjusting a pool. The configured maximum size of the pool is the upper bound, and the pool starts at it.
+     *
+     * @param dataSource The pool
+     */
+    public synchronized void start(HikariDataSource dataSource) {
+        this.dataSource = dataSource;
+        maximumSize = dataSource.getMaximumPoolSize();
+        size = maximumSize;
+        metrics.add(PolledGauge.builder(METRIC_PREFIX + "target_size", this, controller -> controller.size)
+                .description("Size the pool is resized to").tags(tags).register(registry));
+        grows = registerDecisionCounter("grow");
+        shrinks = registerDecisionCounter("shrink");
+        backoffs = registerDecisionCounter("backoff");
+        task = SCHEDULER.scheduleWithFixedDelay(this::adjust, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops adjusting the pool and unregisters the metrics.
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+        for (Metric metric : metrics) {
+            registry.unregister(metric);
+        }
+        metrics.clear();
+    }
+
+    void recordConnectionAcquired(long elapsedNanos) {
+        acquireCount.increment();
+        acquireNanos.add(elapsedNanos);
+    }
+
+    void recordConnectionUsage(long elapsedMillis) {
+        usageCount.increment();
+        usageMillis.add(elapsedMillis);
+    }
+
+    private synchronized void adjust() {
+        if (task == null) {
+            return;
+        }
+        if (dataSource.isClosed()) {
+            stop();
+            return;
+        }
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return;
+        }
+        int pending = pool.getThreadsAwaitingConnection();
+        int active = pool.getActiveConnections();
+        long acquired = acquireCount.sumThenReset();
+        long totalAcquireNanos = acquireNanos.sumThenReset();
+        long averageAcquireNanos = acquired > 0 ? totalAcquireNanos / acquired : 0;
+        long used = usageCount.sumThenReset();
+        long totalUsageMillis = usageMillis.sumThenReset();
+        double averageUsageMillis = used > 0 ? (double) totalUsageMillis / used : -1;
+        boolean saturated = false;
+        if (averageUsageMillis >= 0) {
+            saturated = baselineUsageMillis > 0 && averageUsageMillis > baselineUsageMillis * saturationRatio;
+            baselineUsageMillis = baselineUsageMillis < 0 ? averageUsageMillis
+                    : Math.min(averageUsageMillis, baselineUsageMillis * BASELINE_DRIFT);
+        }
+        int currentSize = size;
+        if (saturated) {
+            if (currentSize > minimumSize) {
+                resize(Math.max(minimumSize, (int) (currentSize * BACKOFF_FACTOR)));
+                backoffs.increment();
+            }
+        } else if (pending > 0 || averageAcquireNanos > acquireLatencyThresholdNanos) {
+            if (currentSize < maximumSize) {
+                resize(Math.min(maximumSize, currentSize + Math.max(1, pending)));
+                grows.increment();
+            }
+        } else if (active < currentSize / 2 && currentSize > minimumSize) {
+            resize(currentSize - 1);
+            shrinks.increment();
+        }
+    }
+
+    private void resize(int newSize) {
+        HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+        int newMinimumIdle = minimumIdle < 0 ? newSize : Math.min(minimumIdle, newSize);
+        // The minimum number of idle connections must not exceed the maximum size at any point.
+        if (newSize < size) {
+            config.setMinimumIdle(newMinimumIdle);
+            config.setMaximumPoolSize(newSize);
+        } else {
+            config.setMaximumPoolSize(newSize);
+            config.setMinimumIdle(newMinimumIdle);
+        }
+        size = newSize;
+    }
+
+    private Counter registerDecisionCounter(String decision) {
+        Map<String, String> decisionTags = new HashMap<>(tags);
+        decisionTags.put(TAG_KEY_DECISION, decision);
+        Counter counter = Counter.builder(METRIC_PREFIX + "resizes_total")
+                .description("Number of times the pool was resized").tags(decisionTags).register(registry);
+        metrics.add(counter);
+        return counter;
+    }
+}
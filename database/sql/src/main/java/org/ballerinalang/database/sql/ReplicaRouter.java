@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Spreads read only work across the connection pools of the read replicas of a database. A replica which fails to
+ * give a connection is skipped for a while, and when no replica is available the caller is expected to fall back to
+ * the primary database. The replica pools are expected to have a short connection timeout, so that falling back does
+ * not take long.
+ *
+ * @since 0.982.1
+ */
+public class ReplicaRouter {
+
+    private final HikariDataSource[] replicas;
+    private final boolean leastActive;
+    private final long retryInterval;
+    private final AtomicLongArray unavailableUntil;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * Creates a router over the given replica pools.
+     *
+     * @param replicas      Connection pools of the replicas
+     * @param loadBalancing Either {@link Constants.ReplicaOptions#ROUND_ROBIN} or
+     *                      {@link Constants.ReplicaOptions#LEAST_ACTIVE}
+     * @param retryInterval Time in milliseconds a failed replica is skipped before it is tried again
+     */
+    public ReplicaRouter(List<HikariDataSource> replicas, String loadBalancing, long retryInterval) {
+        this.replicas = replicas.toArray(new HikariDataSource[0]);
+        this.leastActive = Constants.ReplicaOptions.LEAST_ACTIVE.equals(loadBalancing);
+        this.retryInterval = retryInterval;
+        this.unavailableUntil = new AtomicLongArray(this.replicas.length);
+    }
+
+    /**
+     * Borrows a connection from one of the available replicas. If the chosen replica fails, the remaining replicas
+     * are tried in turn.
+     *
+     * @return A pooled replica connection, or null if none of the replicas could give a connection
+     */
+    public Connection getConnection() {
+        int count = replicas.length;
+        int start = Math.floorMod(nextReplica.getAndIncrement(), count);
+        int first = leastActive ? getLeastActiveReplica(start) : start;
+        for (int i = 0; i < count; i++) {
+            int index = (first + i) % count;
+            if (!isAvailable(index)) {
+                continue;
+            }
+            try {
+                return replicas[index].getConnection();
+            } catch (SQLException e) {
+                // The pool reports the error of the last attempt to open a connection as the cause of a timeout. A
+                // timeout without a cause means the replica is busy rather than down, so it is not skipped.
+                if (!(e instanceof SQLTransientConnectionException) || e.getCause() != null) {
+                    unavailableUntil.set(index, System.currentTimeMillis() + retryInterval);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the connection pools of the replicas.
+     *
+     * @return The connection pools.
+     */
+    public HikariDataSource[] getDataSources() {
+        return replicas.clone();
+    }
+
+    /**
+     * Closes the connection pools of all the replicas.
+     */
+    public void close() {
+        for (HikariDataSource replica : replicas) {
+            replica.close();
+        }
+    }
+
+    private boolean isAvailable(int index) {
+        long until = unavailableUntil.get(index);
+        return until == 0 || until <= System.currentTimeMillis();
+    }
+
+    /**
+     * Finds the available replica with the fewest connections in use. The scan starts at a rotating position so that
+     * ties are spread across the replicas rather than always going to the first one.
+     */
+    private int getLeastActiveReplica(int start) {
+        int count = replicas.length;
+        int leastActiveIndex = start;
+        int leastActiveConnections = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % count;
+            if (!isAvailable(index)) {
+                continue;
+            }
+            HikariPoolMXBean pool = replicas[index].getHikariPoolMXBean();
+            int activeConnections = pool == null ? 0 : pool.getActiveConnections();
+            if (activeConnections < leastActiveConnections) {
+                leastActiveIndex = index;
+                leastActiveConnections = activeConnections;
+            }
+        }
+        return leastActiveIndex;
+    }
+}
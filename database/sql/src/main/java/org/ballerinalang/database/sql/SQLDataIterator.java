@@ -17,6 +17,7 @@
  */
 package org.ballerinalang.database.sql;
 
+import org.ballerinalang.database.table.AbstractInMemoryResultSet;
 import org.ballerinalang.model.ColumnDefinition;
 import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BField;
@@ -42,6 +43,7 @@ import org.ballerinalang.util.codegen.StructureTypeInfo;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.Array;
 import java.sql.Blob;
 import java.sql.Date;
@@ -53,7 +55,6 @@ import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.Calendar;
 import java.util.List;
-import javax.sql.rowset.CachedRowSet;
 
 import static org.ballerinalang.database.sql.SQLDatasourceUtils.POSTGRES_DATABASE_NAME;
 import static org.ballerinalang.database.sql.SQLDatasourceUtils.POSTGRES_OID_COLUMN_TYPE_NAME;
@@ -73,6 +74,9 @@ public class SQLDataIterator extends TableIterator {
             "Corresponding Union type in the record is not an assignable nillable type";
     private static final String MISMATCHING_FIELD_ASSIGNMENT = "Trying to assign to a mismatching type";
     private String sourceDatabase;
+    private String[] columnNames;
+    private int[] columnSqlTypes;
+    private ColumnReader[] columnReaders;
 
     public SQLDataIterator(Calendar utcCalendar, BStructureType structType, StructureTypeInfo timeStructInfo,
                            StructureTypeInfo zoneStructInfo, TableResourceManager rm,
@@ -97,10 +101,13 @@ public class SQLDataIterator extends TableIterator {
     @Override
     public void close(boolean isInTransaction) {
         try {
-            if (rs != null && !(rs instanceof CachedRowSet) && !rs.isClosed()) {
+            if (rs != null && !(rs instanceof AbstractInMemoryResultSet) && !rs.isClosed()) {
                 rs.close();
             }
-            resourceManager.gracefullyReleaseResources(isInTransaction);
+            // Tables loaded to memory have already released their database resources.
+            if (resourceManager != null) {
+                resourceManager.gracefullyReleaseResources(isInTransaction);
+            }
             rs = null;
         } catch (SQLException e) {
             throw new BallerinaException(e.getMessage(), e);
@@ -109,7 +116,7 @@ public class SQLDataIterator extends TableIterator {
 
     public void reset(boolean isInTransaction) {
         try {
-            if (rs instanceof CachedRowSet) {
+            if (rs instanceof AbstractInMemoryResultSet) {
                 rs.beforeFirst();
             } else {
                 close(isInTransaction);
@@ -134,134 +141,235 @@ public class SQLDataIterator extends TableIterator {
         if (this.type == null) {
             throw new BallerinaException("the expected struct type is not specified in action");
         }
+        if (columnReaders == null) {
+            createColumnReaders();
+        }
         BMap<String, BValue> bStruct = new BMap<>(this.type);
-        int index = 0;
-        String columnName = null;
-        int sqlType = -1;
+        int column = 0;
         try {
-            BField[] structFields = this.type.getFields();
-            for (ColumnDefinition columnDef : columnDefs) {
-                if (columnDef instanceof SQLColumnDefinition) {
-                    SQLColumnDefinition def = (SQLColumnDefinition) columnDef;
-                    columnName = def.getName();
-                    sqlType = def.getSqlType();
-                    ++index;
-                    BField field = structFields[index - 1];
-                    BType fieldType = field.getFieldType();
-                    String fieldName = field.fieldName;
-                    switch (sqlType) {
-                        case Types.ARRAY:
-                            Array data = rs.getArray(index);
-                            handleArrayValue(bStruct, fieldName, data, fieldType);
-                            break;
-                        case Types.CHAR:
-                        case Types.VARCHAR:
-                        case Types.LONGVARCHAR:
-                        case Types.NCHAR:
-                        case Types.NVARCHAR:
-                        case Types.LONGNVARCHAR:
-                            String sValue = rs.getString(index);
-                            handleStringValue(sValue, fieldName, bStruct, fieldType);
-                            break;
-                        case Types.BINARY:
-                        case Types.VARBINARY:
-                        case Types.LONGVARBINARY:
-                            byte[] binaryValue = rs.getBytes(index);
-                            handleBinaryValue(bStruct, fieldName, binaryValue, fieldType);
-                            break;
-                        case Types.BLOB:
-                            Blob blobValue = rs.getBlob(index);
-                            handleBinaryValue(bStruct, fieldName, blobValue == null ?
-                                    null : blobValue.getBytes(1L, (int) blobValue.length()), fieldType);
-                            break;
-                        case Types.CLOB:
-                            String clobValue = SQLDatasourceUtils.getString((rs.getClob(index)));
-                            handleStringValue(clobValue, fieldName, bStruct, fieldType);
-                            break;
-                        case Types.NCLOB:
-                            String nClobValue = SQLDatasourceUtils.getString((rs.getNClob(index)));
-                            handleStringValue(nClobValue, fieldName, bStruct, fieldType);
-                            break;
-                        case Types.DATE:
-                            Date date = rs.getDate(index);
-                            handleDateValue(bStruct, fieldName, date, fieldType);
-                            break;
-                        case Types.TIME:
-                        case Types.TIME_WITH_TIMEZONE:
-                            Time time = rs.getTime(index, utcCalendar);
-                            handleDateValue(bStruct, fieldName, time, fieldType);
-                            break;
-                        case Types.TIMESTAMP:
-                        case Types.TIMESTAMP_WITH_TIMEZONE:
-                            Timestamp timestamp = rs.getTimestamp(index, utcCalendar);
-                            handleDateValue(bStruct, fieldName, timestamp, fieldType);
-                            break;
-                        case Types.ROWID:
-                            sValue = new String(rs.getRowId(index).getBytes(), "UTF-8");
-                            handleStringValue(sValue, fieldName, bStruct, fieldType);
-                            break;
-                        case Types.TINYINT:
-                        case Types.SMALLINT:
-                            long iValue = rs.getInt(index);
-                            handleLongValue(iValue, bStruct, fieldName, fieldType);
-                            break;
-                        case Types.INTEGER:
-                        case Types.BIGINT:
-                            if (sourceDatabase.equalsIgnoreCase(POSTGRES_DATABASE_NAME)) {
-                                boolean isOID = rs.getMetaData().getColumnTypeName(index)
-                                        .equalsIgnoreCase(POSTGRES_OID_COLUMN_TYPE_NAME);
-                                if (isOID) {
-                                    handleOIDValue(index, bStruct, fieldName, fieldType);
-                                } else {
-                                    long lValue = rs.getLong(index);
-                                    handleLongValue(lValue, bStruct, fieldName, fieldType);
-                                }
-                            } else {
-                                long lValue = rs.getLong(index);
-                                handleLongValue(lValue, bStruct, fieldName, fieldType);
-                            }
-                            break;
-                        case Types.REAL:
-                        case Types.FLOAT:
-                            double fValue = rs.getFloat(index);
-                            handleDoubleValue(fValue, bStruct, fieldName, fieldType);
-                            break;
-                        case Types.DOUBLE:
-                            double dValue = rs.getDouble(index);
-                            handleDoubleValue(dValue, bStruct, fieldName, fieldType);
-                            break;
-                        case Types.NUMERIC:
-                        case Types.DECIMAL:
-                            double decimalValue = 0;
-                            BigDecimal bigDecimalValue = rs.getBigDecimal(index);
-                            if (bigDecimalValue != null) {
-                                decimalValue = bigDecimalValue.doubleValue();
-                            }
-                            handleDoubleValue(decimalValue, bStruct, fieldName, fieldType);
-                            break;
-                        case Types.BIT:
-                        case Types.BOOLEAN:
-                            boolean boolValue = rs.getBoolean(index);
-                            handleBooleanValue(bStruct, fieldName, boolValue, fieldType);
-                            break;
-                        case Types.STRUCT:
-                            Struct structData = (Struct) rs.getObject(index);
-                            handleStructValue(bStruct, fieldName, structData, fieldType);
-                            break;
-                        default:
-                            throw new BallerinaException("unsupported sql type "
-                                    + sqlType + " found for the column " + columnName + " index:" + index);
-                    }
-                }
+            for (; column < columnReaders.length; column++) {
+                columnReaders[column].read(bStruct);
             }
         } catch (Throwable e) {
             throw new BallerinaException(
-                    "error in retrieving next value for column: " + columnName + ": of SQL Type: " + sqlType + ": "
-                            + "at " + "index:" + index + ":" + e.getMessage());
+                    "error in retrieving next value for column: " + columnNames[column] + ": of SQL Type: "
+                            + columnSqlTypes[column] + ": " + "at " + "index:" + (column + 1) + ":" + e.getMessage());
         }
         return bStruct;
     }
 
+    /**
+     * Creates the readers which map each column of a row to its record field. The column and field types are
+     * resolved once here, so reading a row does not need to look at them again. Type mismatches are reported when a
+     * row is read, as there is nothing to report for a result without rows.
+     */
+    private void createColumnReaders() {
+        BField[] structFields = this.type.getFields();
+        int columnCount = 0;
+        for (ColumnDefinition columnDef : columnDefs) {
+            if (columnDef instanceof SQLColumnDefinition) {
+                columnCount++;
+            }
+        }
+        String[] names = new String[columnCount];
+        int[] sqlTypes = new int[columnCount];
+        ColumnReader[] readers = new ColumnReader[columnCount];
+        int column = 0;
+        for (ColumnDefinition columnDef : columnDefs) {
+            if (columnDef instanceof SQLColumnDefinition) {
+                SQLColumnDefinition def = (SQLColumnDefinition) columnDef;
+                names[column] = def.getName();
+                sqlTypes[column] = def.getSqlType();
+                if (column < structFields.length) {
+                    BField field = structFields[column];
+                    readers[column] = createColumnReader(def.getName(), def.getSqlType(), column + 1,
+                            field.fieldName, field.getFieldType());
+                } else {
+                    readers[column] = bStruct -> {
+                        throw new BallerinaException("the record type does not have a field for the column");
+                    };
+                }
+                column++;
+            }
+        }
+        this.columnNames = names;
+        this.columnSqlTypes = sqlTypes;
+        this.columnReaders = readers;
+    }
+
+    private ColumnReader createColumnReader(String columnName, int sqlType, int index, String fieldName,
+            BType fieldType) {
+        switch (sqlType) {
+        case Types.CHAR:
+        case Types.VARCHAR:
+        case Types.LONGVARCHAR:
+        case Types.NCHAR:
+        case Types.NVARCHAR:
+        case Types.LONGNVARCHAR:
+            return createStringReader(index, fieldName, fieldType);
+        case Types.TINYINT:
+        case Types.SMALLINT:
+            return createLongReader(fieldName, fieldType, () -> rs.getInt(index));
+        case Types.INTEGER:
+        case Types.BIGINT:
+            if (sourceDatabase.equalsIgnoreCase(POSTGRES_DATABASE_NAME)) {
+                boolean isOID;
+                try {
+                    isOID = rs.getMetaData().getColumnTypeName(index).equalsIgnoreCase(POSTGRES_OID_COLUMN_TYPE_NAME);
+                } catch (SQLException e) {
+                    return bStruct -> {
+                        throw e;
+                    };
+                }
+                if (isOID) {
+                    return bStruct -> handleOIDValue(index, bStruct, fieldName, fieldType);
+                }
+            }
+            return createLongReader(fieldName, fieldType, () -> rs.getLong(index));
+        case Types.REAL:
+        case Types.FLOAT:
+            return createDoubleReader(fieldName, fieldType, () -> rs.getFloat(index));
+        case Types.DOUBLE:
+            return createDoubleReader(fieldName, fieldType, () -> rs.getDouble(index));
+        case Types.NUMERIC:
+        case Types.DECIMAL:
+            return createDoubleReader(fieldName, fieldType, () -> {
+                BigDecimal bigDecimalValue = rs.getBigDecimal(index);
+                return bigDecimalValue == null ? 0 : bigDecimalValue.doubleValue();
+            });
+        case Types.BIT:
+        case Types.BOOLEAN:
+            return bStruct -> handleBooleanValue(bStruct, fieldName, rs.getBoolean(index), fieldType);
+        default:
+            return bStruct -> readColumn(bStruct, columnName, sqlType, index, fieldName, fieldType);
+        }
+    }
+
+    private ColumnReader createStringReader(int index, String fieldName, BType fieldType) {
+        if (fieldType.getTag() == TypeTags.UNION_TAG) {
+            if (getNillableMemberTypeTag(fieldType) != TypeTags.STRING_TAG) {
+                return bStruct -> handleUnAssignableUnionTypeAssignment();
+            }
+            return bStruct -> {
+                String stringValue = rs.getString(index);
+                bStruct.put(fieldName, stringValue == null ? null : new BString(stringValue));
+            };
+        }
+        return bStruct -> {
+            String stringValue = rs.getString(index);
+            if (stringValue != null) {
+                bStruct.put(fieldName, new BString(stringValue));
+            } else {
+                handleNilToNonNillableFieldAssignment();
+            }
+        };
+    }
+
+    private ColumnReader createLongReader(String fieldName, BType fieldType, LongGetter getter) {
+        if (fieldType.getTag() == TypeTags.UNION_TAG) {
+            if (getNillableMemberTypeTag(fieldType) != TypeTags.INT_TAG) {
+                return bStruct -> handleUnAssignableUnionTypeAssignment();
+            }
+            return bStruct -> {
+                long longValue = getter.get();
+                bStruct.put(fieldName, rs.wasNull() ? null : new BInteger(longValue));
+            };
+        }
+        return bStruct -> {
+            long longValue = getter.get();
+            if (rs.wasNull()) {
+                handleNilToNonNillableFieldAssignment();
+            } else {
+                bStruct.put(fieldName, new BInteger(longValue));
+            }
+        };
+    }
+
+    private ColumnReader createDoubleReader(String fieldName, BType fieldType, DoubleGetter getter) {
+        if (fieldType.getTag() == TypeTags.UNION_TAG) {
+            if (getNillableMemberTypeTag(fieldType) != TypeTags.FLOAT_TAG) {
+                return bStruct -> handleUnAssignableUnionTypeAssignment();
+            }
+            return bStruct -> {
+                double doubleValue = getter.get();
+                bStruct.put(fieldName, rs.wasNull() ? null : new BFloat(doubleValue));
+            };
+        }
+        return bStruct -> {
+            double doubleValue = getter.get();
+            if (rs.wasNull()) {
+                handleNilToNonNillableFieldAssignment();
+            } else {
+                bStruct.put(fieldName, new BFloat(doubleValue));
+            }
+        };
+    }
+
+    /**
+     * Returns the tag of the non-nil member of a nillable union type, or -1 if the union type is not nillable.
+     */
+    private int getNillableMemberTypeTag(BType fieldType) {
+        try {
+            return retrieveNonNilTypeTag(fieldType);
+        } catch (BallerinaException e) {
+            return -1;
+        }
+    }
+
+    private void readColumn(BMap<String, BValue> bStruct, String columnName, int sqlType, int index, String fieldName,
+            BType fieldType) throws SQLException {
+        switch (sqlType) {
+            case Types.ARRAY:
+                Array data = rs.getArray(index);
+                handleArrayValue(bStruct, fieldName, data, fieldType);
+                break;
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+                byte[] binaryValue = rs.getBytes(index);
+                handleBinaryValue(bStruct, fieldName, binaryValue, fieldType);
+                break;
+            case Types.BLOB:
+                Blob blobValue = rs.getBlob(index);
+                handleBinaryValue(bStruct, fieldName, blobValue == null ?
+                        null : blobValue.getBytes(1L, (int) blobValue.length()), fieldType);
+                break;
+            case Types.CLOB:
+                String clobValue = SQLDatasourceUtils.getString((rs.getClob(index)));
+                handleStringValue(clobValue, fieldName, bStruct, fieldType);
+                break;
+            case Types.NCLOB:
+                String nClobValue = SQLDatasourceUtils.getString((rs.getNClob(index)));
+                handleStringValue(nClobValue, fieldName, bStruct, fieldType);
+                break;
+            case Types.DATE:
+                Date date = rs.getDate(index);
+                handleDateValue(bStruct, fieldName, date, fieldType);
+                break;
+            case Types.TIME:
+            case Types.TIME_WITH_TIMEZONE:
+                Time time = rs.getTime(index, utcCalendar);
+                handleDateValue(bStruct, fieldName, time, fieldType);
+                break;
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                Timestamp timestamp = rs.getTimestamp(index, utcCalendar);
+                handleDateValue(bStruct, fieldName, timestamp, fieldType);
+                break;
+            case Types.ROWID:
+                String sValue = new String(rs.getRowId(index).getBytes(), StandardCharsets.UTF_8);
+                handleStringValue(sValue, fieldName, bStruct, fieldType);
+                break;
+            case Types.STRUCT:
+                Struct structData = (Struct) rs.getObject(index);
+                handleStructValue(bStruct, fieldName, structData, fieldType);
+                break;
+            default:
+                throw new BallerinaException("unsupported sql type "
+                        + sqlType + " found for the column " + columnName + " index:" + index);
+        }
+    }
+
     private void validateAndSetRefRecordField(BMap<String, BValue> bStruct, String fieldName, int expectedTypeTag,
                                               int actualTypeTag, BRefType value, String exceptionMessage) {
         if (expectedTypeTag == actualTypeTag) {
@@ -521,6 +629,24 @@ public class SQLDataIterator extends TableIterator {
         void apply();
     }
 
+    /**
+     * Reads a column of the current row into its record field.
+     */
+    @FunctionalInterface
+    private interface ColumnReader {
+        void read(BMap<String, BValue> bStruct) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface LongGetter {
+        long get() throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface DoubleGetter {
+        double get() throws SQLException;
+    }
+
     private ErrorHandlerFunction mismatchingFieldAssignmentHandler = this::handleMismatchingFieldAssignment;
     private ErrorHandlerFunction unassignableUnionTypeAssignmentHandler = this::handleUnAssignableUnionTypeAssignment;
 
@@ -561,40 +687,6 @@ public class SQLDataIterator extends TableIterator {
         }
     }
 
-    private void handleLongValue(long longValue, BMap<String, BValue> bStruct, String fieldName, BType fieldType)
-            throws SQLException {
-        boolean isOriginalValueNull = rs.wasNull();
-        int fieldTypeTag = fieldType.getTag();
-        if (fieldTypeTag == TypeTags.UNION_TAG) {
-            BRefType refValue = isOriginalValueNull ? null : new BInteger(longValue);
-            validateAndSetRefRecordField(bStruct, fieldName, TypeTags.INT_TAG,
-                    retrieveNonNilTypeTag(fieldType), refValue, UNASSIGNABLE_UNIONTYPE_EXCEPTION);
-        } else {
-            if (isOriginalValueNull) {
-                handleNilToNonNillableFieldAssignment();
-            } else {
-                bStruct.put(fieldName, new BInteger(longValue));
-            }
-        }
-    }
-
-    private void handleDoubleValue(double fValue, BMap<String, BValue> bStruct, String fieldName, BType fieldType)
-            throws SQLException {
-        boolean isOriginalValueNull = rs.wasNull();
-        int fieldTypeTag = fieldType.getTag();
-        if (fieldTypeTag == TypeTags.UNION_TAG) {
-            BRefType refValue = isOriginalValueNull ? null : new BFloat(fValue);
-            validateAndSetRefRecordField(bStruct, fieldName, TypeTags.FLOAT_TAG,
-                    retrieveNonNilTypeTag(fieldType), refValue, UNASSIGNABLE_UNIONTYPE_EXCEPTION);
-        } else {
-            if (isOriginalValueNull) {
-                handleNilToNonNillableFieldAssignment();
-            } else {
-                bStruct.put(fieldName, new BFloat(fValue));
-            }
-        }
-    }
-
     private void handleMappingDateValueToUnionType(BType fieldType, BMap<String, BValue> bStruct,
                                                    String fieldName, java.util.Date date) {
         int type = retrieveNonNilTypeTag(fieldType);
@@ -19,8 +19,12 @@ package org.ballerinalang.database.sql;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.ProxyConnection;
 import org.ballerinalang.connector.api.Struct;
 import org.ballerinalang.connector.api.Value;
+import org.ballerinalang.database.sql.statement.StatementCache;
+import org.ballerinalang.database.table.ResultCache;
+import org.ballerinalang.database.table.SelectCoalescer;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BFloat;
@@ -32,12 +36,33 @@ import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.sql.XADataSource;
 
 /**
@@ -47,29 +72,228 @@ import javax.sql.XADataSource;
  */
 public class SQLDatasource implements BValue {
 
+    // Pool options which make up the registry key of a datasource, see SQLDatasourceParams#getRegistryKey.
+    private static final String[] STRING_OPTIONS = {
+            Constants.Options.DATASOURCE_CLASSNAME, Constants.Options.CONNECTION_INIT_SQL, Constants.Options.INIT_MODE,
+            Constants.Options.ADMISSION_PRIORITY, Constants.Options.WRITE_DURABILITY
+    };
+    private static final String[] BOOLEAN_OPTIONS = {
+            Constants.Options.AUTOCOMMIT, Constants.Options.IS_XA, Constants.Options.ADAPTIVE_CONCURRENCY_LIMIT,
+            Constants.Options.ADAPTIVE_POOL_SIZE, Constants.Options.COALESCE_SELECTS,
+            Constants.Options.REWRITE_BATCHED_INSERTS
+    };
+    private static final String[] INT_OPTIONS = {
+            Constants.Options.MAXIMUM_POOL_SIZE, Constants.Options.CONNECTION_TIMEOUT, Constants.Options.IDLE_TIMEOUT,
+            Constants.Options.MINIMUM_IDLE, Constants.Options.MAX_LIFE_TIME, Constants.Options.VALIDATION_TIMEOUT,
+            Constants.Options.STATEMENT_CACHE_SIZE, Constants.Options.FETCH_SIZE,
+            Constants.Options.IN_MEMORY_TABLE_SPILL_THRESHOLD, Constants.Options.RESULT_CACHE_MAX_ENTRIES,
+            Constants.Options.RESULT_CACHE_MAX_BYTES, Constants.Options.RESULT_CACHE_TTL,
+            Constants.Options.PREWARM_SIZE, Constants.Options.PREWARM_TIMEOUT, Constants.Options.CONCURRENCY_LIMIT,
+            Constants.Options.ADMISSION_QUEUE_SIZE, Constants.Options.ADMISSION_TIMEOUT,
+            Constants.Options.LATENCY_THRESHOLD, Constants.Options.CIRCUIT_BREAKER_FAILURE_RATE,
+            Constants.Options.CIRCUIT_BREAKER_LATENCY_THRESHOLD, Constants.Options.CIRCUIT_BREAKER_MINIMUM_REQUESTS,
+            Constants.Options.CIRCUIT_BREAKER_ROLLING_WINDOW, Constants.Options.CIRCUIT_BREAKER_RESET_TIMEOUT,
+            Constants.Options.MINIMUM_POOL_SIZE, Constants.Options.POOL_RESIZE_INTERVAL,
+            Constants.Options.ACQUIRE_LATENCY_THRESHOLD, Constants.Options.SATURATION_THRESHOLD,
+            Constants.Options.WRITE_BUFFER_SIZE, Constants.Options.WRITE_BUFFER_DELAY,
+            Constants.Options.WRITE_BUFFER_CAPACITY, Constants.Options.WRITE_BUFFER_TIMEOUT
+    };
+
+    private static final ExecutorService INIT_EXECUTOR = Executors.newCachedThreadPool(
+            new DaemonThreadFactory("ballerina-sql-init-"));
+    // Partitions which find all the threads busy run on the thread of the action, so that the number of threads stays
+    // bounded however many batch updates run at a time.
+    private static final int MAX_BATCH_THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+    private static final ExecutorService BATCH_EXECUTOR = new ThreadPoolExecutor(0, MAX_BATCH_THREADS, 60L,
+            TimeUnit.SECONDS, new SynchronousQueue<>(), new DaemonThreadFactory("ballerina-sql-batch-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    private static final ScheduledExecutorService HOUSEKEEPER = Executors.newSingleThreadScheduledExecutor(
+            new DaemonThreadFactory("ballerina-sql-housekeeper-"));
+    // Same as the housekeeping period of the pool, which is when idle connections are evicted.
+    private static final long STATEMENT_CACHE_SWEEP_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+
     private HikariDataSource hikariDataSource;
     private String peerAddress;
     private String databaseName;
     private String databaseProductName;
     private String connectorId;
     private boolean xaConn;
+    private int statementCacheSize;
+    private int fetchSize = -1;
+    private long inMemoryTableSpillThreshold;
+    private ResultCache resultCache;
+    private SelectCoalescer selectCoalescer;
+    private boolean rewriteBatchedInserts;
+    private WriteBuffer writeBuffer;
+    private ConnectionLimiter connectionLimiter;
+    private CircuitBreaker[] circuitBreakers;
+    private String[] warmUpStatements = new String[0];
+    private ReplicaRouter replicaRouter;
+    private HikariDataSource[] shardDataSources = new HikariDataSource[0];
+    private ConsistentHashRing shardRing;
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> statementCacheSweeper;
+    private volatile boolean initialized;
+    private boolean closed;
+    private SQLDatasourceParams pendingParams;
 
     public SQLDatasource() {
     }
 
+    /**
+     * Initializes the datasource. Depending on the init mode in the pool options, the connection pools are created
+     * and the database is probed right away, on first use, or in the background. In the latter two cases
+     * configuration and connection errors surface on first use of the datasource.
+     *
+     * @param sqlDatasourceParams The datasource configuration.
+     * @return true
+     */
     public boolean init(SQLDatasourceParams sqlDatasourceParams) {
         databaseName = sqlDatasourceParams.dbName;
         peerAddress = sqlDatasourceParams.jdbcUrl;
-        buildDataSource(sqlDatasourceParams);
         connectorId = UUID.randomUUID().toString();
+        String initMode = sqlDatasourceParams.options != null ? sqlDatasourceParams.options
+                .getStringField(Constants.Options.INIT_MODE) : Constants.InitModes.EAGER;
+        switch (initMode) {
+        case Constants.InitModes.LAZY:
+            pendingParams = sqlDatasourceParams;
+            break;
+        case Constants.InitModes.ASYNC:
+            pendingParams = sqlDatasourceParams;
+            INIT_EXECUTOR.execute(this::initializeInBackground);
+            break;
+        default:
+            initialize(sqlDatasourceParams);
+            initialized = true;
+        }
+        return true;
+    }
+
+    /**
+     * Completes a deferred initialization. Callers block while the initialization is in progress, be it in the
+     * background or on another caller's thread, and a failed initialization is retried by the next caller.
+     */
+    private void ensureInitialized() {
+        if (initialized) {
+            return;
+        }
+        synchronized (this) {
+            if (initialized) {
+                return;
+            }
+            if (closed) {
+                throw new BallerinaException("error in get connection: " + Constants.CONNECTOR_NAME
+                        + ": the client is closed");
+            }
+            initialize(pendingParams);
+            pendingParams = null;
+            initialized = true;
+        }
+    }
+
+    private void initializeInBackground() {
+        try {
+            ensureInitialized();
+        } catch (BallerinaException e) {
+            // Retried and reported on first use.
+        }
+    }
+
+    private void initialize(SQLDatasourceParams sqlDatasourceParams) {
+        buildDataSource(sqlDatasourceParams);
         xaConn = isXADataSource();
-        try (Connection con = getSQLConnection()) {
+        try (Connection con = hikariDataSource.getConnection()) {
             databaseProductName = con.getMetaData().getDatabaseProductName().toLowerCase(Locale.ENGLISH);
         } catch (SQLException e) {
+            closeDataSources();
             throw new BallerinaException("error in get connection: " + Constants.CONNECTOR_NAME + ": " + e.getMessage(),
                     e);
         }
-        return true;
+        try {
+            prewarm(sqlDatasourceParams);
+        } catch (BallerinaException e) {
+            closeDataSources();
+            throw e;
+        }
+        if (statementCacheSize > 0) {
+            statementCacheSweeper = HOUSEKEEPER.scheduleWithFixedDelay(this::removeStaleStatementCaches,
+                    STATEMENT_CACHE_SWEEP_INTERVAL, STATEMENT_CACHE_SWEEP_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Opens connections in each pool up to the pre-warm size, so that they are not opened on the request path. The
+     * warm-up statements are prepared on each connection. Pre-warming stops at the pre-warm timeout, which is
+     * checked before each connection is borrowed.
+     */
+    private void prewarm(SQLDatasourceParams sqlDatasourceParams) {
+        if (sqlDatasourceParams.options == null) {
+            return;
+        }
+        int prewarmSize = (int) sqlDatasourceParams.options.getIntField(Constants.Options.PREWARM_SIZE);
+        if (prewarmSize <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS
+                .toNanos(sqlDatasourceParams.options.getIntField(Constants.Options.PREWARM_TIMEOUT));
+        List<HikariDataSource> dataSources = new ArrayList<>();
+        dataSources.add(hikariDataSource);
+        if (replicaRouter != null) {
+            dataSources.addAll(Arrays.asList(replicaRouter.getDataSources()));
+        }
+        dataSources.addAll(Arrays.asList(shardDataSources));
+        for (HikariDataSource dataSource : dataSources) {
+            if (!prewarm(dataSource, Math.min(prewarmSize, dataSource.getMaximumPoolSize()), deadline)) {
+                return;
+            }
+        }
+    }
+
+    private boolean prewarm(HikariDataSource dataSource, int prewarmSize, long deadline) {
+        // The connections are held until the target is reached, as the pool would hand out the same one again.
+        List<Connection> connections = new ArrayList<>(prewarmSize);
+        try {
+            while (connections.size() < prewarmSize) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                Connection conn = dataSource.getConnection();
+                connections.add(conn);
+                warmUp(conn);
+            }
+            return true;
+        } catch (SQLTransientConnectionException e) {
+            // The pool could not open a connection in time. The remaining connections are opened on demand.
+            return false;
+        } catch (SQLException e) {
+            throw new BallerinaException("error in pre-warming connection pool: " + e.getMessage(), e);
+        } finally {
+            for (Connection conn : connections) {
+                try {
+                    conn.close();
+                } catch (SQLException ignored) {
+                    // The connection is evicted by the pool.
+                }
+            }
+        }
+    }
+
+    /**
+     * Prepares the warm-up statements on a connection. If the statement cache is enabled, they are kept in the cache
+     * of the connection, which prepares them whenever it is created. A warm-up statement which cannot be prepared is
+     * skipped either way, as it is only a hint.
+     */
+    private void warmUp(Connection conn) throws SQLException {
+        if (getStatementCache(conn) != null) {
+            return;
+        }
+        for (String query : warmUpStatements) {
+            try {
+                conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY).close();
+            } catch (SQLException e) {
+                // Skipped, as it is when the statement cache prepares it.
+            }
+        }
     }
 
     /**
@@ -79,6 +303,7 @@ public class SQLDatasource implements BValue {
      * @return The peer address for this datasource.
      */
     public String getPeerAddress() {
+        ensureInitialized();
         return peerAddress;
     }
 
@@ -97,114 +322,713 @@ public class SQLDatasource implements BValue {
      * @return The database product name.
      */
     public String getDatabaseProductName() {
+        ensureInitialized();
         return databaseProductName;
     }
 
+    /**
+     * Get the default number of rows fetched at a time by select operations.
+     *
+     * @return The fetch size, or -1 if it is not configured.
+     */
+    public int getFetchSize() {
+        ensureInitialized();
+        return fetchSize;
+    }
+
+    /**
+     * Get the estimated heap size after which the rows of a select loaded to memory are spilled to disk.
+     *
+     * @return The threshold in bytes, or 0 if the rows are never spilled.
+     */
+    public long getInMemoryTableSpillThreshold() {
+        ensureInitialized();
+        return inMemoryTableSpillThreshold;
+    }
+
+    /**
+     * Get the cache of select results loaded to memory.
+     *
+     * @return The result cache, or null if results are not cached.
+     */
+    public ResultCache getResultCache() {
+        ensureInitialized();
+        return resultCache;
+    }
+
+    /**
+     * Get the coalescer which lets concurrent executions of the same select loaded to memory share one execution.
+     *
+     * @return The select coalescer, or null if selects are not coalesced.
+     */
+    public SelectCoalescer getSelectCoalescer() {
+        ensureInitialized();
+        return selectCoalescer;
+    }
+
+    /**
+     * Get the buffer which writes the updates made outside a transaction in batches.
+     *
+     * @return The write buffer, or null if updates are not buffered.
+     */
+    public WriteBuffer getWriteBuffer() {
+        ensureInitialized();
+        return writeBuffer;
+    }
+
+    /**
+     * Check whether batches of a simple insert are rewritten into inserts of several rows.
+     *
+     * @return true if batched inserts are rewritten.
+     */
+    public boolean isRewriteBatchedInserts() {
+        ensureInitialized();
+        return rewriteBatchedInserts;
+    }
+
+    /**
+     * Get the executor which runs the partitions of batch updates run in parallel. The executor has a bounded number
+     * of threads, and a partition submitted while all of them are busy runs on the submitting thread.
+     *
+     * @return The executor.
+     */
+    public ExecutorService getBatchExecutor() {
+        return BATCH_EXECUTOR;
+    }
+
+    /**
+     * Get the maximum number of connections of the pool of the database or a shard of it.
+     *
+     * @param shardIndex Index of the shard, or -1 for the database the datasource was created for.
+     * @return The maximum size of the pool.
+     */
+    public int getMaximumPoolSize(int shardIndex) {
+        ensureInitialized();
+        return (shardIndex < 0 ? hikariDataSource : shardDataSources[shardIndex]).getMaximumPoolSize();
+    }
+
     public Connection getSQLConnection() {
+        return getSQLConnection(-1, false);
+    }
+
+    /**
+     * Get a connection for read only work outside a transaction. The connection is borrowed from a read replica if
+     * replicas are configured, and from the primary database if not or if none of the replicas is available.
+     *
+     * @return A pooled connection.
+     */
+    public Connection getReadConnection() {
+        ensureInitialized();
+        if (replicaRouter == null) {
+            return getSQLConnection(-1, true);
+        }
+        // A read falls back to the primary database only through its breaker, and is not rejected up front, as the
+        // replicas may still be available while the breaker of the primary is open.
+        ConnectionLimiter.ConnectionSupplier primarySupplier = guard(getCircuitBreaker(-1), "",
+                hikariDataSource::getConnection);
+        return borrowConnection(true, "", () -> {
+            Connection conn = replicaRouter.getConnection();
+            return conn != null ? conn : primarySupplier.get();
+        });
+    }
+
+    /**
+     * Check whether selects outside a transaction are routed to read replicas.
+     *
+     * @return true if read replicas are configured.
+     */
+    public boolean hasReadReplicas() {
+        ensureInitialized();
+        return replicaRouter != null;
+    }
+
+    /**
+     * Get a connection to a shard of a sharded datasource.
+     *
+     * @param shardIndex Index of the shard, or -1 for the database the datasource was created for.
+     * @return A pooled connection.
+     */
+    public Connection getSQLConnection(int shardIndex) {
+        return getSQLConnection(shardIndex, false);
+    }
+
+    /**
+     * Get a connection to the database or a shard of it. If the endpoint has a concurrency limit, the caller waits
+     * until it is admitted, or is rejected with a {@link ConnectionRejectedException}. The caller is rejected as well
+     * while the circuit breaker of the database is open.
+     *
+     * @param shardIndex Index of the shard, or -1 for the database the datasource was created for.
+     * @param readOnly   Whether the connection is used to read only, which decides the priority of the caller.
+     * @return A pooled connection.
+     */
+    public Connection getSQLConnection(int shardIndex, boolean readOnly) {
+        ensureInitialized();
+        String source = shardIndex < 0 ? "" : ": shard " + shardIndex;
+        HikariDataSource dataSource = shardIndex < 0 ? hikariDataSource : shardDataSources[shardIndex];
+        CircuitBreaker circuitBreaker = getCircuitBreaker(shardIndex);
+        // Callers are rejected before they wait to be admitted while the breaker is open, and the breaker is consulted
+        // again once the caller is admitted, so that a probe is not lost to a rejection.
+        if (circuitBreaker != null && circuitBreaker.isOpen()) {
+            throw circuitOpen(source);
+        }
+        return borrowConnection(readOnly, source, guard(circuitBreaker, source, dataSource::getConnection));
+    }
+
+    /**
+     * Wraps the acquisition of a connection, so that it is rejected while the breaker is open and its outcome is
+     * recorded by the breaker.
+     */
+    private static ConnectionLimiter.ConnectionSupplier guard(CircuitBreaker circuitBreaker, String source,
+            ConnectionLimiter.ConnectionSupplier supplier) {
+        if (circuitBreaker == null) {
+            return supplier;
+        }
+        return () -> {
+            if (!circuitBreaker.allowRequest()) {
+                throw circuitOpen(source);
+            }
+            long startTime = System.nanoTime();
+            try {
+                Connection conn = supplier.get();
+                circuitBreaker.recordSuccess(System.nanoTime() - startTime);
+                return conn;
+            } catch (SQLException | RuntimeException e) {
+                circuitBreaker.recordFailure();
+                throw e;
+            }
+        };
+    }
+
+    private static ConnectionRejectedException circuitOpen(String source) {
+        return new ConnectionRejectedException(ConnectionRejectedException.CIRCUIT_OPEN,
+                "connection rejected: " + Constants.CONNECTOR_NAME + source + ": circuit breaker is open");
+    }
+
+    /**
+     * Reports an error of an action to the circuit breaker of the database the action ran on. Only errors which
+     * show that the database could not be reached are counted. The action was already counted as a request when its
+     * connection was acquired, so only the failure is added.
+     *
+     * @param shardIndex Index of the shard, or -1 for the database the datasource was created for.
+     * @param error      The error.
+     */
+    public void recordFailure(int shardIndex, SQLException error) {
+        CircuitBreaker circuitBreaker = getCircuitBreaker(shardIndex);
+        if (circuitBreaker != null && CircuitBreaker.isConnectionFailure(error)) {
+            circuitBreaker.recordLateFailure();
+        }
+    }
+
+    /**
+     * Reports an error of an action to the circuit breaker of the database the action ran on, and discards the
+     * connection of the action if the error shows that it is broken. The pool discards broken connections itself when
+     * their statements fail, but cached statements are prepared on the physical connection, so the pool does not see
+     * their errors and would hand the connection out again.
+     *
+     * @param shardIndex Index of the shard, or -1 for the database the datasource was created for.
+     * @param conn       The connection of the action, or null if it has none.
+     * @param error      The error.
+     */
+    public void recordFailure(int shardIndex, Connection conn, SQLException error) {
+        recordFailure(shardIndex, error);
+        if (statementCacheSize > 0 && conn != null && CircuitBreaker.isConnectionFailure(error)) {
+            discardConnection(shardIndex, conn);
+        }
+    }
+
+    /**
+     * Evicts a broken connection from its pool, which closes it once it is given back. The connections of the read
+     * replicas are not traced back to their pool, so their physical connection is closed instead, which makes the
+     * pool drop them as they are given back or validated.
+     */
+    private void discardConnection(int shardIndex, Connection conn) {
+        Connection pooledConnection = ConnectionLimiter.getPooledConnection(conn);
+        if (!(pooledConnection instanceof ProxyConnection)) {
+            return;
+        }
+        try {
+            Connection physicalConnection = pooledConnection.unwrap(Connection.class);
+            StatementCache statementCache = statementCaches.get(physicalConnection);
+            if (statementCache != null) {
+                removeStatementCache(physicalConnection, statementCache);
+            }
+            HikariDataSource dataSource = shardIndex >= 0 ? shardDataSources[shardIndex]
+                    : replicaRouter == null ? hikariDataSource : null;
+            if (dataSource != null) {
+                dataSource.evictConnection(pooledConnection);
+            } else {
+                physicalConnection.close();
+            }
+        } catch (SQLException ignored) {
+            // The connection is already closed.
+        }
+    }
+
+    private CircuitBreaker getCircuitBreaker(int shardIndex) {
+        return circuitBreakers == null ? null : circuitBreakers[shardIndex + 1];
+    }
+
+    private Connection borrowConnection(boolean readOnly, String source,
+            ConnectionLimiter.ConnectionSupplier supplier) {
         try {
-            return hikariDataSource.getConnection();
+            return connectionLimiter == null ? supplier.get() : connectionLimiter.getConnection(readOnly, supplier);
         } catch (SQLException e) {
-            throw new BallerinaException("error in get connection: " + Constants.CONNECTOR_NAME + ": " + e.getMessage(),
-                    e);
+            throw new BallerinaException("error in get connection: " + Constants.CONNECTOR_NAME + source + ": "
+                    + e.getMessage(), e);
         }
     }
 
+    /**
+     * Get the number of shards.
+     *
+     * @return The number of shards, or 0 if the datasource is not sharded.
+     */
+    public int getShardCount() {
+        ensureInitialized();
+        return shardDataSources.length;
+    }
+
+    /**
+     * Get the shard a shard key belongs to.
+     *
+     * @param shardKey The value of the shard key.
+     * @return Index of the shard.
+     */
+    public int getShardIndex(String shardKey) {
+        ensureInitialized();
+        return shardRing.getNode(shardKey);
+    }
+
     public String getConnectorId() {
         return this.connectorId;
     }
 
+    /**
+     * Get the identifier of the transaction resource of a shard. The work a transaction does on each shard is
+     * committed or rolled back separately.
+     *
+     * @param shardIndex Index of the shard, or -1 for the database the datasource was created for.
+     * @return The connector id.
+     */
+    public String getConnectorId(int shardIndex) {
+        return shardIndex < 0 ? connectorId : connectorId + ":" + shardIndex;
+    }
+
     public boolean isXAConnection() {
+        ensureInitialized();
         return this.xaConn;
     }
 
     public XADataSource getXADataSource() {
+        return getXADataSource(-1);
+    }
+
+    public XADataSource getXADataSource(int shardIndex) {
+        ensureInitialized();
         XADataSource xaDataSource;
         try {
-            xaDataSource = hikariDataSource.unwrap(XADataSource.class);
+            HikariDataSource dataSource = shardIndex < 0 ? hikariDataSource : shardDataSources[shardIndex];
+            xaDataSource = dataSource.unwrap(XADataSource.class);
         } catch (SQLException e) {
             throw new BallerinaException("error in get distributed data source");
         }
         return xaDataSource;
     }
 
+    /**
+     * Prepares a statement on the given pooled connection. If the statement cache is enabled, the statement is
+     * borrowed from the cache of the underlying physical connection and must be given back with
+     * {@link #releaseStatement(Statement)} instead of being closed.
+     *
+     * @param conn  Connection obtained from {@link #getSQLConnection()}
+     * @param query The processed SQL query
+     * @return The prepared statement
+     * @throws SQLException If the statement cannot be prepared
+     */
+    public PreparedStatement prepareStatement(Connection conn, String query) throws SQLException {
+        return prepareStatement(conn, query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    public PreparedStatement prepareStatement(Connection conn, String query, int resultSetType,
+            int resultSetConcurrency) throws SQLException {
+        StatementCache statementCache = getStatementCache(conn);
+        if (statementCache == null) {
+            return conn.prepareStatement(query, resultSetType, resultSetConcurrency);
+        }
+        return statementCache.borrow(query, resultSetType, resultSetConcurrency);
+    }
+
+    /**
+     * Gives back a statement obtained from {@link #prepareStatement(Connection, String)}. Cached statements are kept
+     * open for reuse while any other statement is closed.
+     *
+     * @param stmt The statement to release
+     */
+    public void releaseStatement(Statement stmt) {
+        if (stmt == null) {
+            return;
+        }
+        try {
+            if (stmt.isClosed()) {
+                return;
+            }
+            Connection conn = stmt.getConnection();
+            StatementCache statementCache = statementCaches.get(conn);
+            if (statementCache == null || !statementCache.release(stmt)) {
+                stmt.close();
+            }
+            // A connection the pool evicted while the statement was in use is closed as the statement is released.
+            if (statementCache != null && statementCache.isConnectionClosed()) {
+                removeStatementCache(conn, statementCache);
+            }
+        } catch (SQLException e) {
+            throw new BallerinaException("error in releasing statement: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Closes the connection pools of this datasource. If the datasource is shared by several endpoints through the
+     * {@link SQLDatasourceRegistry}, the pools are closed only when the last of them is closed.
+     */
     public void closeConnectionPool() {
-        hikariDataSource.close();
+        if (!SQLDatasourceRegistry.release(this)) {
+            return;
+        }
+        // Waits for an initialization in progress, and keeps a deferred one from happening.
+        synchronized (this) {
+            closed = true;
+            pendingParams = null;
+            if (!initialized) {
+                return;
+            }
+        }
+        closeDataSources();
+    }
+
+    private void closeDataSources() {
+        // Buffered updates are written before the connection pools are closed.
+        if (writeBuffer != null) {
+            writeBuffer.close();
+        }
+        if (statementCacheSweeper != null) {
+            statementCacheSweeper.cancel(false);
+        }
+        for (StatementCache statementCache : statementCaches.values()) {
+            statementCache.close();
+        }
+        statementCaches.clear();
+        if (resultCache != null) {
+            resultCache.clear();
+        }
+        if (replicaRouter != null) {
+            replicaRouter.close();
+        }
+        for (HikariDataSource shardDataSource : shardDataSources) {
+            shardDataSource.close();
+        }
+        if (hikariDataSource != null) {
+            hikariDataSource.close();
+        }
+    }
+
+    private StatementCache getStatementCache(Connection conn) throws SQLException {
+        // Only connections handed out by the pool are cached. Statements are prepared on the physical connection so
+        // that they outlive the pool proxy, which closes the statements created through it when it is returned.
+        conn = ConnectionLimiter.getPooledConnection(conn);
+        if (statementCacheSize <= 0 || !(conn instanceof ProxyConnection)) {
+            return null;
+        }
+        Connection physicalConnection = conn.unwrap(Connection.class);
+        StatementCache statementCache = statementCaches.get(physicalConnection);
+        if (statementCache == null) {
+            removeStaleStatementCaches();
+            StatementCache newStatementCache = new StatementCache(physicalConnection, statementCacheSize);
+            statementCache = statementCaches.putIfAbsent(physicalConnection, newStatementCache);
+            if (statementCache == null) {
+                statementCache = newStatementCache;
+                for (String query : warmUpStatements) {
+                    try {
+                        statementCache.prepare(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    } catch (SQLException e) {
+                        // A warm-up statement which cannot be prepared is skipped, so that it does not fail the
+                        // action the connection was borrowed for. The action prepares its own statement anyway.
+                    }
+                }
+            }
+        }
+        return statementCache;
+    }
+
+    /**
+     * Drops the statement caches of the physical connections the pool has closed. This runs on a miss and at the
+     * housekeeping period of the pool, so that the caches of evicted connections do not outlive them.
+     */
+    private void removeStaleStatementCaches() {
+        for (Map.Entry<Connection, StatementCache> entry : statementCaches.entrySet()) {
+            if (entry.getValue().isConnectionClosed()) {
+                removeStatementCache(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void removeStatementCache(Connection physicalConnection, StatementCache statementCache) {
+        if (statementCaches.remove(physicalConnection, statementCache)) {
+            statementCache.close();
+        }
     }
 
     private void buildDataSource(SQLDatasourceParams sqlDatasourceParams) {
         try {
-            HikariConfig config = new HikariConfig();
-            //Set username password
-            config.setUsername(sqlDatasourceParams.username);
-            config.setPassword(sqlDatasourceParams.password);
             //Set URL
             if (sqlDatasourceParams.jdbcUrl.isEmpty()) {
                 sqlDatasourceParams.jdbcUrl = constructJDBCURL(sqlDatasourceParams.dbType,
                         sqlDatasourceParams.hostOrPath, sqlDatasourceParams.port, sqlDatasourceParams.dbName,
                         sqlDatasourceParams.username, sqlDatasourceParams.password, sqlDatasourceParams.urlOptions);
             }
+            hikariDataSource = createDataSource(sqlDatasourceParams, sqlDatasourceParams.jdbcUrl, -1);
             //Set optional properties
             if (sqlDatasourceParams.options != null) {
-                boolean isXA = sqlDatasourceParams.options.getBooleanField(Constants.Options.IS_XA);
-                BMap<String, BRefType<?>> dataSourceConfigMap = populatePropertiesMap(sqlDatasourceParams.dbOptionsMap);
-
-                String dataSourceClassName = sqlDatasourceParams.options
-                        .getStringField(Constants.Options.DATASOURCE_CLASSNAME);
-                if (isXA && dataSourceClassName.isEmpty()) {
-                    dataSourceClassName = getXADatasourceClassName(sqlDatasourceParams.dbType,
-                            sqlDatasourceParams.jdbcUrl, sqlDatasourceParams.username, sqlDatasourceParams.password);
-                }
-                if (!dataSourceClassName.isEmpty()) {
-                    config.setDataSourceClassName(dataSourceClassName);
-                    dataSourceConfigMap = setDataSourcePropertiesMap(dataSourceConfigMap, sqlDatasourceParams.jdbcUrl,
-                            sqlDatasourceParams.username, sqlDatasourceParams.password);
-                } else {
-                    config.setJdbcUrl(sqlDatasourceParams.jdbcUrl);
-                }
-                String connectionInitSQL = sqlDatasourceParams.options
-                        .getStringField(Constants.Options.CONNECTION_INIT_SQL);
-                if (!connectionInitSQL.isEmpty()) {
-                    config.setConnectionInitSql(connectionInitSQL);
-                }
-
-                int maximumPoolSize = (int) sqlDatasourceParams.options
-                        .getIntField(Constants.Options.MAXIMUM_POOL_SIZE);
-                if (maximumPoolSize != -1) {
-                    config.setMaximumPoolSize(maximumPoolSize);
+                // Statements on the physical connection are not tracked by the pool, so it cannot roll back work
+                // left uncommitted on them. Hence the cache is only used with auto-commit connections, and the
+                // actions which turn auto-commit off roll back themselves when they fail.
+                if (sqlDatasourceParams.options.getBooleanField(Constants.Options.AUTOCOMMIT)) {
+                    statementCacheSize = (int) sqlDatasourceParams.options
+                            .getIntField(Constants.Options.STATEMENT_CACHE_SIZE);
                 }
-                long connectionTimeout = sqlDatasourceParams.options.getIntField(Constants.Options.CONNECTION_TIMEOUT);
-                if (connectionTimeout != -1) {
-                    config.setConnectionTimeout(connectionTimeout);
+                fetchSize = (int) sqlDatasourceParams.options.getIntField(Constants.Options.FETCH_SIZE);
+                inMemoryTableSpillThreshold = sqlDatasourceParams.options
+                        .getIntField(Constants.Options.IN_MEMORY_TABLE_SPILL_THRESHOLD);
+                if (sqlDatasourceParams.options.getBooleanField(Constants.Options.COALESCE_SELECTS)) {
+                    selectCoalescer = new SelectCoalescer();
                 }
-                long idleTimeout = sqlDatasourceParams.options.getIntField(Constants.Options.IDLE_TIMEOUT);
-                if (idleTimeout != -1) {
-                    config.setIdleTimeout(idleTimeout);
+                rewriteBatchedInserts = sqlDatasourceParams.options
+                        .getBooleanField(Constants.Options.REWRITE_BATCHED_INSERTS);
+                int writeBufferSize = (int) sqlDatasourceParams.options
+                        .getIntField(Constants.Options.WRITE_BUFFER_SIZE);
+                if (writeBufferSize > 0) {
+                    writeBuffer = new WriteBuffer(this, writeBufferSize,
+                            sqlDatasourceParams.options.getIntField(Constants.Options.WRITE_BUFFER_DELAY),
+                            (int) sqlDatasourceParams.options.getIntField(Constants.Options.WRITE_BUFFER_CAPACITY),
+                            sqlDatasourceParams.options.getIntField(Constants.Options.WRITE_BUFFER_TIMEOUT),
+                            sqlDatasourceParams.options.getStringField(Constants.Options.WRITE_DURABILITY));
                 }
-                int minimumIdle = (int) sqlDatasourceParams.options.getIntField(Constants.Options.MINIMUM_IDLE);
-                if (minimumIdle != -1) {
-                    config.setMinimumIdle(minimumIdle);
+                int concurrencyLimit = (int) sqlDatasourceParams.options
+                        .getIntField(Constants.Options.CONCURRENCY_LIMIT);
+                if (concurrencyLimit > 0) {
+                    connectionLimiter = new ConnectionLimiter(concurrencyLimit,
+                            (int) sqlDatasourceParams.options.getIntField(Constants.Options.ADMISSION_QUEUE_SIZE),
+                            sqlDatasourceParams.options.getIntField(Constants.Options.ADMISSION_TIMEOUT),
+                            sqlDatasourceParams.options.getStringField(Constants.Options.ADMISSION_PRIORITY),
+                            sqlDatasourceParams.options.getBooleanField(Constants.Options.ADAPTIVE_CONCURRENCY_LIMIT),
+                            sqlDatasourceParams.options.getIntField(Constants.Options.LATENCY_THRESHOLD));
                 }
-                long maxLifetime = sqlDatasourceParams.options.getIntField(Constants.Options.MAX_LIFE_TIME);
-                if (maxLifetime != -1) {
-                    config.setMaxLifetime(maxLifetime);
+                Value[] warmUpStatementValues = sqlDatasourceParams.options
+                        .getArrayField(Constants.Options.WARM_UP_STATEMENTS);
+                if (warmUpStatementValues != null) {
+                    warmUpStatements = new String[warmUpStatementValues.length];
+                    for (int i = 0; i < warmUpStatementValues.length; i++) {
+                        warmUpStatements[i] = warmUpStatementValues[i].getStringValue();
+                    }
                 }
-                long validationTimeout = sqlDatasourceParams.options.getIntField(Constants.Options.VALIDATION_TIMEOUT);
-                if (validationTimeout != -1) {
-                    config.setValidationTimeout(validationTimeout);
+                long resultCacheMaxEntries = sqlDatasourceParams.options
+                        .getIntField(Constants.Options.RESULT_CACHE_MAX_ENTRIES);
+                if (resultCacheMaxEntries > 0) {
+                    resultCache = new ResultCache((int) resultCacheMaxEntries,
+                            sqlDatasourceParams.options.getIntField(Constants.Options.RESULT_CACHE_MAX_BYTES),
+                            sqlDatasourceParams.options.getIntField(Constants.Options.RESULT_CACHE_TTL));
                 }
-                boolean autoCommit = sqlDatasourceParams.options.getBooleanField(Constants.Options.AUTOCOMMIT);
-                config.setAutoCommit(autoCommit);
+            }
+            if (sqlDatasourceParams.replicaOptions != null) {
+                replicaRouter = buildReplicaRouter(sqlDatasourceParams);
+            }
+            if (sqlDatasourceParams.shardingOptions != null) {
+                buildShards(sqlDatasourceParams);
+            }
+            if (sqlDatasourceParams.options != null && sqlDatasourceParams.options
+                    .getIntField(Constants.Options.CIRCUIT_BREAKER_FAILURE_RATE) > 0) {
+                circuitBreakers = buildCircuitBreakers(sqlDatasourceParams.options);
+            }
+        } catch (Throwable t) {
+            // Closing a pool closes its metrics tracker as well, which unregisters its metrics and stops the
+            // controller of its size.
+            if (replicaRouter != null) {
+                replicaRouter.close();
+            }
+            for (HikariDataSource shardDataSource : shardDataSources) {
+                shardDataSource.close();
+            }
+            shardDataSources = new HikariDataSource[0];
+            if (hikariDataSource != null) {
+                hikariDataSource.close();
+            }
+            throw new BallerinaException("error in sql connector configuration:" + t.getMessage(), t);
+        }
+    }
 
-                if (dataSourceConfigMap != null) {
-                    setDataSourceProperties(dataSourceConfigMap, config);
+    /**
+     * Creates the connection pool of a database node, along with its metrics tracker and, if the pool size is
+     * adaptive, the controller which resizes it. The pools of the primary database, its read replicas and its shards
+     * are told apart in the metrics by their URL. A positive connection timeout replaces the one of the pool options.
+     */
+    private HikariDataSource createDataSource(SQLDatasourceParams sqlDatasourceParams, String jdbcUrl,
+            long connectionTimeout) {
+        HikariConfig config = createHikariConfig(sqlDatasourceParams, jdbcUrl);
+        if (connectionTimeout > 0) {
+            config.setConnectionTimeout(connectionTimeout);
+        }
+        Map<String, String> tags = PoolMetricsTrackerFactory.createTags(connectorId,
+                jdbcUrl.equals(sqlDatasourceParams.jdbcUrl) ? peerAddress : jdbcUrl);
+        PoolSizeController poolSizeController = null;
+        if (sqlDatasourceParams.options != null
+                && sqlDatasourceParams.options.getBooleanField(Constants.Options.ADAPTIVE_POOL_SIZE)) {
+            poolSizeController = new PoolSizeController(
+                    (int) sqlDatasourceParams.options.getIntField(Constants.Options.MINIMUM_POOL_SIZE),
+                    (int) sqlDatasourceParams.options.getIntField(Constants.Options.MINIMUM_IDLE),
+                    sqlDatasourceParams.options.getIntField(Constants.Options.POOL_RESIZE_INTERVAL),
+                    sqlDatasourceParams.options.getIntField(Constants.Options.ACQUIRE_LATENCY_THRESHOLD),
+                    (int) sqlDatasourceParams.options.getIntField(Constants.Options.SATURATION_THRESHOLD), tags);
+        }
+        config.setMetricsTrackerFactory(new PoolMetricsTrackerFactory(tags, poolSizeController));
+        HikariDataSource dataSource = new HikariDataSource(config);
+        if (poolSizeController != null) {
+            poolSizeController.start(dataSource);
+        }
+        return dataSource;
+    }
+
+    /**
+     * Creates the pool configuration of a database node. The primary database, its read replicas and its shards share
+     * the same configuration apart from the URL.
+     */
+    private HikariConfig createHikariConfig(SQLDatasourceParams sqlDatasourceParams, String jdbcUrl) {
+        HikariConfig config = new HikariConfig();
+        //Set username password
+        config.setUsername(sqlDatasourceParams.username);
+        config.setPassword(sqlDatasourceParams.password);
+        //Set optional properties
+        if (sqlDatasourceParams.options != null) {
+            boolean isXA = sqlDatasourceParams.options.getBooleanField(Constants.Options.IS_XA);
+            BMap<String, BRefType<?>> dataSourceConfigMap = populatePropertiesMap(sqlDatasourceParams.dbOptionsMap);
+
+            String dataSourceClassName = sqlDatasourceParams.options
+                    .getStringField(Constants.Options.DATASOURCE_CLASSNAME);
+            if (isXA && dataSourceClassName.isEmpty()) {
+                dataSourceClassName = getXADatasourceClassName(sqlDatasourceParams.dbType, jdbcUrl,
+                        sqlDatasourceParams.username, sqlDatasourceParams.password);
+            }
+            if (!dataSourceClassName.isEmpty()) {
+                config.setDataSourceClassName(dataSourceClassName);
+                dataSourceConfigMap = setDataSourcePropertiesMap(dataSourceConfigMap, jdbcUrl,
+                        sqlDatasourceParams.username, sqlDatasourceParams.password);
+                // A URL given in the DB options only applies to the primary database.
+                if (!jdbcUrl.equals(sqlDatasourceParams.jdbcUrl)) {
+                    dataSourceConfigMap.put(Constants.URL, new BString(jdbcUrl));
                 }
             } else {
-                config.setJdbcUrl(sqlDatasourceParams.jdbcUrl);
+                config.setJdbcUrl(jdbcUrl);
             }
-            hikariDataSource = new HikariDataSource(config);
-        } catch (Throwable t) {
-            throw new BallerinaException("error in sql connector configuration:" + t.getMessage());
+            String connectionInitSQL = sqlDatasourceParams.options
+                    .getStringField(Constants.Options.CONNECTION_INIT_SQL);
+            if (!connectionInitSQL.isEmpty()) {
+                config.setConnectionInitSql(connectionInitSQL);
+            }
+
+            int maximumPoolSize = (int) sqlDatasourceParams.options.getIntField(Constants.Options.MAXIMUM_POOL_SIZE);
+            if (maximumPoolSize != -1) {
+                config.setMaximumPoolSize(maximumPoolSize);
+            }
+            long connectionTimeout = sqlDatasourceParams.options.getIntField(Constants.Options.CONNECTION_TIMEOUT);
+            if (connectionTimeout != -1) {
+                config.setConnectionTimeout(connectionTimeout);
+            }
+            long idleTimeout = sqlDatasourceParams.options.getIntField(Constants.Options.IDLE_TIMEOUT);
+            if (idleTimeout != -1) {
+                config.setIdleTimeout(idleTimeout);
+            }
+            int minimumIdle = (int) sqlDatasourceParams.options.getIntField(Constants.Options.MINIMUM_IDLE);
+            if (minimumIdle != -1) {
+                config.setMinimumIdle(minimumIdle);
+            }
+            long maxLifetime = sqlDatasourceParams.options.getIntField(Constants.Options.MAX_LIFE_TIME);
+            if (maxLifetime != -1) {
+                config.setMaxLifetime(maxLifetime);
+            }
+            long validationTimeout = sqlDatasourceParams.options.getIntField(Constants.Options.VALIDATION_TIMEOUT);
+            if (validationTimeout != -1) {
+                config.setValidationTimeout(validationTimeout);
+            }
+            config.setAutoCommit(sqlDatasourceParams.options.getBooleanField(Constants.Options.AUTOCOMMIT));
+
+            if (dataSourceConfigMap != null) {
+                setDataSourceProperties(dataSourceConfigMap, config);
+            }
+        } else {
+            config.setJdbcUrl(jdbcUrl);
+        }
+        return config;
+    }
+
+    private ReplicaRouter buildReplicaRouter(SQLDatasourceParams sqlDatasourceParams) {
+        Value[] urls = sqlDatasourceParams.replicaOptions.getArrayField(Constants.ReplicaOptions.URLS);
+        if (urls == null || urls.length == 0) {
+            return null;
+        }
+        List<HikariDataSource> replicas = createDataSources(sqlDatasourceParams, urls,
+                sqlDatasourceParams.replicaOptions.getIntField(Constants.ReplicaOptions.CONNECTION_TIMEOUT));
+        return new ReplicaRouter(replicas,
+                sqlDatasourceParams.replicaOptions.getStringField(Constants.ReplicaOptions.LOAD_BALANCING),
+                sqlDatasourceParams.replicaOptions.getIntField(Constants.ReplicaOptions.RETRY_INTERVAL));
+    }
+
+    /**
+     * Creates a pool for each shard. Shards are placed on the hash ring by their URL, so the keys of a shard stay
+     * in place when the other shards are reordered, and only some of them move when shards are added or removed.
+     */
+    private void buildShards(SQLDatasourceParams sqlDatasourceParams) {
+        Value[] urls = sqlDatasourceParams.shardingOptions.getArrayField(Constants.ShardingOptions.URLS);
+        if (urls == null || urls.length == 0) {
+            return;
+        }
+        String[] shardNames = new String[urls.length];
+        for (int i = 0; i < urls.length; i++) {
+            shardNames[i] = urls[i].getStringValue();
+        }
+        ConsistentHashRing ring = new ConsistentHashRing(shardNames,
+                (int) sqlDatasourceParams.shardingOptions.getIntField(Constants.ShardingOptions.VIRTUAL_NODES));
+        shardDataSources = createDataSources(sqlDatasourceParams, urls, -1).toArray(new HikariDataSource[0]);
+        shardRing = ring;
+    }
+
+    /**
+     * Creates a circuit breaker for the database and each of its shards. Read replicas are skipped by the
+     * {@link ReplicaRouter} when they fail, so they do not have a breaker.
+     */
+    private CircuitBreaker[] buildCircuitBreakers(Struct options) {
+        CircuitBreaker[] breakers = new CircuitBreaker[shardDataSources.length + 1];
+        for (int i = 0; i < breakers.length; i++) {
+            breakers[i] = new CircuitBreaker((int) options.getIntField(Constants.Options.CIRCUIT_BREAKER_FAILURE_RATE),
+                    options.getIntField(Constants.Options.CIRCUIT_BREAKER_LATENCY_THRESHOLD),
+                    (int) options.getIntField(Constants.Options.CIRCUIT_BREAKER_MINIMUM_REQUESTS),
+                    options.getIntField(Constants.Options.CIRCUIT_BREAKER_ROLLING_WINDOW),
+                    options.getIntField(Constants.Options.CIRCUIT_BREAKER_RESET_TIMEOUT));
+        }
+        return breakers;
+    }
+
+    private List<HikariDataSource> createDataSources(SQLDatasourceParams sqlDatasourceParams, Value[] urls,
+            long connectionTimeout) {
+        List<HikariDataSource> dataSources = new ArrayList<>(urls.length);
+        try {
+            for (Value url : urls) {
+                dataSources.add(createDataSource(sqlDatasourceParams, url.getStringValue(), connectionTimeout));
+            }
+        } catch (RuntimeException e) {
+            for (HikariDataSource dataSource : dataSources) {
+                dataSource.close();
+            }
+            throw e;
         }
+        return dataSources;
     }
 
     private BMap<String, BRefType> populatePropertiesMap(Map<String, Value> dataSourceConfigMap) {
@@ -341,8 +1165,9 @@ public class SQLDatasource implements BValue {
         switch (dbType) {
         case Constants.DBTypes.MYSQL:
             int driverMajorVersion;
-            try (Connection conn = DriverManager.getConnection(url, userName, password)) {
-                driverMajorVersion = conn.getMetaData().getDriverMajorVersion();
+            // The driver reports its version without connecting to the database.
+            try {
+                driverMajorVersion = DriverManager.getDriver(url).getMajorVersion();
                 if (driverMajorVersion == 5) {
                     xaDataSource = Constants.XADataSources.MYSQL_5_XA_DATASOURCE;
                 } else if (driverMajorVersion > 5) {
@@ -429,6 +1254,26 @@ public class SQLDatasource implements BValue {
         }
     }
 
+    /**
+     * Creates the daemon threads which initialize datasources and run partitions of batch updates in the background,
+     * so that they do not keep the program from exiting.
+     */
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        DaemonThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     /**
      * This class encapsulates the parameters required for the initialization of {@code SQLDatasource} class.
      */
@@ -443,6 +1288,8 @@ public class SQLDatasource implements BValue {
          private String dbName;
          private String urlOptions;
          private Map dbOptionsMap;
+         private Struct replicaOptions;
+         private Struct shardingOptions;
 
         private SQLDatasourceParams(SQLDatasourceParamsBuilder builder) {
             this.options = builder.options;
@@ -455,6 +1302,113 @@ public class SQLDatasource implements BValue {
             this.dbName = builder.dbName;
             this.urlOptions = builder.urlOptions;
             this.dbOptionsMap = builder.dbOptionsMap;
+            this.replicaOptions = builder.replicaOptions;
+            this.shardingOptions = builder.shardingOptions;
+        }
+
+        /**
+         * Builds a key which is the same for all the parameters that create an identical datasource. The password is
+         * part of the key as a hash, so that endpoints with a wrong password never share the pool of a right one.
+         *
+         * @return The registry key
+         */
+        String getRegistryKey() {
+            StringBuilder key = new StringBuilder();
+            appendKeyPart(key, dbType);
+            appendKeyPart(key, jdbcUrl);
+            appendKeyPart(key, hostOrPath);
+            appendKeyPart(key, String.valueOf(port));
+            appendKeyPart(key, dbName);
+            appendKeyPart(key, urlOptions);
+            appendKeyPart(key, username);
+            appendKeyPart(key, hash(password));
+            if (options != null) {
+                for (String field : STRING_OPTIONS) {
+                    appendKeyPart(key, options.getStringField(field));
+                }
+                for (String field : BOOLEAN_OPTIONS) {
+                    appendKeyPart(key, String.valueOf(options.getBooleanField(field)));
+                }
+                for (String field : INT_OPTIONS) {
+                    appendKeyPart(key, String.valueOf(options.getIntField(field)));
+                }
+                appendStrings(key, options.getArrayField(Constants.Options.WARM_UP_STATEMENTS));
+            }
+            if (dbOptionsMap != null) {
+                Map<String, Value> sortedDbOptions = new TreeMap<>((Map<String, Value>) dbOptionsMap);
+                for (Map.Entry<String, Value> entry : sortedDbOptions.entrySet()) {
+                    appendKeyPart(key, entry.getKey());
+                    appendKeyPart(key, getKeyValue(entry.getValue()));
+                }
+            }
+            appendKeyPart(key, "replicas");
+            if (replicaOptions != null) {
+                appendStrings(key, replicaOptions.getArrayField(Constants.ReplicaOptions.URLS));
+                appendKeyPart(key, replicaOptions.getStringField(Constants.ReplicaOptions.LOAD_BALANCING));
+                appendKeyPart(key, String.valueOf(replicaOptions.getIntField(Constants.ReplicaOptions.RETRY_INTERVAL)));
+                appendKeyPart(key,
+                        String.valueOf(replicaOptions.getIntField(Constants.ReplicaOptions.CONNECTION_TIMEOUT)));
+            }
+            appendKeyPart(key, "shards");
+            if (shardingOptions != null) {
+                appendStrings(key, shardingOptions.getArrayField(Constants.ShardingOptions.URLS));
+                appendKeyPart(key,
+                        String.valueOf(shardingOptions.getIntField(Constants.ShardingOptions.VIRTUAL_NODES)));
+            }
+            return key.toString();
+        }
+
+        private static void appendStrings(StringBuilder key, Value[] values) {
+            if (values == null) {
+                appendKeyPart(key, null);
+                return;
+            }
+            appendKeyPart(key, String.valueOf(values.length));
+            for (Value value : values) {
+                appendKeyPart(key, value.getStringValue());
+            }
+        }
+
+        /**
+         * Appends a part to the key prefixed by its length, so that the boundaries of the parts are unambiguous.
+         */
+        private static void appendKeyPart(StringBuilder key, String part) {
+            if (part == null) {
+                key.append("-1:");
+                return;
+            }
+            key.append(part.length()).append(':').append(part);
+        }
+
+        private static String getKeyValue(Value value) {
+            switch (value.getType()) {
+            case INT:
+                return "int:" + value.getIntValue();
+            case FLOAT:
+                return "float:" + value.getFloatValue();
+            case BOOLEAN:
+                return "boolean:" + value.getBooleanValue();
+            case NULL:
+                return "()";
+            default:
+                return "string:" + value.getStringValue();
+            }
+        }
+
+        private static String hash(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+                StringBuilder hex = new StringBuilder(digest.length * 2);
+                for (byte b : digest) {
+                    hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                return hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new BallerinaException("error in hashing the password: " + e.getMessage(), e);
+            }
         }
     }
 
@@ -472,6 +1426,8 @@ public class SQLDatasource implements BValue {
         private String dbName;
         private String urlOptions;
         private Map<String, Value> dbOptionsMap;
+        private Struct replicaOptions;
+        private Struct shardingOptions;
 
         public SQLDatasourceParamsBuilder(String dbType) {
             this.dbType = dbType;
@@ -530,5 +1486,15 @@ public class SQLDatasource implements BValue {
             this.dbName = dbName;
             return this;
         }
+
+        public SQLDatasourceParamsBuilder withReplicaOptions(Struct replicaOptions) {
+            this.replicaOptions = replicaOptions;
+            return this;
+        }
+
+        public SQLDatasourceParamsBuilder withShardingOptions(Struct shardingOptions) {
+            this.shardingOptions = shardingOptions;
+            return this;
+        }
     }
 }
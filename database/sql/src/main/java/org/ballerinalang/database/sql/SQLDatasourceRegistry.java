@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Process wide registry of the datasources of SQL endpoints. Endpoints which are configured the same way share a
+ * datasource, and with it the connection pools, so that together they hold no more connections to a database than a
+ * single endpoint would. A shared datasource is closed when the last endpoint using it is closed.
+ *
+ * @since 0.982.1
+ */
+public class SQLDatasourceRegistry {
+
+    private static final Map<String, Entry> ENTRIES = new HashMap<>();
+    private static final Map<SQLDatasource, Entry> ENTRIES_BY_DATASOURCE = new IdentityHashMap<>();
+
+    private SQLDatasourceRegistry() {
+    }
+
+    /**
+     * Returns the datasource for the given parameters, creating it if no endpoint with the same configuration holds
+     * one. Each call must be matched by a call to {@link SQLDatasource#closeConnectionPool()}.
+     *
+     * @param sqlDatasourceParams The parameters of the datasource
+     * @return The shared datasource
+     */
+    public static SQLDatasource acquire(SQLDatasource.SQLDatasourceParams sqlDatasourceParams) {
+        String key = sqlDatasourceParams.getRegistryKey();
+        Entry entry;
+        synchronized (ENTRIES) {
+            entry = ENTRIES.computeIfAbsent(key, Entry::new);
+            entry.references++;
+        }
+        // Datasources are initialized outside the registry lock, so that endpoints of different databases are not
+        // held up by each other.
+        synchronized (entry) {
+            if (entry.datasource == null) {
+                try {
+                    SQLDatasource datasource = new SQLDatasource();
+                    datasource.init(sqlDatasourceParams);
+                    synchronized (ENTRIES) {
+                        entry.datasource = datasource;
+                        ENTRIES_BY_DATASOURCE.put(datasource, entry);
+                    }
+                } catch (RuntimeException e) {
+                    synchronized (ENTRIES) {
+                        if (--entry.references == 0) {
+                            ENTRIES.remove(key);
+                        }
+                    }
+                    throw e;
+                }
+            }
+            return entry.datasource;
+        }
+    }
+
+    /**
+     * Gives up a reference to a datasource.
+     *
+     * @param datasource The datasource
+     * @return {@code true} if the datasource is no longer used and must be closed, {@code false} if other endpoints
+     * still use it
+     */
+    static boolean release(SQLDatasource datasource) {
+        synchronized (ENTRIES) {
+            Entry entry = ENTRIES_BY_DATASOURCE.get(datasource);
+            if (entry == null) {
+                // The datasource was not created through the registry.
+                return true;
+            }
+            if (--entry.references > 0) {
+                return false;
+            }
+            ENTRIES.remove(entry.key);
+            ENTRIES_BY_DATASOURCE.remove(datasource);
+            return true;
+        }
+    }
+
+    /**
+     * A registered datasource along with the number of endpoints using it.
+     */
+    private static class Entry {
+        private final String key;
+        private SQLDatasource datasource;
+        private int references;
+
+        Entry(String key) {
+            this.key = key;
+        }
+    }
+}
@@ -863,6 +863,24 @@ public class SQLDatasourceUtils {
         cleanupResources(null, conn, isInTransaction);
     }
 
+    /**
+     * Rolls back the work left uncommitted on a connection which is not in auto-commit mode. The pool only rolls back
+     * work done through its own statements, while the statements of the statement cache are prepared on the physical
+     * connection, so the pool would otherwise commit their work as it restores auto-commit.
+     *
+     * @param conn SQL connection
+     */
+    public static void rollbackQuietly(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.rollback();
+        } catch (SQLException ignored) {
+            // The connection is given back to the pool, which discards it if it is broken.
+        }
+    }
+
     /**
      * This will close database connection, statement and result sets.
      *
@@ -1119,6 +1137,14 @@ public class SQLDatasourceUtils {
     }
 
     public static BMap<?, ?> getSQLConnectorError(Context context, Throwable throwable) {
+        if (throwable instanceof BatchUpdateFailedException) {
+            return getBatchUpdateError(context, (BatchUpdateFailedException) throwable);
+        }
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectionRejectedException) {
+                return getConnectionRejectedError(context, (ConnectionRejectedException) cause);
+            }
+        }
         PackageInfo sqlPackageInfo = context.getProgramFile().getPackageInfo(BLangConstants.BALLERINA_BUILTIN_PKG);
         StructureTypeInfo errorStructInfo = sqlPackageInfo.getStructInfo(Constants.SQL_CONNECTOR_ERROR);
         BMap<String, BValue> sqlConnectorError = new BMap<>(errorStructInfo.getType());
@@ -1130,6 +1156,26 @@ public class SQLDatasourceUtils {
         return sqlConnectorError;
     }
 
+    private static BMap<?, ?> getConnectionRejectedError(Context context, ConnectionRejectedException exception) {
+        PackageInfo sqlPackageInfo = context.getProgramFile().getPackageInfo(Constants.SQL_PACKAGE_PATH);
+        StructureTypeInfo errorStructInfo = sqlPackageInfo.getStructInfo(Constants.CONNECTION_REJECTED_ERROR);
+        BMap<String, BValue> connectionRejectedError = new BMap<>(errorStructInfo.getType());
+        connectionRejectedError.put(ERROR_MESSAGE_FIELD, new BString(exception.getMessage()));
+        connectionRejectedError.put(Constants.CONNECTION_REJECTED_ERROR_REASON_FIELD,
+                new BString(exception.getReason()));
+        return connectionRejectedError;
+    }
+
+    private static BMap<?, ?> getBatchUpdateError(Context context, BatchUpdateFailedException exception) {
+        PackageInfo sqlPackageInfo = context.getProgramFile().getPackageInfo(Constants.SQL_PACKAGE_PATH);
+        StructureTypeInfo errorStructInfo = sqlPackageInfo.getStructInfo(Constants.BATCH_UPDATE_ERROR);
+        BMap<String, BValue> batchUpdateError = new BMap<>(errorStructInfo.getType());
+        batchUpdateError.put(ERROR_MESSAGE_FIELD, new BString(exception.getMessage()));
+        batchUpdateError.put(Constants.BATCH_UPDATE_ERROR_UPDATE_COUNTS_FIELD,
+                new BIntArray(exception.getUpdateCounts()));
+        return batchUpdateError;
+    }
+
     public static void handleErrorOnTransaction(Context context) {
         LocalTransactionInfo localTransactionInfo = context.getLocalTransactionInfo();
         if (localTransactionInfo == null) {
@@ -1159,11 +1205,16 @@ public class SQLDatasourceUtils {
         String password = clientEndpointConfig.getStringField(Constants.EndpointConfig.PASSWORD);
         org.ballerinalang.connector.api.Struct options = clientEndpointConfig
                 .getStructField(Constants.EndpointConfig.POOL_OPTIONS);
+        org.ballerinalang.connector.api.Struct replicaOptions = clientEndpointConfig
+                .getStructField(Constants.EndpointConfig.REPLICA_OPTIONS);
+        org.ballerinalang.connector.api.Struct shardingOptions = clientEndpointConfig
+                .getStructField(Constants.EndpointConfig.SHARDING_OPTIONS);
 
         SQLDatasource.SQLDatasourceParamsBuilder builder = new SQLDatasource.SQLDatasourceParamsBuilder(dbType);
         SQLDatasource.SQLDatasourceParams sqlDatasourceParams = builder.withHostOrPath(host).withPort(port)
                 .withJdbcUrl("").withOptions(options).withUsername(username).withPassword(password).withDbName(name)
-                .withUrlOptions(urlOptions).build();
+                .withUrlOptions(urlOptions).withReplicaOptions(replicaOptions).withShardingOptions(shardingOptions)
+                .build();
         return createSQLDataSource(context, sqlDatasourceParams);
     }
 
@@ -1175,12 +1226,17 @@ public class SQLDatasourceUtils {
         Map<String, Value> dbOptions = clientEndpointConfig.getMapField(Constants.EndpointConfig.DB_OPTIONS);
         org.ballerinalang.connector.api.Struct options = clientEndpointConfig
                 .getStructField(Constants.EndpointConfig.POOL_OPTIONS);
+        org.ballerinalang.connector.api.Struct replicaOptions = clientEndpointConfig
+                .getStructField(Constants.EndpointConfig.REPLICA_OPTIONS);
+        org.ballerinalang.connector.api.Struct shardingOptions = clientEndpointConfig
+                .getStructField(Constants.EndpointConfig.SHARDING_OPTIONS);
         String dbType = url.split(":")[1].toUpperCase(Locale.getDefault());
 
         SQLDatasource.SQLDatasourceParamsBuilder builder = new SQLDatasource.SQLDatasourceParamsBuilder(dbType);
         SQLDatasource.SQLDatasourceParams sqlDatasourceParams = builder.withJdbcUrl("").withOptions(options)
                 .withOptions(options).withJdbcUrl(url).withHostOrPath("").withPort(0).withUsername(username)
-                .withPassword(password).withDbName("").withUrlOptions("").withDbOptionsMap(dbOptions).build();
+                .withPassword(password).withDbName("").withUrlOptions("").withDbOptionsMap(dbOptions)
+                .withReplicaOptions(replicaOptions).withShardingOptions(shardingOptions).build();
 
         return createSQLDataSource(context, sqlDatasourceParams);
     }
@@ -1208,11 +1264,16 @@ public class SQLDatasourceUtils {
         String password = clientEndpointConfig.getStringField(Constants.EndpointConfig.PASSWORD);
         org.ballerinalang.connector.api.Struct options = clientEndpointConfig
                 .getStructField(Constants.EndpointConfig.POOL_OPTIONS);
+        org.ballerinalang.connector.api.Struct replicaOptions = clientEndpointConfig
+                .getStructField(Constants.EndpointConfig.REPLICA_OPTIONS);
+        org.ballerinalang.connector.api.Struct shardingOptions = clientEndpointConfig
+                .getStructField(Constants.EndpointConfig.SHARDING_OPTIONS);
 
         SQLDatasource.SQLDatasourceParamsBuilder builder = new SQLDatasource.SQLDatasourceParamsBuilder(dbType);
         SQLDatasource.SQLDatasourceParams sqlDatasourceParams = builder.withOptions(options).withJdbcUrl("")
                 .withDbType(dbType).withHostOrPath(hostOrPath).withPort(port).withUsername(username)
-                .withPassword(password).withDbName(name).withUrlOptions(urlOptions).build();
+                .withPassword(password).withDbName(name).withUrlOptions(urlOptions)
+                .withReplicaOptions(replicaOptions).withShardingOptions(shardingOptions).build();
 
         return createSQLDataSource(context, sqlDatasourceParams);
     }
@@ -1243,8 +1304,7 @@ public class SQLDatasourceUtils {
 
     private static BMap<String, BValue> createSQLDataSource(Context context,
             SQLDatasource.SQLDatasourceParams sqlDatasourceParams) {
-        SQLDatasource datasource = new SQLDatasource();
-        datasource.init(sqlDatasourceParams);
+        SQLDatasource datasource = SQLDatasourceRegistry.acquire(sqlDatasourceParams);
         BMap<String, BValue> sqlClient = BLangConnectorSPIUtil
                 .createBStruct(context.getProgramFile(), Constants.SQL_PACKAGE_PATH, Constants.CALLER_ACTIONS);
         sqlClient.addNativeData(Constants.CALLER_ACTIONS, datasource);
@@ -1576,20 +1636,42 @@ public class SQLDatasourceUtils {
 
     public static Connection getDatabaseConnection(Context context, SQLDatasource datasource, boolean isSelectQuery)
             throws SQLException {
+        return getDatabaseConnection(context, datasource, isSelectQuery, -1);
+    }
+
+    /**
+     * Get the connection an action runs on. Within a transaction, the actions on the same database share a
+     * connection, and each shard of a sharded datasource takes part in the transaction separately.
+     *
+     * @param context       The context of the action
+     * @param datasource    The datasource of the endpoint
+     * @param isSelectQuery Whether the action is a select
+     * @param shardIndex    Index of the shard to connect to, or -1 for the database the datasource was created for
+     * @return The connection
+     * @throws SQLException If the connection cannot be prepared for the transaction
+     */
+    public static Connection getDatabaseConnection(Context context, SQLDatasource datasource, boolean isSelectQuery,
+            int shardIndex) throws SQLException {
         Connection conn;
         boolean isInTransaction = context.isInTransaction();
+        // Reads outside a transaction may be served by a replica. Reads within a transaction stay on the primary, as
+        // the replicas may lag behind it.
+        if (!isInTransaction && isSelectQuery && shardIndex < 0) {
+            return datasource.getReadConnection();
+        }
         if (!isInTransaction || isSelectQuery) {
-            conn = datasource.getSQLConnection();
+            // Only selects outside a transaction count as reads for the admission priority of the endpoint.
+            conn = datasource.getSQLConnection(shardIndex, isSelectQuery && !isInTransaction);
             return conn;
         } else {
             //This is when there is an infected transaction block. But this is not participated to the transaction
             //since the action call is outside of the transaction block.
             if (!context.getLocalTransactionInfo().hasTransactionBlock()) {
-                conn = datasource.getSQLConnection();
+                conn = datasource.getSQLConnection(shardIndex);
                 return conn;
             }
         }
-        String connectorId = datasource.getConnectorId();
+        String connectorId = datasource.getConnectorId(shardIndex);
         boolean isXAConnection = datasource.isXAConnection();
         LocalTransactionInfo localTransactionInfo = context.getLocalTransactionInfo();
         String globalTxId = localTransactionInfo.getGlobalTransactionId();
@@ -1597,13 +1679,14 @@ public class SQLDatasourceUtils {
         BallerinaTransactionContext txContext = localTransactionInfo.getTransactionContext(connectorId);
         if (txContext == null) {
             if (isXAConnection) {
-                XAConnection xaConn = datasource.getXADataSource().getXAConnection();
+                XAConnection xaConn = datasource.getXADataSource(shardIndex).getXAConnection();
                 XAResource xaResource = xaConn.getXAResource();
                 TransactionResourceManager.getInstance().beginXATransaction(globalTxId, currentTxBlockId, xaResource);
                 conn = xaConn.getConnection();
                 txContext = new SQLTransactionContext(conn, xaResource);
             } else {
-                conn = datasource.getSQLConnection();
+                conn = datasource.getSQLConnection(shardIndex);
+                ConnectionLimiter.excludeFromLatency(conn);
                 conn.setAutoCommit(false);
                 txContext = new SQLTransactionContext(conn);
             }
@@ -17,11 +17,14 @@
 */
 package org.ballerinalang.database.sql;
 
+import org.ballerinalang.database.table.ResultCache;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.transactions.BallerinaTransactionContext;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Set;
 import javax.transaction.xa.XAResource;
 
 /**
@@ -32,6 +35,9 @@ import javax.transaction.xa.XAResource;
 public class SQLTransactionContext implements BallerinaTransactionContext {
     private Connection conn;
     private XAResource xaResource;
+    private ResultCache resultCache;
+    private Set<String> writtenTables;
+    private boolean allTablesWritten;
 
     public SQLTransactionContext(Connection conn, XAResource resource) {
         this.conn = conn;
@@ -46,6 +52,26 @@ public class SQLTransactionContext implements BallerinaTransactionContext {
         return this.conn;
     }
 
+    /**
+     * Records tables written in this transaction. Selects do not run on the transaction connection, so results cached
+     * while the transaction is in progress do not see its writes. Hence the cached results reading these tables are
+     * invalidated again when the transaction ends.
+     *
+     * @param resultCache The result cache of the datasource
+     * @param tables      Names of the written tables, or null if any table could have been written
+     */
+    public void addWrittenTables(ResultCache resultCache, Set<String> tables) {
+        this.resultCache = resultCache;
+        if (tables == null) {
+            allTablesWritten = true;
+        } else if (!allTablesWritten) {
+            if (writtenTables == null) {
+                writtenTables = new HashSet<>();
+            }
+            writtenTables.addAll(tables);
+        }
+    }
+
     @Override
     public void commit() {
         try {
@@ -68,6 +94,9 @@ public class SQLTransactionContext implements BallerinaTransactionContext {
 
     @Override
     public void close() {
+        if (resultCache != null) {
+            resultCache.invalidate(allTablesWritten ? null : writtenTables);
+        }
         try {
             if (!conn.isClosed()) {
                 conn.close();
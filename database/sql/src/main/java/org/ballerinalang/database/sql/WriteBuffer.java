@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql;
+
+import org.ballerinalang.database.sql.statement.SQLTemplate;
+import org.ballerinalang.database.table.ResultCache;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the updates of an endpoint made outside a transaction and writes the updates of the same statement as a
+ * single batch in a single transaction, once there are enough of them or the oldest has waited long enough. Many
+ * small updates then take one connection and one commit instead of one each.
+ * <p>
+ * With {@link Constants.WriteDurability#COMMITTED} durability a caller waits until its update is committed and gets
+ * its own update count. With {@link Constants.WriteDurability#BUFFERED} durability a caller returns as soon as its
+ * update is buffered, and the first failure to write an update is returned to the next caller buffering an update of
+ * the same statement, whose update is then not buffered. The updates of each statement are written as a separate batch, so updates of
+ * different statements are not written in the order they were buffered. Callers wait for room when the buffer is
+ * full, and are rejected once they have waited too long.
+ *
+ * @since 0.982.1
+ */
+public class WriteBuffer {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ballerina-sql-write-buffer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Batches are written on threads of their own rather than on the scheduler or the thread of the caller, so that a
+    // slow write delays neither the other timers nor the caller. The queue holds at most one batch per buffered
+    // update, so it is bounded by the capacity of the buffers.
+    private static final int WRITER_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final ExecutorService WRITER = createWriter();
+    // Failures of statements which are not buffered again are dropped once there are more than this many.
+    private static final int MAX_DEFERRED_ERRORS = 100;
+
+    private final SQLDatasource datasource;
+    private final int batchSize;
+    private final long delayMillis;
+    private final long timeoutMillis;
+    private final boolean committed;
+    private final int capacityLimit;
+    private final Semaphore capacity;
+    private final Map<GroupKey, Group> groups = new HashMap<>();
+    private final Map<GroupKey, Throwable> deferredErrors = new LinkedHashMap<>();
+    private boolean closed;
+
+    /**
+     * Creates a write buffer.
+     *
+     * @param datasource    Datasource the updates are written to
+     * @param batchSize     Number of updates of a statement written at once
+     * @param delayMillis   Maximum time in milliseconds an update is buffered before it is written
+     * @param capacity      Maximum number of updates buffered or being written
+     * @param timeoutMillis Maximum time in milliseconds a caller waits for room in a full buffer
+     * @param durability    {@link Constants.WriteDurability#COMMITTED} or {@link Constants.WriteDurability#BUFFERED}
+     */
+    public WriteBuffer(SQLDatasource datasource, int batchSize, long delayMillis, int capacity, long timeoutMillis,
+            String durability) {
+        this.datasource = datasource;
+        this.batchSize = batchSize;
+        this.delayMillis = Math.max(delayMillis, 0);
+        this.timeoutMillis = Math.max(timeoutMillis, 0);
+        this.capacityLimit = Math.max(capacity, batchSize);
+        this.capacity = new Semaphore(capacityLimit);
+        this.committed = !Constants.WriteDurability.BUFFERED.equals(durability);
+    }
+
+    /**
+     * Check whether the callers wait for their updates to be committed.
+     *
+     * @return true if the durability is {@link Constants.WriteDurability#COMMITTED}.
+     */
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * Sets the parameters of a buffered update on the statement it is written with.
+     */
+    public interface ParameterSetter {
+        void setParameters(Connection conn, PreparedStatement stmt) throws SQLException;
+    }
+
+    /**
+     * Buffers an update.
+     *
+     * @param query      The processed SQL statement
+     * @param shardIndex Index of the shard the update is written to, or -1 for the database of the datasource
+     * @param setter     Sets the parameters of the update
+     * @return The update count, or {@link Statement#SUCCESS_NO_INFO} if the update is not waited for
+     * @throws ConnectionRejectedException If the buffer stays full for too long
+     * @throws BallerinaException          If an earlier update of the same statement which was not waited for
+     *                                     failed, in which case the update is not buffered
+     */
+    public int write(String query, int shardIndex, ParameterSetter setter) {
+        acquire();
+        PendingUpdate update = new PendingUpdate(setter);
+        GroupKey key = new GroupKey(query, shardIndex);
+        List<PendingUpdate> updates = null;
+        synchronized (this) {
+            if (closed) {
+                capacity.release();
+                throw new BallerinaException("execute update failed: the endpoint is closed");
+            }
+            Throwable error = deferredErrors.remove(key);
+            if (error != null) {
+                capacity.release();
+                throw new BallerinaException("execute update failed: a buffered update was not written: "
+                        + error.getMessage(), error);
+            }
+            Group group = groups.computeIfAbsent(key, groupKey -> new Group());
+            group.updates.add(update);
+            if (group.updates.size() >= batchSize) {
+                updates = group.take();
+                groups.remove(key);
+            } else if (group.updates.size() == 1) {
+                group.timer = SCHEDULER.schedule(() -> flush(key), delayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (updates != null) {
+            List<PendingUpdate> batch = updates;
+            WRITER.execute(() -> write(key, batch));
+        }
+        if (!committed) {
+            return Statement.SUCCESS_NO_INFO;
+        }
+        try {
+            return update.result.get();
+        } catch (ExecutionException e) {
+            throw new BallerinaException("execute update failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BallerinaException("execute update failed: interrupted while waiting for the update to be "
+                    + "written", e);
+        }
+    }
+
+    /**
+     * Writes all the buffered updates and rejects further updates. Returns once the updates being written are
+     * written as well, or after the buffer timeout.
+     */
+    public void close() {
+        List<GroupKey> keys;
+        List<List<PendingUpdate>> batches = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            keys = new ArrayList<>(groups.keySet());
+            for (GroupKey key : keys) {
+                batches.add(groups.get(key).take());
+            }
+            groups.clear();
+            deferredErrors.clear();
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            if (!batches.get(i).isEmpty()) {
+                write(keys.get(i), batches.get(i));
+            }
+        }
+        try {
+            capacity.tryAcquire(capacityLimit, timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!capacity.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ConnectionRejectedException(ConnectionRejectedException.QUEUE_FULL,
+                        "write buffer is full, the update was not buffered within " + timeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BallerinaException("execute update failed: interrupted while waiting for room in the write "
+                    + "buffer", e);
+        }
+    }
+
+    private void flush(GroupKey key) {
+        List<PendingUpdate> updates;
+        synchronized (this) {
+            Group group = groups.get(key);
+            if (group == null || group.updates.isEmpty()) {
+                return;
+            }
+            updates = group.take();
+            groups.remove(key);
+        }
+        WRITER.execute(() -> write(key, updates));
+    }
+
+    /**
+     * Writes updates of a statement as a single batch in a single transaction. If the batch fails, the updates are
+     * written one by one, so that only the failing updates fail.
+     */
+    private void write(GroupKey key, List<PendingUpdate> updates) {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        try {
+            conn = datasource.getSQLConnection(key.shardIndex, false);
+            stmt = datasource.prepareStatement(conn, key.query);
+            conn.setAutoCommit(false);
+            List<PendingUpdate> batch = new ArrayList<>(updates.size());
+            for (PendingUpdate update : updates) {
+                try {
+                    update.setter.setParameters(conn, stmt);
+                    stmt.addBatch();
+                    batch.add(update);
+                } catch (SQLException | RuntimeException e) {
+                    stmt.clearParameters();
+                    fail(key, update, e);
+                }
+            }
+            try {
+                int[] counts = stmt.executeBatch();
+                conn.commit();
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).result.complete(i < counts.length ? counts[i] : Statement.SUCCESS_NO_INFO);
+                }
+            } catch (BatchUpdateException e) {
+                conn.rollback();
+                stmt.clearBatch();
+                writeEach(key, conn, stmt, batch);
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (e instanceof SQLException) {
+                datasource.recordFailure(key.shardIndex, conn, (SQLException) e);
+            }
+            SQLDatasourceUtils.rollbackQuietly(conn);
+            for (PendingUpdate update : updates) {
+                fail(key, update, e);
+            }
+        } finally {
+            datasource.releaseStatement(stmt);
+            SQLDatasourceUtils.cleanupResources(conn, false);
+            capacity.release(updates.size());
+            ResultCache resultCache = datasource.getResultCache();
+            if (resultCache != null) {
+                resultCache.invalidate(SQLTemplate.compile(key.query).getTableReferences().getWrittenTables());
+            }
+        }
+    }
+
+    private void writeEach(GroupKey key, Connection conn, PreparedStatement stmt, List<PendingUpdate> updates)
+            throws SQLException {
+        for (PendingUpdate update : updates) {
+            try {
+                update.setter.setParameters(conn, stmt);
+                int count = stmt.executeUpdate();
+                conn.commit();
+                update.result.complete(count);
+            } catch (SQLException e) {
+                conn.rollback();
+                fail(key, update, e);
+            }
+        }
+    }
+
+    private void fail(GroupKey key, PendingUpdate update, Throwable error) {
+        update.result.completeExceptionally(error);
+        if (!committed) {
+            synchronized (this) {
+                if (!closed && !deferredErrors.containsKey(key)) {
+                    if (deferredErrors.size() >= MAX_DEFERRED_ERRORS) {
+                        Iterator<GroupKey> eldest = deferredErrors.keySet().iterator();
+                        eldest.next();
+                        eldest.remove();
+                    }
+                    deferredErrors.put(key, error);
+                }
+            }
+        }
+    }
+
+    private static ExecutorService createWriter() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor writer = new ThreadPoolExecutor(WRITER_THREADS, WRITER_THREADS, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "ballerina-sql-writer-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        writer.allowCoreThreadTimeOut(true);
+        return writer;
+    }
+
+    /**
+     * An update waiting to be written.
+     */
+    private static class PendingUpdate {
+        private final ParameterSetter setter;
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        PendingUpdate(ParameterSetter setter) {
+            this.setter = setter;
+        }
+    }
+
+    /**
+     * The updates of a statement waiting to be written.
+     */
+    private static class Group {
+        private List<PendingUpdate> updates = new ArrayList<>();
+        private ScheduledFuture<?> timer;
+
+        List<PendingUpdate> take() {
+            List<PendingUpdate> taken = updates;
+            updates = new ArrayList<>();
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            return taken;
+        }
+    }
+
+    /**
+     * Identifies the updates written together.
+     */
+    private static class GroupKey {
+        private final String query;
+        private final int shardIndex;
+
+        GroupKey(String query, int shardIndex) {
+            this.query = query;
+            this.shardIndex = shardIndex;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey that = (GroupKey) o;
+            return shardIndex == that.shardIndex && query.equals(that.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, shardIndex);
+        }
+    }
+}
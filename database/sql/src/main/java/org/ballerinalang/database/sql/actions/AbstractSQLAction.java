@@ -19,11 +19,28 @@ package org.ballerinalang.database.sql.actions;
 
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.bvm.BlockingNativeCallableUnit;
+import org.ballerinalang.database.sql.BatchUpdateFailedException;
+import org.ballerinalang.database.sql.BulkLoader;
+import org.ballerinalang.database.sql.CommitOnCloseConnection;
+import org.ballerinalang.database.sql.ConnectionLimiter;
 import org.ballerinalang.database.sql.Constants;
 import org.ballerinalang.database.sql.SQLDataIterator;
 import org.ballerinalang.database.sql.SQLDatasource;
 import org.ballerinalang.database.sql.SQLDatasourceUtils;
+import org.ballerinalang.database.sql.SQLTransactionContext;
+import org.ballerinalang.database.sql.WriteBuffer;
+import org.ballerinalang.database.sql.statement.BindingPlan;
+import org.ballerinalang.database.sql.statement.MultiRowInsert;
+import org.ballerinalang.database.sql.statement.ParameterBinder;
+import org.ballerinalang.database.sql.statement.ParameterBinders;
+import org.ballerinalang.database.sql.statement.SQLTemplate;
+import org.ballerinalang.database.table.AbstractInMemoryResultSet;
 import org.ballerinalang.database.table.BCursorTable;
+import org.ballerinalang.database.table.ColumnarResultSet;
+import org.ballerinalang.database.table.ConcatenatedResultSet;
+import org.ballerinalang.database.table.ResultCache;
+import org.ballerinalang.database.table.SelectCoalescer;
+import org.ballerinalang.database.table.SpilledResultSet;
 import org.ballerinalang.model.ColumnDefinition;
 import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BStructureType;
@@ -49,12 +66,11 @@ import org.ballerinalang.model.values.BTypeDescValue;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.stdlib.time.util.TimeUtils;
 import org.ballerinalang.util.TableResourceManager;
-import org.ballerinalang.util.codegen.PackageInfo;
-import org.ballerinalang.util.codegen.StructureTypeInfo;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.observability.ObservabilityConstants;
 import org.ballerinalang.util.observability.ObservabilityUtils;
 import org.ballerinalang.util.observability.ObserverContext;
+import org.ballerinalang.util.transactions.BallerinaTransactionContext;
 
 import java.math.BigDecimal;
 import java.sql.Array;
@@ -76,17 +92,24 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TimeZone;
-import javax.sql.rowset.CachedRowSet;
-import javax.sql.rowset.RowSetProvider;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import static org.ballerinalang.database.sql.Constants.PARAMETER_DIRECTION_FIELD;
 import static org.ballerinalang.database.sql.Constants.PARAMETER_RECORD_TYPE_FIELD;
+import static org.ballerinalang.database.sql.Constants.PARAMETER_SHARD_KEY_FIELD;
 import static org.ballerinalang.database.sql.Constants.PARAMETER_SQL_TYPE_FIELD;
 import static org.ballerinalang.database.sql.Constants.PARAMETER_VALUE_FIELD;
+import static org.ballerinalang.database.sql.SQLDatasourceUtils.POSTGRES_DATABASE_NAME;
 import static org.ballerinalang.util.observability.ObservabilityConstants.TAG_DB_TYPE_SQL;
 import static org.ballerinalang.util.observability.ObservabilityConstants.TAG_KEY_DB_INSTANCE;
 import static org.ballerinalang.util.observability.ObservabilityConstants.TAG_KEY_DB_STATEMENT;
@@ -100,6 +123,9 @@ import static org.ballerinalang.util.observability.ObservabilityConstants.TAG_KE
  */
 public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
     
+    private static final int DEFAULT_POSTGRES_STREAMING_FETCH_SIZE = 1000;
+    // Number of rows sent to the database at a time by a bulk load without a bulk load path.
+    private static final int BULK_LOAD_BATCH_SIZE = 1000;
     private Calendar utcCalendar;
     private static final BTupleType executeUpdateWithKeysTupleType = new BTupleType(
             Arrays.asList(BTypes.typeInt, new BArrayType(BTypes.typeString)));
@@ -109,32 +135,103 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
     }
 
     protected void executeQuery(Context context, SQLDatasource datasource, String query, BRefValueArray parameters,
-            BStructureType structType, boolean loadSQLTableToMemory) {
+            BStructureType structType, boolean loadSQLTableToMemory, int fetchSize) {
         Connection conn = null;
         PreparedStatement stmt = null;
         ResultSet rs = null;
+        // The connection given to the table, which may commit a streamed select before it is released.
+        Connection streamingConn = null;
         boolean isInTransaction = context.isInTransaction();
+        int shardIndex = -1;
+        SelectCoalescer selectCoalescer = null;
+        ResultCache.Key coalescingKey = null;
         try {
-            BRefValueArray generatedParams = constructParameters(context, parameters);
-            conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, true);
-            String processedQuery = createProcessedQueryString(query, generatedParams);
-            stmt = getPreparedStatement(conn, datasource, processedQuery, loadSQLTableToMemory);
-            createProcessedStatement(conn, stmt, generatedParams);
-            rs = stmt.executeQuery();
-            TableResourceManager rm = new TableResourceManager(conn, stmt);
+            SQLTemplate template = SQLTemplate.compile(query);
+            String processedQuery = createProcessedQueryString(template, parameters);
+            ResultCache resultCache = loadSQLTableToMemory ? datasource.getResultCache() : null;
+            ResultCache.Key cacheKey = null;
+            long cacheVersion = 0;
+            if (resultCache != null) {
+                cacheKey = createResultCacheKey(template, processedQuery, parameters);
+                ResultCache.CachedResult cachedResult = cacheKey != null ? resultCache.get(cacheKey) : null;
+                if (cachedResult != null) {
+                    context.setReturnValues(constructTable(null, context, cachedResult.newResultSet(), structType,
+                            true, cachedResult.getColumnDefinitions(), datasource.getDatabaseProductName()));
+                    return;
+                }
+                cacheVersion = resultCache.getVersion();
+            }
+            // Selects within a transaction do not run on the connection of the transaction, so they see the same rows
+            // as the selects outside it and can be shared with them.
+            if (loadSQLTableToMemory && datasource.getSelectCoalescer() != null) {
+                coalescingKey = cacheKey != null ? cacheKey
+                        : createResultCacheKey(template, processedQuery, parameters);
+                if (coalescingKey != null) {
+                    CompletableFuture<SelectCoalescer.SharedResult> execution = datasource.getSelectCoalescer()
+                            .join(coalescingKey);
+                    if (execution != null) {
+                        SelectCoalescer.SharedResult sharedResult = SelectCoalescer.await(execution);
+                        context.setReturnValues(constructTable(null, context, sharedResult.newResultSet(),
+                                structType, true, sharedResult.getColumnDefinitions(),
+                                datasource.getDatabaseProductName()));
+                        return;
+                    }
+                    selectCoalescer = datasource.getSelectCoalescer();
+                }
+            }
+            shardIndex = getShardIndex(datasource, parameters);
+            if (shardIndex < 0 && datasource.getShardCount() > 0) {
+                rs = executeQueryOnAllShards(datasource, template, processedQuery, parameters, fetchSize);
+            } else {
+                conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, true, shardIndex);
+                if (!loadSQLTableToMemory) {
+                    streamingConn = prepareStreamingConnection(conn, datasource);
+                }
+                stmt = getPreparedStatement(conn, datasource, processedQuery, loadSQLTableToMemory, fetchSize);
+                createProcessedStatement(conn, stmt, template, parameters);
+                rs = stmt.executeQuery();
+            }
             List<ColumnDefinition> columnDefinitions = SQLDatasourceUtils.getColumnDefinitions(rs);
+            TableResourceManager rm = null;
             if (loadSQLTableToMemory) {
-                CachedRowSet cachedRowSet = RowSetProvider.newFactory().createCachedRowSet();
-                cachedRowSet.populate(rs);
-                rs = cachedRowSet;
-                rm.gracefullyReleaseResources(isInTransaction);
-            } else {
+                long spillThreshold = datasource.getInMemoryTableSpillThreshold();
+                AbstractInMemoryResultSet inMemoryResultSet = spillThreshold > 0
+                        ? SpilledResultSet.load(rs, spillThreshold) : ColumnarResultSet.load(rs);
+                // The data is in memory now, so the statement can go back to the statement cache and the connection
+                // to the pool right away.
+                releaseResources(datasource, rs, stmt, conn, isInTransaction);
+                stmt = null;
+                conn = null;
+                // A replica may not have caught up with the writes which invalidated the cache, so the results it
+                // serves would put stale rows back in the cache until they expire.
+                boolean readFromReplica = !isInTransaction && shardIndex < 0 && datasource.getShardCount() == 0
+                        && datasource.hasReadReplicas();
+                if (cacheKey != null && !readFromReplica) {
+                    resultCache.put(cacheKey, cacheVersion, inMemoryResultSet, columnDefinitions);
+                }
+                if (selectCoalescer != null) {
+                    selectCoalescer.complete(coalescingKey, inMemoryResultSet, columnDefinitions);
+                }
+                rs = cacheKey != null || selectCoalescer != null ? inMemoryResultSet.copy() : inMemoryResultSet;
+            } else if (conn != null) {
+                rm = new TableResourceManager(streamingConn, stmt);
                 rm.addResultSet(rs);
             }
             context.setReturnValues(constructTable(rm, context, rs, structType, loadSQLTableToMemory, columnDefinitions,
                     datasource.getDatabaseProductName()));
         } catch (Throwable e) {
-            SQLDatasourceUtils.cleanupResources(rs, stmt, conn, isInTransaction);
+            // The errors of a select on all the shards are not traced back to a shard.
+            if (e instanceof SQLException && (shardIndex >= 0 || datasource.getShardCount() == 0)) {
+                datasource.recordFailure(shardIndex, conn, (SQLException) e);
+            }
+            // A streamed select taken out of auto-commit mode is not committed if it fails.
+            if (streamingConn != null && !isInTransaction) {
+                SQLDatasourceUtils.rollbackQuietly(conn);
+            }
+            releaseResources(datasource, rs, stmt, conn, isInTransaction);
+            if (selectCoalescer != null) {
+                selectCoalescer.fail(coalescingKey, e);
+            }
             throw new BallerinaException("execute query failed: " + e.getMessage(), e);
         }
     }
@@ -143,18 +240,28 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         Connection conn = null;
         PreparedStatement stmt = null;
         boolean isInTransaction = context.isInTransaction();
+        if (!isInTransaction && datasource.getWriteBuffer() != null
+                && SQLTemplate.compile(query).getTableReferences().isDataManipulation()) {
+            executeBufferedUpdate(context, datasource, datasource.getWriteBuffer(), query, parameters);
+            return;
+        }
+        int shardIndex = -1;
         try {
-            BRefValueArray generatedParams = constructParameters(context, parameters);
-            conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, false);
-            String processedQuery = createProcessedQueryString(query, generatedParams);
-            stmt = conn.prepareStatement(processedQuery);
-            createProcessedStatement(conn, stmt, generatedParams, datasource.getDatabaseProductName());
+            shardIndex = getShardIndex(datasource, parameters);
+            conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, false, shardIndex);
+            SQLTemplate template = SQLTemplate.compile(query);
+            String processedQuery = createProcessedQueryString(template, parameters);
+            stmt = datasource.prepareStatement(conn, processedQuery);
+            createProcessedStatement(conn, stmt, template, parameters, datasource.getDatabaseProductName());
             int count = stmt.executeUpdate();
             context.setReturnValues(new BInteger(count));
         } catch (SQLException e) {
+            datasource.recordFailure(shardIndex, conn, e);
             throw new BallerinaException("execute update failed: " + e.getMessage(), e);
         } finally {
-            SQLDatasourceUtils.cleanupResources(stmt, conn, isInTransaction);
+            releaseResources(datasource, null, stmt, conn, isInTransaction);
+            invalidateResultCache(context, datasource, shardIndex, SQLTemplate.compile(query).getTableReferences()
+                    .getWrittenTables());
         }
     }
 
@@ -164,10 +271,12 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         PreparedStatement stmt = null;
         ResultSet rs = null;
         boolean isInTransaction = context.isInTransaction();
+        int shardIndex = -1;
         try {
-            BRefValueArray generatedParams = constructParameters(context, parameters);
-            conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, false);
-            String processedQuery = createProcessedQueryString(query, generatedParams);
+            shardIndex = getShardIndex(datasource, parameters);
+            conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, false, shardIndex);
+            SQLTemplate template = SQLTemplate.compile(query);
+            String processedQuery = createProcessedQueryString(template, parameters);
             int keyColumnCount = 0;
             if (keyColumns != null) {
                 keyColumnCount = (int) keyColumns.size();
@@ -181,7 +290,7 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
             } else {
                 stmt = conn.prepareStatement(processedQuery, Statement.RETURN_GENERATED_KEYS);
             }
-            createProcessedStatement(conn, stmt, generatedParams);
+            createProcessedStatement(conn, stmt, template, parameters);
             int count = stmt.executeUpdate();
             BInteger updatedCount = new BInteger(count);
             rs = stmt.getGeneratedKeys();
@@ -198,9 +307,12 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
             tuple.add(1, generatedKeys);
             context.setReturnValues(tuple);
         } catch (SQLException e) {
+            datasource.recordFailure(shardIndex, conn, e);
             throw new BallerinaException("execute update with generated keys failed: " + e.getMessage(), e);
         } finally {
             SQLDatasourceUtils.cleanupResources(rs, stmt, conn, isInTransaction);
+            invalidateResultCache(context, datasource, shardIndex, SQLTemplate.compile(query).getTableReferences()
+                    .getWrittenTables());
         }
     }
 
@@ -210,13 +322,17 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         CallableStatement stmt = null;
         List<ResultSet> resultSets = null;
         boolean isInTransaction = context.isInTransaction();
+        int shardIndex = -1;
         try {
-            BRefValueArray generatedParams = constructParameters(context, parameters);
-            conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, false);
-            stmt = getPreparedCall(conn, datasource, query, generatedParams);
-            createProcessedStatement(conn, stmt, generatedParams, datasource.getDatabaseProductName());
+            shardIndex = getShardIndex(datasource, parameters);
+            conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, false, shardIndex);
+            stmt = getPreparedCall(conn, datasource, query, parameters);
+            createProcessedStatement(conn, stmt, SQLTemplate.compile(query), parameters,
+                    datasource.getDatabaseProductName());
             resultSets = executeStoredProc(stmt);
-            boolean refCursorOutParamsPresent = generatedParams != null && isRefCursorOutParamPresent(generatedParams);
+            // A procedure could write any table.
+            invalidateResultCache(context, datasource, shardIndex, null);
+            boolean refCursorOutParamsPresent = parameters != null && isRefCursorOutParamPresent(parameters);
             boolean resultSetsReturned = !resultSets.isEmpty();
             TableResourceManager rm = null;
             boolean requiredToReturnTables = structTypes != null && structTypes.size() > 0;
@@ -238,7 +354,11 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
                 context.setReturnValues();
             }
         } catch (Throwable e) {
+            if (e instanceof SQLException) {
+                datasource.recordFailure(shardIndex, conn, (SQLException) e);
+            }
             SQLDatasourceUtils.cleanupResources(resultSets, stmt, conn, isInTransaction);
+            invalidateResultCache(context, datasource, shardIndex, null);
             throw new BallerinaException("execute stored procedure failed: " + e.getMessage(), e);
         }
     }
@@ -258,59 +378,515 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         return bTables;
     }
 
+    /**
+     * Runs an update through the write buffer of the datasource, which writes it in a batch with other updates of the
+     * same statement. The buffer binds the parameters once the batch is written, so an update which is not waited for
+     * binds a copy of its parameters, which the caller may change once the update returns.
+     */
+    private void executeBufferedUpdate(Context context, SQLDatasource datasource, WriteBuffer writeBuffer,
+            String query, BRefValueArray parameters) {
+        int shardIndex = getShardIndex(datasource, parameters);
+        SQLTemplate template = SQLTemplate.compile(query);
+        String processedQuery = createProcessedQueryString(template, parameters);
+        String databaseProductName = datasource.getDatabaseProductName();
+        BRefValueArray boundParameters = writeBuffer.isCommitted() || parameters == null ? parameters
+                : (BRefValueArray) parameters.copy();
+        int count = writeBuffer.write(processedQuery, shardIndex,
+                (conn, stmt) -> createProcessedStatement(conn, stmt, template, boundParameters, databaseProductName));
+        context.setReturnValues(new BInteger(count));
+    }
+
+    /**
+     * Runs a batch update, sending the parameter rows to the database in batches of the given size.
+     *
+     * @param batchSize      Number of rows sent to the database at a time, or 0 to send all the rows at once
+     * @param commitPerBatch Whether each batch is committed on its own, rather than all the rows at once. Ignored
+     *                       within a transaction.
+     * @param parallelism    Number of partitions the rows are split into, each run on its own connection at the same
+     *                       time as the others. Ignored within a transaction.
+     */
     protected void executeBatchUpdate(Context context, SQLDatasource datasource, String query,
-            BRefValueArray parameters) throws SQLException {
-        Connection conn = null;
+            BRefValueArray parameters, int batchSize, boolean commitPerBatch, int parallelism) throws SQLException {
+        int paramArrayCount = parameters != null ? (int) parameters.size() : 0;
+        //After a command in a batch update fails to execute properly and a BatchUpdateException is thrown, the driver
+        // may or may not continue to process the remaining commands in the batch. If the driver does not continue
+        // processing after a failure, the array returned by the method will have -3 (EXECUTE_FAILED) for those updates.
+        long[] returnedCount = new long[paramArrayCount];
+        Arrays.fill(returnedCount, Statement.EXECUTE_FAILED);
+        BIntArray countArray = new BIntArray(returnedCount);
+        // On a sharded datasource the rows are split into a batch per shard.
+        Map<Integer, List<Integer>> rowsByShard = groupRowsByShard(datasource, parameters);
+        try {
+            for (Map.Entry<Integer, List<Integer>> shardRows : rowsByShard.entrySet()) {
+                // Each partition holds a connection of the pool of its database while it runs.
+                List<List<Integer>> partitions = partitionRows(shardRows.getValue(), paramArrayCount,
+                        context.isInTransaction() ? 1
+                                : Math.min(parallelism, datasource.getMaximumPoolSize(shardRows.getKey())));
+                executeBatchUpdates(context, datasource, query, parameters, partitions, shardRows.getKey(),
+                        batchSize, commitPerBatch, countArray);
+            }
+        } catch (SQLException | RuntimeException e) {
+            // Outside a transaction the shards, partitions or batches which succeeded stay committed, so the caller is
+            // told which rows were written.
+            if (!context.isInTransaction() && hasWrittenRows(countArray)) {
+                throw new BatchUpdateFailedException(e.getMessage(), e.getCause() != null ? e.getCause() : e,
+                        getUpdateCounts(countArray));
+            }
+            if (e instanceof BatchUpdateFailedException) {
+                throw new BallerinaException(e.getMessage(), e.getCause());
+            }
+            throw e;
+        }
+        context.setReturnValues(countArray);
+    }
+
+    private static boolean hasWrittenRows(BIntArray countArray) {
+        for (int index = 0; index < countArray.size(); index++) {
+            if (countArray.get(index) != Statement.EXECUTE_FAILED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] getUpdateCounts(BIntArray countArray) {
+        long[] updateCounts = new long[(int) countArray.size()];
+        for (int index = 0; index < updateCounts.length; index++) {
+            updateCounts[index] = countArray.get(index);
+        }
+        return updateCounts;
+    }
+
+    /**
+     * Copies the update counts of the given rows of a batch update to the update counts of all the rows.
+     *
+     * @param rows         Indexes of the rows, or null for all the rows
+     * @param updatedCount Update counts of the rows, or null if they are unknown
+     * @param countArray   Update counts of all the rows
+     */
+    private static void copyUpdateCounts(List<Integer> rows, long[] updatedCount, BIntArray countArray) {
+        if (updatedCount == null) {
+            return;
+        }
+        int iSize = rows != null ? Math.min(updatedCount.length, rows.size()) : updatedCount.length;
+        for (int i = 0; i < iSize; ++i) {
+            countArray.add(rows != null ? rows.get(i) : i, updatedCount[i]);
+        }
+    }
+
+    private static long[] toLongArray(int[] values) {
+        if (values == null) {
+            return null;
+        }
+        long[] longValues = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            longValues[i] = values[i];
+        }
+        return longValues;
+    }
+
+    /**
+     * Splits the rows of a batch update into the given number of partitions of consecutive rows.
+     *
+     * @param rows        Indexes of the rows, or null for all the rows
+     * @param rowCount    Number of rows if the indexes are not given
+     * @param parallelism Number of partitions
+     * @return The indexes of the rows of each partition, or a single null partition if all the rows are run at once
+     */
+    private static List<List<Integer>> partitionRows(List<Integer> rows, int rowCount, int parallelism) {
+        int partitionRowCount = rows != null ? rows.size() : rowCount;
+        int partitionCount = Math.min(parallelism, partitionRowCount);
+        if (partitionCount <= 1) {
+            return Collections.singletonList(rows);
+        }
+        List<Integer> indexes = rows;
+        if (indexes == null) {
+            indexes = new ArrayList<>(rowCount);
+            for (int index = 0; index < rowCount; index++) {
+                indexes.add(index);
+            }
+        }
+        List<List<Integer>> partitions = new ArrayList<>(partitionCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            partitions.add(indexes.subList(partition * partitionRowCount / partitionCount,
+                    (partition + 1) * partitionRowCount / partitionCount));
+        }
+        return partitions;
+    }
+
+    /**
+     * Runs the partitions of a batch update, each on its own connection at the same time as the others. Partitions
+     * are committed on their own, so partitions which succeed stay committed if another fails. The connections are
+     * acquired on the calling thread, so that the threads running the partitions do not use the context of the
+     * action, and partitions are not run once a connection cannot be acquired.
+     *
+     * @param countArray Update counts of all the rows, which the counts of the rows of the partitions are copied to,
+     *                   including those of the rows written before a partition failed
+     */
+    private void executeBatchUpdates(Context context, SQLDatasource datasource, String query,
+            BRefValueArray parameters, List<List<Integer>> partitions, int shardIndex, int batchSize,
+            boolean commitPerBatch, BIntArray countArray) throws SQLException {
+        if (partitions.size() == 1) {
+            try {
+                copyUpdateCounts(partitions.get(0), toLongArray(executeBatchUpdate(context, datasource, query,
+                        parameters, partitions.get(0), shardIndex, batchSize, commitPerBatch, false)), countArray);
+            } catch (BatchUpdateFailedException e) {
+                copyUpdateCounts(partitions.get(0), e.getUpdateCounts(), countArray);
+                throw e;
+            }
+            return;
+        }
+        List<Future<int[]>> futures = new ArrayList<>(partitions.size());
+        Throwable error = null;
+        try {
+            for (List<Integer> rows : partitions) {
+                Connection conn = datasource.getSQLConnection(shardIndex);
+                try {
+                    futures.add(datasource.getBatchExecutor().submit(() -> executeBatchUpdate(conn, false,
+                            datasource, query, parameters, rows, shardIndex, batchSize, commitPerBatch, false)));
+                } catch (RuntimeException e) {
+                    SQLDatasourceUtils.cleanupResources(conn, false);
+                    throw e;
+                }
+            }
+        } catch (RuntimeException e) {
+            error = e;
+        }
+        // All the partitions are waited for, so that none is still running once the action returns, unless the
+        // caller is interrupted.
+        for (int partition = 0; partition < futures.size(); partition++) {
+            try {
+                copyUpdateCounts(partitions.get(partition), toLongArray(futures.get(partition).get()), countArray);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof BatchUpdateFailedException) {
+                    copyUpdateCounts(partitions.get(partition),
+                            ((BatchUpdateFailedException) e.getCause()).getUpdateCounts(), countArray);
+                }
+                error = error != null ? error : e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error = error != null ? error : e;
+            }
+        }
+        invalidateResultCache(context, datasource, shardIndex, SQLTemplate.compile(query).getTableReferences()
+                .getWrittenTables());
+        if (error instanceof SQLException) {
+            throw (SQLException) error;
+        } else if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error != null) {
+            throw new BallerinaException("execute batch update failed: " + error.getMessage(), error);
+        }
+    }
+
+    /**
+     * Runs the given rows of a batch update on a database, on the connection the action runs on.
+     *
+     * @param rows           Indexes of the parameter rows to run, or null to run all of them
+     * @param shardIndex     Index of the shard to run the rows on, or -1 for the database of the datasource
+     * @param batchSize      Number of rows sent to the database at a time, or 0 to send all the rows at once
+     * @param commitPerBatch Whether each batch is committed on its own
+     * @param bulkLoad       Whether the rows are loaded by a bulk load
+     * @return The update counts of the rows which were run, or null if they are unknown
+     */
+    private int[] executeBatchUpdate(Context context, SQLDatasource datasource, String query,
+            BRefValueArray parameters, List<Integer> rows, int shardIndex, int batchSize, boolean commitPerBatch,
+            boolean bulkLoad) throws SQLException {
+        try {
+            Connection conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, false, shardIndex);
+            return executeBatchUpdate(conn, context.isInTransaction(), datasource, query, parameters, rows,
+                    shardIndex, batchSize, commitPerBatch, bulkLoad);
+        } finally {
+            invalidateResultCache(context, datasource, shardIndex, SQLTemplate.compile(query).getTableReferences()
+                    .getWrittenTables());
+        }
+    }
+
+    /**
+     * Runs the given rows of a batch update on the given connection, which is released once they have run. The
+     * context of the action is not used, as the rows may run on a thread of the batch executor.
+     *
+     * @param conn            Connection to run the rows on
+     * @param isInTransaction Whether the connection takes part in a transaction
+     * @param rows            Indexes of the parameter rows to run, or null to run all of them
+     * @param shardIndex      Index of the shard to run the rows on, or -1 for the database of the datasource
+     * @param batchSize       Number of rows sent to the database at a time, or 0 to send all the rows at once
+     * @param commitPerBatch  Whether each batch is committed on its own
+     * @param bulkLoad        Whether the rows are loaded by a bulk load, which inserts several rows with each
+     *                        statement whatever the datasource options and fails if a batch fails
+     * @return The update counts of the rows which were run, or null if they are unknown
+     */
+    private int[] executeBatchUpdate(Connection conn, boolean isInTransaction, SQLDatasource datasource,
+            String query, BRefValueArray parameters, List<Integer> rows, int shardIndex, int batchSize,
+            boolean commitPerBatch, boolean bulkLoad) throws SQLException {
         PreparedStatement stmt = null;
-        int[] updatedCount;
-        int paramArrayCount = 0;
-        boolean isInTransaction = context.isInTransaction();
+        int rowCount = rows != null ? rows.size() : (parameters != null ? (int) parameters.size() : 0);
+        int chunkSize = batchSize > 0 ? batchSize : Math.max(1, rowCount);
+        int chunkStart = 0;
+        int chunkEnd = 0;
+        int[] updatedCount = null;
+        if (rowCount > 0) {
+            updatedCount = new int[rowCount];
+            Arrays.fill(updatedCount, Statement.EXECUTE_FAILED);
+        }
+        boolean completed = false;
         try {
-            conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, false);
-            stmt = conn.prepareStatement(query);
+            stmt = datasource.prepareStatement(conn, query);
+            SQLTemplate template = SQLTemplate.compile(query);
+            MultiRowInsert multiRowInsert = bulkLoad || datasource.isRewriteBatchedInserts()
+                    ? getMultiRowInsert(template, parameters, rows, rowCount) : null;
+            int maxRows = multiRowInsert != null ? multiRowInsert.getMaxRows(datasource.getDatabaseProductName()) : 1;
             conn.setAutoCommit(false);
-            if (parameters != null) {
-                paramArrayCount = (int) parameters.size();
-                if (paramArrayCount == 0) {
-                    stmt.addBatch();
+            if (rowCount == 0) {
+                stmt.addBatch();
+                updatedCount = stmt.executeBatch();
+            }
+            // Only the rows of one batch are held by the driver at a time.
+            while (chunkStart < rowCount) {
+                chunkEnd = Math.min(rowCount, chunkStart + chunkSize);
+                if (maxRows > 1 && chunkEnd - chunkStart > 1) {
+                    executeMultiRowInserts(conn, datasource, template, multiRowInsert, maxRows, parameters, rows,
+                            chunkStart, chunkEnd, updatedCount);
+                } else {
+                    for (int index = chunkStart; index < chunkEnd; index++) {
+                        BRefValueArray params = (BRefValueArray) parameters
+                                .get(rows != null ? rows.get(index) : index);
+                        createProcessedStatement(conn, stmt, template, params);
+                        stmt.addBatch();
+                    }
+                    copyUpdateCounts(stmt.executeBatch(), updatedCount, chunkStart, chunkEnd);
                 }
-                for (int index = 0; index < paramArrayCount; index++) {
-                    BRefValueArray params = (BRefValueArray) parameters.get(index);
-                    BRefValueArray generatedParams = constructParameters(context, params);
-                    createProcessedStatement(conn, stmt, generatedParams);
-                    stmt.addBatch();
+                if (commitPerBatch && !isInTransaction) {
+                    conn.commit();
                 }
-            } else {
-                stmt.addBatch();
+                chunkStart = chunkEnd;
             }
-            updatedCount = stmt.executeBatch();
             if (!isInTransaction) {
                 conn.commit();
             }
+            completed = true;
         } catch (BatchUpdateException e) {
-            if (!isInTransaction) {
-                conn.rollback();
+            if (bulkLoad) {
+                throw new BallerinaException("bulk load failed" + describeBatch(rows, rowCount, batchSize,
+                        chunkStart, false) + ": " + e.getMessage(), e);
+            }
+            // When the rows are sent in several batches, the update counts of the batches rolled back with the failed
+            // one would read as written, and the failed batch would only show as failed counts, so the batch update
+            // fails naming the batch instead.
+            if (chunkSize < rowCount) {
+                throw batchUpdateFailure("execute batch update failed" + describeBatch(rows, rowCount, batchSize,
+                        chunkStart, commitPerBatch && !isInTransaction) + ": " + e.getMessage(), e, updatedCount,
+                        commitPerBatch ? chunkStart : 0, isInTransaction);
+            }
+            if (rowCount == 0) {
+                updatedCount = e.getUpdateCounts();
+            } else {
+                copyUpdateCounts(e.getUpdateCounts(), updatedCount, chunkStart, chunkEnd);
             }
-            updatedCount = e.getUpdateCounts();
         } catch (SQLException e) {
+            datasource.recordFailure(shardIndex, conn, e);
             conn.rollback();
-            throw new BallerinaException("execute batch update failed: " + e.getMessage(), e);
+            throw batchUpdateFailure("execute batch update failed" + describeBatch(rows, rowCount, batchSize,
+                    chunkStart, commitPerBatch && !isInTransaction) + ": " + e.getMessage(), e, updatedCount,
+                    commitPerBatch ? chunkStart : 0, isInTransaction || bulkLoad);
+        } catch (RuntimeException e) {
+            throw batchUpdateFailure(e.getMessage(), e, updatedCount, commitPerBatch ? chunkStart : 0,
+                    isInTransaction || bulkLoad);
         } finally {
-            SQLDatasourceUtils.cleanupResources(stmt, conn, isInTransaction);
+            // The batches after the last commit are rolled back whatever failed, as the pool does not roll back the
+            // work of cached statements.
+            if (!completed && !isInTransaction) {
+                SQLDatasourceUtils.rollbackQuietly(conn);
+            }
+            releaseResources(datasource, null, stmt, conn, isInTransaction);
         }
-        //After a command in a batch update fails to execute properly and a BatchUpdateException is thrown, the driver
-        // may or may not continue to process the remaining commands in the batch. If the driver does not continue
-        // processing after a failure, the array returned by the method will have -3 (EXECUTE_FAILED) for those updates.
-        long[] returnedCount = new long[paramArrayCount];
-        Arrays.fill(returnedCount, Statement.EXECUTE_FAILED);
-        BIntArray countArray = new BIntArray(returnedCount);
-        if (updatedCount != null) {
-            int iSize = updatedCount.length;
-            for (int i = 0; i < iSize; ++i) {
-                countArray.add(i, updatedCount[i]);
+        return updatedCount;
+    }
+
+    /**
+     * Creates the error of a failed batch update. Outside a transaction, the error carries the update counts of the
+     * rows committed before the failure, with the rows after them marked as failed.
+     *
+     * @param committedRows Number of rows committed before the failure
+     * @param withoutCounts Whether the update counts are left out, as in a transaction or a bulk load
+     */
+    private static BallerinaException batchUpdateFailure(String message, Throwable cause, int[] updatedCount,
+            int committedRows, boolean withoutCounts) {
+        if (withoutCounts || updatedCount == null || committedRows == 0) {
+            return cause instanceof BallerinaException && message.equals(cause.getMessage())
+                    ? (BallerinaException) cause : new BallerinaException(message, cause);
+        }
+        long[] updateCounts = new long[updatedCount.length];
+        for (int i = 0; i < updateCounts.length; i++) {
+            updateCounts[i] = i < committedRows ? updatedCount[i] : Statement.EXECUTE_FAILED;
+        }
+        return new BatchUpdateFailedException(message, cause, updateCounts);
+    }
+
+    /**
+     * Returns the insert of several rows the given rows of a batch update can be rewritten into. A row which passes
+     * an array as several parameters, or has out parameters, is not bound to the placeholders of a single row of
+     * values, so such batches are not rewritten.
+     */
+    private MultiRowInsert getMultiRowInsert(SQLTemplate template, BRefValueArray parameters, List<Integer> rows,
+            int rowCount) {
+        if (rowCount < 2) {
+            return null;
+        }
+        MultiRowInsert multiRowInsert = template.getMultiRowInsert();
+        if (multiRowInsert == null) {
+            return null;
+        }
+        for (int index = 0; index < rowCount; index++) {
+            BRefValueArray params = (BRefValueArray) parameters.get(rows != null ? rows.get(index) : index);
+            if (params == null || params.size() != multiRowInsert.getPlaceholderCount()) {
+                return null;
+            }
+            for (int i = 0; i < params.size(); i++) {
+                BRefType param = params.get(i);
+                if (param != null && (isArrayOfParameters(getParameterValue(param), getSQLType(param))
+                        || getParameterDirection(param) != Constants.QueryParamDirection.IN)) {
+                    return null;
+                }
             }
         }
-        context.setReturnValues(countArray);
+        return multiRowInsert;
+    }
+
+    /**
+     * Runs the given rows of a batch update with inserts of several rows. The rows are inserted by a batch of the
+     * largest rewritten insert, and the rows left over by one insert each of smaller sizes, so that every row is
+     * inserted in a statement of a size which is prepared again by later batches.
+     */
+    private void executeMultiRowInserts(Connection conn, SQLDatasource datasource, SQLTemplate template,
+            MultiRowInsert multiRowInsert, int maxRows, BRefValueArray parameters, List<Integer> rows, int chunkStart,
+            int chunkEnd, int[] updatedCount) throws SQLException {
+        int placeholderCount = multiRowInsert.getPlaceholderCount();
+        int rowIndex = chunkStart;
+        int statementRows = maxRows;
+        try {
+            while (rowIndex < chunkEnd) {
+                statementRows = MultiRowInsert.getStatementRows(statementRows, chunkEnd - rowIndex);
+                int statementCount = (chunkEnd - rowIndex) / statementRows;
+                PreparedStatement stmt = datasource.prepareStatement(conn, multiRowInsert.getQuery(statementRows));
+                try {
+                    for (int statement = 0; statement < statementCount; statement++) {
+                        for (int row = 0; row < statementRows; row++) {
+                            int index = rowIndex + statement * statementRows + row;
+                            BRefValueArray params = (BRefValueArray) parameters
+                                    .get(rows != null ? rows.get(index) : index);
+                            createProcessedStatement(conn, stmt, template, params, null, row * placeholderCount);
+                        }
+                        stmt.addBatch();
+                    }
+                    setMultiRowUpdateCounts(stmt.executeBatch(), statementRows, updatedCount, rowIndex);
+                } finally {
+                    datasource.releaseStatement(stmt);
+                }
+                rowIndex += statementCount * statementRows;
+            }
+        } catch (BatchUpdateException e) {
+            // The update counts of the exception are the ones of the rewritten inserts, hence they are mapped to the
+            // rows of the batch.
+            setMultiRowUpdateCounts(e.getUpdateCounts(), statementRows, updatedCount, rowIndex);
+            throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(),
+                    Arrays.copyOfRange(updatedCount, chunkStart, chunkEnd), e);
+        }
+    }
+
+    private static void setMultiRowUpdateCounts(int[] statementCounts, int statementRows, int[] updatedCount,
+            int rowIndex) {
+        if (statementCounts == null) {
+            return;
+        }
+        for (int statement = 0; statement < statementCounts.length; statement++) {
+            MultiRowInsert.setUpdateCounts(statementCounts[statement], statementRows, updatedCount,
+                    rowIndex + statement * statementRows);
+        }
+    }
+
+    private static void copyUpdateCounts(int[] chunkCounts, int[] updatedCount, int chunkStart, int chunkEnd) {
+        if (chunkCounts != null) {
+            System.arraycopy(chunkCounts, 0, updatedCount, chunkStart, Math.min(chunkCounts.length,
+                    chunkEnd - chunkStart));
+        }
+    }
+
+    /**
+     * Describes the batch a batch update failed in, for the error message.
+     */
+    private static String describeBatch(List<Integer> rows, int rowCount, int batchSize, int chunkStart,
+            boolean committedPerBatch) {
+        if (batchSize <= 0 || chunkStart >= rowCount) {
+            return "";
+        }
+        String description = " in the batch starting with parameter array " + (rows != null ? rows.get(chunkStart)
+                : chunkStart);
+        return committedPerBatch && chunkStart > 0 ? description + ", the batches before it were committed"
+                : description;
+    }
+
+    /**
+     * Loads the given rows into a table, through the bulk load path of the database if it has one. The rows of other
+     * databases, of a sharded datasource, or with values which cannot be loaded as text, are inserted by batches of
+     * inserts of several rows.
+     *
+     * @param columns Names of the columns the rows are loaded into, or an empty array for all the columns
+     */
+    protected void executeBulkLoad(Context context, SQLDatasource datasource, String tableName, String[] columns,
+            BRefValueArray rows) throws SQLException {
+        long loadedCount = 0;
+        int rowCount = rows != null ? (int) rows.size() : 0;
+        if (rowCount > 0) {
+            int rowSize = columns.length > 0 ? columns.length : (int) ((BRefValueArray) rows.get(0)).size();
+            String insertQuery = BulkLoader.createInsertQuery(tableName, columns, rowSize);
+            BulkLoader bulkLoader = BulkLoader.forDatabase(datasource.getDatabaseProductName());
+            if (bulkLoader != null && datasource.getShardCount() == 0
+                    && bulkLoader.canLoad(rows, rowSize, this::getParameterValue)) {
+                loadedCount = executeBulkLoad(context, datasource, bulkLoader, tableName, columns, rows, insertQuery);
+            } else {
+                for (Map.Entry<Integer, List<Integer>> shardRows : groupRowsByShard(datasource, rows).entrySet()) {
+                    int[] updatedCount = executeBatchUpdate(context, datasource, insertQuery, rows,
+                            shardRows.getValue(), shardRows.getKey(), BULK_LOAD_BATCH_SIZE, false, true);
+                    for (int count : updatedCount) {
+                        // Each row inserts a single row, also if the driver does not know the count.
+                        loadedCount += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                    }
+                }
+            }
+        }
+        context.setReturnValues(new BInteger(loadedCount));
+    }
+
+    private long executeBulkLoad(Context context, SQLDatasource datasource, BulkLoader bulkLoader, String tableName,
+            String[] columns, BRefValueArray rows, String insertQuery) {
+        Connection conn = null;
+        boolean isInTransaction = context.isInTransaction();
+        boolean completed = false;
+        try {
+            conn = SQLDatasourceUtils.getDatabaseConnection(context, datasource, false, -1);
+            // The load is checked once the rows are sent, so it runs in a transaction which is rolled back if it
+            // fails.
+            if (!isInTransaction) {
+                conn.setAutoCommit(false);
+            }
+            long loadedCount = bulkLoader.load(conn, tableName, columns, rows, this::getParameterValue);
+            if (!isInTransaction) {
+                conn.commit();
+            }
+            completed = true;
+            return loadedCount;
+        } catch (SQLException e) {
+            datasource.recordFailure(-1, conn, e);
+            throw new BallerinaException("bulk load failed: " + e.getMessage(), e);
+        } finally {
+            if (!completed && !isInTransaction) {
+                SQLDatasourceUtils.rollbackQuietly(conn);
+            }
+            releaseResources(datasource, null, null, conn, isInTransaction);
+            invalidateResultCache(context, datasource, -1, SQLTemplate.compile(insertQuery).getTableReferences()
+                    .getWrittenTables());
+        }
     }
 
     protected BStructureType getStructType(Context context, int index) {
@@ -342,105 +918,184 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
 
     protected SQLDatasource retrieveDatasource(Context context) {
         BMap<String, BValue> bConnector = (BMap<String, BValue>) context.getRefArgument(0);
-        return (SQLDatasource) bConnector.getNativeData(Constants.CALLER_ACTIONS);
+        // A closed endpoint may share its datasource with endpoints which are still open, so the datasource itself
+        // does not tell that the endpoint was closed.
+        synchronized (bConnector) {
+            if (bConnector.getNativeData(Constants.CLOSED) != null) {
+                throw new BallerinaException(Constants.CONNECTOR_NAME + ": the endpoint is closed");
+            }
+            return (SQLDatasource) bConnector.getNativeData(Constants.CALLER_ACTIONS);
+        }
     }
 
-    private BRefValueArray constructParameters(Context context, BRefValueArray parameters) {
-        BRefValueArray parametersNew = new BRefValueArray();
+    /**
+     * If there are any arrays of parameter for types other than sql array, the given query is expanded by adding "?" s
+     * to match with the array size.
+     */
+    protected String createProcessedQueryString(SQLTemplate template, BRefValueArray parameters) {
+        if (parameters == null) {
+            return template.getQuery();
+        }
         int paramCount = (int) parameters.size();
-        for (int i = 0; i < paramCount; ++i) {
-            BRefType typeValue = parameters.get(i);
-            BMap<String, BValue> paramStruct;
-            if (typeValue.getType().getTag() == TypeTags.OBJECT_TYPE_TAG
-                    || typeValue.getType().getTag() == TypeTags.RECORD_TYPE_TAG) {
-                paramStruct = (BMap<String, BValue>) typeValue;
-            } else {
-                paramStruct = getSQLParameter(context);
-                paramStruct.put(PARAMETER_SQL_TYPE_FIELD,
-                        new BString(SQLDatasourceUtils.getSQLType(typeValue.getType())));
-                paramStruct.put(PARAMETER_VALUE_FIELD, typeValue);
-                paramStruct.put(PARAMETER_DIRECTION_FIELD, new BString(Constants.QueryParamDirection.DIR_IN));
+        int[] placeholderCounts = null;
+        for (int i = 0; i < paramCount; i++) {
+            // types.bal Param
+            BRefType param = parameters.get(i);
+            if (param == null) {
+                continue;
+            }
+            String sqlType = getSQLType(param);
+            BValue value = getParameterValue(param);
+            if (value != null && (value.getType().getTag() == TypeTags.ARRAY_TAG
+                    && ((BArrayType) value.getType()).getElementType().getTag() != TypeTags.BYTE_TAG)
+                    && !Constants.SQLDataTypes.ARRAY.equalsIgnoreCase(sqlType)) {
+                if (placeholderCounts == null) {
+                    placeholderCounts = new int[paramCount];
+                    Arrays.fill(placeholderCounts, 1);
+                }
+                placeholderCounts[i] = (int) ((BNewArray) value).size();
             }
-            parametersNew.add(i, paramStruct);
         }
-        return parametersNew;
+        if (placeholderCounts == null) {
+            return template.getQuery();
+        }
+        return template.expand(placeholderCounts);
     }
 
-    private static BMap<String, BValue> getSQLParameter(Context context) {
-        PackageInfo sqlPackageInfo = context.getProgramFile().getPackageInfo(Constants.SQL_PACKAGE_PATH);
-        StructureTypeInfo paramStructInfo = sqlPackageInfo.getStructInfo(Constants.SQL_PARAMETER);
-        return new BMap<>(paramStructInfo.getType());
+    /**
+     * Builds the result cache key of a select from the processed query and the parameter values.
+     *
+     * @return The key, or null if the result of the select cannot be cached
+     */
+    private ResultCache.Key createResultCacheKey(SQLTemplate template, String processedQuery,
+            BRefValueArray parameters) {
+        Set<String> tables = template.getTableReferences().getReadTables();
+        if (tables == null) {
+            return null;
+        }
+        int paramCount = parameters == null ? 0 : (int) parameters.size();
+        String[] parameterKeys = new String[paramCount];
+        for (int i = 0; i < paramCount; i++) {
+            BRefType param = parameters.get(i);
+            if (param == null) {
+                continue;
+            }
+            if (getParameterDirection(param) != Constants.QueryParamDirection.IN) {
+                return null;
+            }
+            BValue value = getParameterValue(param);
+            String valueKey = value == null ? "()" : value.getType().getName() + ":" + value.stringValue();
+            parameterKeys[i] = getSQLType(param) + ":" + valueKey;
+        }
+        return new ResultCache.Key(processedQuery, parameterKeys, tables);
     }
 
     /**
-     * If there are any arrays of parameter for types other than sql array, the given query is expanded by adding "?" s
-     * to match with the array size.
+     * Invalidates the cached select results which read the tables written by an action. Within a transaction they are
+     * invalidated again when the transaction ends, since the writes are not visible to other connections before.
      */
-    private String createProcessedQueryString(String query, BRefValueArray parameters) {
-        String currentQuery = query;
-        if (parameters != null) {
-            int start = 0;
-            Object[] vals;
-            int count;
-            int paramCount = (int) parameters.size();
-            for (int i = 0; i < paramCount; i++) {
-                // types.bal Parameter
-                BMap<String, BValue> paramValue = (BMap<String, BValue>) parameters.get(i);
-                if (paramValue != null) {
-                    String sqlType = getSQLType(paramValue);
-                    BValue value = paramValue.get(PARAMETER_VALUE_FIELD);
-                    if (value != null && (value.getType().getTag() == TypeTags.ARRAY_TAG
-                            && ((BArrayType) value.getType()).getElementType().getTag() != TypeTags.BYTE_TAG)
-                            && !Constants.SQLDataTypes.ARRAY.equalsIgnoreCase(sqlType)) {
-                        count = (int) ((BNewArray) value).size();
-                    } else {
-                        count = 1;
-                    }
-                    vals = this.expandQuery(start, count, currentQuery);
-                    start = (Integer) vals[0];
-                    currentQuery = (String) vals[1];
-                }
+    private void invalidateResultCache(Context context, SQLDatasource datasource, int shardIndex,
+            Set<String> writtenTables) {
+        ResultCache resultCache = datasource.getResultCache();
+        if (resultCache == null) {
+            return;
+        }
+        resultCache.invalidate(writtenTables);
+        if (context.isInTransaction()) {
+            BallerinaTransactionContext txContext = context.getLocalTransactionInfo()
+                    .getTransactionContext(datasource.getConnectorId(shardIndex));
+            if (txContext instanceof SQLTransactionContext) {
+                ((SQLTransactionContext) txContext).addWrittenTables(resultCache, writtenTables);
             }
         }
-        return currentQuery;
     }
 
     /**
-     * Search for the first occurrence of "?" from the given starting point and replace it with given number of "?"'s.
+     * Finds the shard an action runs on from the value of its shard key parameter.
+     *
+     * @return Index of the shard, or -1 if the datasource is not sharded or there is no shard key parameter
      */
-    private Object[] expandQuery(int start, int count, String query) {
-        StringBuilder result = new StringBuilder();
-        int n = query.length();
-        boolean doubleQuoteExists = false;
-        boolean singleQuoteExists = false;
-        int end = n;
-        for (int i = start; i < n; i++) {
-            if (query.charAt(i) == '\'') {
-                singleQuoteExists = !singleQuoteExists;
-            } else if (query.charAt(i) == '\"') {
-                doubleQuoteExists = !doubleQuoteExists;
-            } else if (query.charAt(i) == '?' && !(doubleQuoteExists || singleQuoteExists)) {
-                result.append(query.substring(0, i));
-                result.append(this.generateQuestionMarks(count));
-                end = result.length() + 1;
-                if (i + 1 < n) {
-                    result.append(query.substring(i + 1));
-                }
-                break;
+    private int getShardIndex(SQLDatasource datasource, BRefValueArray parameters) {
+        if (datasource.getShardCount() == 0 || parameters == null) {
+            return -1;
+        }
+        String shardKey = null;
+        int paramCount = (int) parameters.size();
+        for (int i = 0; i < paramCount; i++) {
+            BRefType param = parameters.get(i);
+            if (param == null || !isParameterRecord(param)) {
+                continue;
             }
+            BValue isShardKey = ((BMap<String, BValue>) param).get(PARAMETER_SHARD_KEY_FIELD);
+            if (!(isShardKey instanceof BBoolean) || !((BBoolean) isShardKey).booleanValue()) {
+                continue;
+            }
+            BValue value = getParameterValue(param);
+            if (value == null) {
+                throw new BallerinaException("value of the shard key parameter cannot be nil");
+            }
+            String key = value.stringValue();
+            if (shardKey != null && !shardKey.equals(key)) {
+                throw new BallerinaException("shard key parameters have different values: " + shardKey + ", " + key);
+            }
+            shardKey = key;
+        }
+        return shardKey == null ? -1 : datasource.getShardIndex(shardKey);
+    }
+
+    /**
+     * Groups the parameter rows of a batch update by the shard they run on.
+     *
+     * @return The row indexes of each shard, in the order the shards are first seen. If the datasource is not sharded,
+     * all the rows are under -1 as a null list
+     */
+    private Map<Integer, List<Integer>> groupRowsByShard(SQLDatasource datasource, BRefValueArray parameters) {
+        Map<Integer, List<Integer>> rowsByShard = new LinkedHashMap<>();
+        int paramArrayCount = parameters != null ? (int) parameters.size() : 0;
+        if (datasource.getShardCount() == 0 || paramArrayCount == 0) {
+            rowsByShard.put(-1, null);
+            return rowsByShard;
+        }
+        for (int index = 0; index < paramArrayCount; index++) {
+            int shardIndex = getShardIndex(datasource, (BRefValueArray) parameters.get(index));
+            rowsByShard.computeIfAbsent(shardIndex, shard -> new ArrayList<>()).add(index);
         }
-        return new Object[] { end, result.toString() };
+        return rowsByShard;
     }
 
-    private String generateQuestionMarks(int n) {
-        StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < n; i++) {
-            builder.append(Constants.QUESTION_MARK);
-            if (i + 1 < n) {
-                builder.append(",");
+    /**
+     * Runs a select on every shard and concatenates the results. The statements are run one after the other, but the
+     * rows of each shard are only read as the table is iterated. Each shard is read through a connection of its own,
+     * which is released when the table is closed.
+     */
+    private ResultSet executeQueryOnAllShards(SQLDatasource datasource, SQLTemplate template, String processedQuery,
+            BRefValueArray parameters, int fetchSize) throws SQLException {
+        int shardCount = datasource.getShardCount();
+        List<ResultSet> resultSets = new ArrayList<>(shardCount);
+        List<AutoCloseable> resources = new ArrayList<>(2 * shardCount);
+        try {
+            for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+                Connection conn = datasource.getSQLConnection(shardIndex);
+                resources.add(conn);
+                int connectionIndex = resources.size() - 1;
+                Connection streamingConn = prepareStreamingConnection(conn, datasource);
+                // Streaming statements are not taken from the statement cache, so they can simply be closed.
+                PreparedStatement stmt = getPreparedStatement(conn, datasource, processedQuery, false, fetchSize);
+                resources.add(stmt);
+                createProcessedStatement(conn, stmt, template, parameters);
+                resultSets.add(stmt.executeQuery());
+                // The select is committed when the table is closed, while a failed one is rolled back by the pool.
+                resources.set(connectionIndex, streamingConn);
+            }
+        } catch (SQLException | RuntimeException e) {
+            try {
+                new ConcatenatedResultSet(resultSets, resources).close();
+            } catch (SQLException closeError) {
+                e.addSuppressed(closeError);
             }
+            throw e;
         }
-        return builder.toString();
+        return new ConcatenatedResultSet(resultSets, resources);
     }
 
     protected void closeConnections(SQLDatasource datasource) {
@@ -452,22 +1107,81 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         }
     }
 
+    /**
+     * Releases the resources used by an action. The statement is given back to the datasource so that it can be
+     * reused if it came from the statement cache.
+     */
+    private void releaseResources(SQLDatasource datasource, ResultSet rs, PreparedStatement stmt, Connection conn,
+            boolean isInTransaction) {
+        try {
+            if (rs != null && !rs.isClosed()) {
+                rs.close();
+            }
+            if (stmt != null) {
+                datasource.releaseStatement(stmt);
+            }
+        } catch (SQLException e) {
+            throw new BallerinaException("error in cleaning sql resources: " + e.getMessage(), e);
+        } finally {
+            SQLDatasourceUtils.cleanupResources(conn, isInTransaction);
+        }
+    }
+
+    /**
+     * PostgreSQL retrieves the complete result unless the fetch size is set on a connection which is not in
+     * auto-commit mode. An auto-commit connection is taken out of auto-commit mode for a streamed select, and the
+     * connection the table closes commits the select first. The pool would otherwise roll it back as the connection
+     * is returned, undoing side effects of the select such as those of nextval().
+     *
+     * @return The connection to close once the table is closed
+     */
+    private Connection prepareStreamingConnection(Connection conn, SQLDatasource datasource) throws SQLException {
+        ConnectionLimiter.excludeFromLatency(conn);
+        if (!datasource.getDatabaseProductName().equals(POSTGRES_DATABASE_NAME) || !conn.getAutoCommit()) {
+            return conn;
+        }
+        conn.setAutoCommit(false);
+        return CommitOnCloseConnection.wrap(conn);
+    }
+
     private PreparedStatement getPreparedStatement(Connection conn, SQLDatasource datasource, String query,
-            boolean loadToMemory) throws SQLException {
+            boolean loadToMemory, int fetchSize) throws SQLException {
+        if (fetchSize < 0) {
+            fetchSize = datasource.getFetchSize();
+        }
         PreparedStatement stmt;
-        boolean mysql = datasource.getDatabaseProductName().contains("mysql");
-        /* In MySQL by default, ResultSets are completely retrieved and stored in memory.
-           Following properties are set to stream the results back one row at a time.*/
-        if (mysql && !loadToMemory) {
-            stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (loadToMemory) {
+            // The statement is released as soon as the result is loaded, so it can come from the statement cache.
+            // Streamed results own their statement until the table is closed, hence they are not cached.
+            stmt = datasource.prepareStatement(conn, query);
+            // A cached statement keeps the fetch size of its previous use, hence it is always set.
+            try {
+                stmt.setFetchSize(Math.max(fetchSize, 0));
+            } catch (SQLException e) {
+                datasource.releaseStatement(stmt);
+                throw e;
+            }
+            return stmt;
+        }
+        String databaseProductName = datasource.getDatabaseProductName();
+        if (fetchSize <= 0) {
+            if (databaseProductName.contains("mysql")) {
+                /* In MySQL by default, ResultSets are completely retrieved and stored in memory.
+                   Following properties are set to stream the results back one row at a time.*/
+                fetchSize = Integer.MIN_VALUE;
+            } else if (databaseProductName.equals(POSTGRES_DATABASE_NAME)) {
+                fetchSize = DEFAULT_POSTGRES_STREAMING_FETCH_SIZE;
+            }
+        }
+        stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (fetchSize != 0) {
             // To fulfill OBL_UNSATISFIED_OBLIGATION_EXCEPTION_EDGE findbugs validation.
             try {
-                stmt.setFetchSize(Integer.MIN_VALUE);
+                stmt.setFetchSize(fetchSize);
             } catch (SQLException e) {
                 stmt.close();
+                throw e;
             }
-        } else {
-            stmt = conn.prepareStatement(query);
         }
         return stmt;
     }
@@ -535,27 +1249,35 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         return generatedKeys;
     }
 
-    private void createProcessedStatement(Connection conn, PreparedStatement stmt, BRefValueArray param) {
-        createProcessedStatement(conn, stmt, param, null);
+    private void createProcessedStatement(Connection conn, PreparedStatement stmt, SQLTemplate template,
+            BRefValueArray param) {
+        createProcessedStatement(conn, stmt, template, param, null);
     }
 
-    private void createProcessedStatement(Connection conn, PreparedStatement stmt, BRefValueArray params,
-            String databaseProductName) {
+    private void createProcessedStatement(Connection conn, PreparedStatement stmt, SQLTemplate template,
+            BRefValueArray params, String databaseProductName) {
+        createProcessedStatement(conn, stmt, template, params, databaseProductName, 0);
+    }
+
+    /**
+     * Binds the given parameters to the placeholders of the statement, starting with the one at the given ordinal.
+     * An insert of several rows binds the parameters of each of its rows this way.
+     */
+    private void createProcessedStatement(Connection conn, PreparedStatement stmt, SQLTemplate template,
+            BRefValueArray params, String databaseProductName, int firstOrdinal) {
         if (params == null) {
             return;
         }
+        BindingPlan bindingPlan = getBindingPlan(template, params);
         int paramCount = (int) params.size();
-        int currentOrdinal = 0;
+        int currentOrdinal = firstOrdinal;
         for (int index = 0; index < paramCount; index++) {
-            BMap<String, BValue> paramStruct = (BMap<String, BValue>) params.get(index);
-            if (paramStruct != null) {
-                String sqlType = getSQLType(paramStruct);
-                BValue value = paramStruct.get(PARAMETER_VALUE_FIELD);
-                int direction = getParameterDirection(paramStruct);
-                //If the parameter is an array and sql type is not "array" then treat it as an array of parameters
-                if (value != null && (value.getType().getTag() == TypeTags.ARRAY_TAG
-                        && ((BArrayType) value.getType()).getElementType().getTag() != TypeTags.BYTE_TAG)
-                        && !Constants.SQLDataTypes.ARRAY.equalsIgnoreCase(sqlType)) {
+            BRefType param = params.get(index);
+            if (param != null) {
+                ParameterBinder binder = bindingPlan.getBinder(index);
+                BValue value = getParameterValue(param);
+                int direction = getParameterDirection(param);
+                if (isArrayOfParameters(value, bindingPlan.isSQLArray(index))) {
                     int arrayLength = (int) ((BNewArray) value).size();
                     int typeTagOfArrayElement = ((BArrayType) value.getType()).getElementType().getTag();
                     for (int i = 0; i < arrayLength; i++) {
@@ -593,143 +1315,94 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
                         default:
                             throw new BallerinaException("unsupported array type for parameter index " + index);
                         }
-                        if (Constants.SQLDataTypes.REFCURSOR.equals(sqlType) || Constants.SQLDataTypes.BLOB
-                                .equals(sqlType)) {
-                            setParameter(conn, stmt, sqlType, paramValue, direction, currentOrdinal,
-                                    databaseProductName);
-                        } else {
-                            setParameter(conn, stmt, sqlType, paramValue, direction, currentOrdinal);
-                        }
+                        binder.bind(conn, stmt, paramValue, currentOrdinal, direction, databaseProductName,
+                                utcCalendar);
                         currentOrdinal++;
                     }
                 } else {
-                    if (Constants.SQLDataTypes.REFCURSOR.equals(sqlType) || Constants.SQLDataTypes.ARRAY
-                            .equals(sqlType) || Constants.SQLDataTypes.BLOB.equals(sqlType)) {
-                        setParameter(conn, stmt, sqlType, value, direction, currentOrdinal, databaseProductName);
-                    } else {
-                        setParameter(conn, stmt, sqlType, value, direction, currentOrdinal);
-                    }
+                    binder.bind(conn, stmt, value, currentOrdinal, direction, databaseProductName, utcCalendar);
                     currentOrdinal++;
                 }
             } else {
-                SQLDatasourceUtils.setNullObject(stmt, index);
+                SQLDatasourceUtils.setNullObject(stmt, firstOrdinal + index);
                 currentOrdinal++;
             }
         }
     }
 
-    private void setParameter(Connection conn, PreparedStatement stmt, String sqlType, BValue value, int direction,
-            int index) {
-        setParameter(conn, stmt, sqlType, value, direction, index, null);
+    /**
+     * Checks whether a parameter value is an array passed as several parameters, which is the case if the array is
+     * not a byte array and the SQL type of the parameter is not "array".
+     */
+    private static boolean isArrayOfParameters(BValue value, String sqlType) {
+        return isArrayOfParameters(value, Constants.SQLDataTypes.ARRAY.equalsIgnoreCase(sqlType));
     }
 
-    private void setParameter(Connection conn, PreparedStatement stmt, String sqlType, BValue value, int direction,
-            int index, String databaseProductName) {
-        if (sqlType == null || sqlType.isEmpty()) {
-            SQLDatasourceUtils.setStringValue(stmt, value, index, direction, Types.VARCHAR);
-        } else {
-            String sqlDataType = sqlType.toUpperCase(Locale.getDefault());
-            switch (sqlDataType) {
-            case Constants.SQLDataTypes.SMALLINT:
-                SQLDatasourceUtils.setSmallIntValue(stmt, value, index, direction, Types.SMALLINT);
-                break;
-            case Constants.SQLDataTypes.VARCHAR:
-                SQLDatasourceUtils.setStringValue(stmt, value, index, direction, Types.VARCHAR);
-                break;
-            case Constants.SQLDataTypes.CHAR:
-                SQLDatasourceUtils.setStringValue(stmt, value, index, direction, Types.CHAR);
-                break;
-            case Constants.SQLDataTypes.LONGVARCHAR:
-                SQLDatasourceUtils.setStringValue(stmt, value, index, direction, Types.LONGVARCHAR);
-                break;
-            case Constants.SQLDataTypes.NCHAR:
-                SQLDatasourceUtils.setNStringValue(stmt, value, index, direction, Types.NCHAR);
-                break;
-            case Constants.SQLDataTypes.NVARCHAR:
-                SQLDatasourceUtils.setNStringValue(stmt, value, index, direction, Types.NVARCHAR);
-                break;
-            case Constants.SQLDataTypes.LONGNVARCHAR:
-                SQLDatasourceUtils.setNStringValue(stmt, value, index, direction, Types.LONGNVARCHAR);
-                break;
-            case Constants.SQLDataTypes.DOUBLE:
-                SQLDatasourceUtils.setDoubleValue(stmt, value, index, direction, Types.DOUBLE);
-                break;
-            case Constants.SQLDataTypes.NUMERIC:
-                SQLDatasourceUtils.setNumericValue(stmt, value, index, direction, Types.NUMERIC);
-                break;
-            case Constants.SQLDataTypes.DECIMAL:
-                SQLDatasourceUtils.setNumericValue(stmt, value, index, direction, Types.DECIMAL);
-                break;
-            case Constants.SQLDataTypes.BIT:
-            case Constants.SQLDataTypes.BOOLEAN:
-                SQLDatasourceUtils.setBooleanValue(stmt, value, index, direction, Types.BIT);
-                break;
-            case Constants.SQLDataTypes.TINYINT:
-                SQLDatasourceUtils.setTinyIntValue(stmt, value, index, direction, Types.TINYINT);
-                break;
-            case Constants.SQLDataTypes.BIGINT:
-                SQLDatasourceUtils.setBigIntValue(stmt, value, index, direction, Types.BIGINT);
-                break;
-            case Constants.SQLDataTypes.INTEGER:
-                SQLDatasourceUtils.setIntValue(stmt, value, index, direction, Types.INTEGER);
-                break;
-            case Constants.SQLDataTypes.REAL:
-                SQLDatasourceUtils.setRealValue(stmt, value, index, direction, Types.REAL);
-                break;
-            case Constants.SQLDataTypes.FLOAT:
-                SQLDatasourceUtils.setRealValue(stmt, value, index, direction, Types.FLOAT);
-                break;
-            case Constants.SQLDataTypes.DATE:
-                SQLDatasourceUtils.setDateValue(stmt, value, index, direction, Types.DATE);
-                break;
-            case Constants.SQLDataTypes.TIMESTAMP:
-            case Constants.SQLDataTypes.DATETIME:
-                SQLDatasourceUtils.setTimeStampValue(stmt, value, index, direction, Types.TIMESTAMP, utcCalendar);
-                break;
-            case Constants.SQLDataTypes.TIME:
-                SQLDatasourceUtils.setTimeValue(stmt, value, index, direction, Types.TIME, utcCalendar);
-                break;
-            case Constants.SQLDataTypes.BINARY:
-                SQLDatasourceUtils.setBinaryValue(stmt, value, index, direction, Types.BINARY);
-                break;
-            case Constants.SQLDataTypes.BLOB:
-                SQLDatasourceUtils.setBlobValue(stmt, value, index, direction, Types.BLOB);
-                break;
-            case Constants.SQLDataTypes.LONGVARBINARY:
-                SQLDatasourceUtils.setBlobValue(stmt, value, index, direction, Types.LONGVARBINARY);
-                break;
-            case Constants.SQLDataTypes.VARBINARY:
-                SQLDatasourceUtils.setBinaryValue(stmt, value, index, direction, Types.VARBINARY);
-                break;
-            case Constants.SQLDataTypes.CLOB:
-                SQLDatasourceUtils.setClobValue(stmt, value, index, direction, Types.CLOB);
-                break;
-            case Constants.SQLDataTypes.NCLOB:
-                SQLDatasourceUtils.setNClobValue(stmt, value, index, direction, Types.NCLOB);
-                break;
-            case Constants.SQLDataTypes.ARRAY:
-                SQLDatasourceUtils.setArrayValue(conn, stmt, value, index, direction, Types.ARRAY, databaseProductName);
-                break;
-            case Constants.SQLDataTypes.STRUCT:
-                SQLDatasourceUtils.setUserDefinedValue(conn, stmt, value, index, direction, Types.STRUCT);
-                break;
-            case Constants.SQLDataTypes.REFCURSOR:
-                SQLDatasourceUtils.setRefCursorValue(stmt, index, direction, databaseProductName);
-                break;
-            default:
-                throw new BallerinaException("unsupported datatype as parameter: " + sqlType + " index:" + index);
+    private static boolean isArrayOfParameters(BValue value, boolean sqlArray) {
+        return !sqlArray && value != null && value.getType().getTag() == TypeTags.ARRAY_TAG
+                && ((BArrayType) value.getType()).getElementType().getTag() != TypeTags.BYTE_TAG;
+    }
+
+    /**
+     * Returns the binders of the given parameters. The binders resolved for the previous execution of the query are
+     * reused if the parameter types have not changed. The types are matched on the type tags of the parameters and
+     * the SQL types of the {@code sql:Parameter} records as they are, so that they are only resolved to a binder when
+     * the plan is created.
+     */
+    private BindingPlan getBindingPlan(SQLTemplate template, BRefValueArray params) {
+        int paramCount = (int) params.size();
+        BindingPlan bindingPlan = template.getBindingPlan();
+        if (bindingPlan != null && bindingPlan.size() == paramCount) {
+            int index = 0;
+            while (index < paramCount && matches(bindingPlan, index, params.get(index))) {
+                index++;
+            }
+            if (index == paramCount) {
+                return bindingPlan;
+            }
+        }
+        int[] typeTags = new int[paramCount];
+        String[] sqlTypes = new String[paramCount];
+        boolean[] sqlArrays = new boolean[paramCount];
+        ParameterBinder[] binders = new ParameterBinder[paramCount];
+        for (int index = 0; index < paramCount; index++) {
+            BRefType param = params.get(index);
+            if (param == null) {
+                typeTags[index] = BindingPlan.NULL_TYPE_TAG;
+                continue;
             }
+            typeTags[index] = param.getType().getTag();
+            String sqlType;
+            if (isParameterRecord(param)) {
+                sqlTypes[index] = getRecordSQLType(param);
+                sqlType = sqlTypes[index];
+            } else {
+                sqlType = SQLDatasourceUtils.getSQLType(param.getType());
+            }
+            sqlArrays[index] = Constants.SQLDataTypes.ARRAY.equalsIgnoreCase(sqlType);
+            binders[index] = ParameterBinders.forSQLType(sqlType);
+        }
+        bindingPlan = new BindingPlan(typeTags, sqlTypes, sqlArrays, binders);
+        template.setBindingPlan(bindingPlan);
+        return bindingPlan;
+    }
+
+    private static boolean matches(BindingPlan bindingPlan, int index, BRefType param) {
+        if (param == null) {
+            return bindingPlan.matches(index, BindingPlan.NULL_TYPE_TAG, null);
         }
+        return bindingPlan.matches(index, param.getType().getTag(),
+                isParameterRecord(param) ? getRecordSQLType(param) : null);
     }
 
     private boolean isRefCursorOutParamPresent(BRefValueArray params) {
         boolean refCursorOutParamPresent = false;
         int paramCount = (int) params.size();
         for (int index = 0; index < paramCount; index++) {
-            BMap<String, BValue> paramValue = (BMap<String, BValue>) params.get(index);
-            if (paramValue != null) {
-                String sqlType = getSQLType(paramValue);
-                int direction = getParameterDirection(paramValue);
+            BRefType param = params.get(index);
+            if (param != null) {
+                String sqlType = getSQLType(param);
+                int direction = getParameterDirection(param);
                 if (direction == Constants.QueryParamDirection.OUT && Constants.SQLDataTypes.REFCURSOR
                         .equals(sqlType)) {
                     refCursorOutParamPresent = true;
@@ -747,8 +1420,7 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         }
         int paramCount = (int) params.size();
         for (int index = 0; index < paramCount; index++) {
-            if (params.get(index).getType().getTag() != TypeTags.OBJECT_TYPE_TAG
-                    && params.get(index).getType().getTag() != TypeTags.RECORD_TYPE_TAG) {
+            if (!isParameterRecord(params.get(index))) {
                 continue;
             }
             BMap<String, BValue> paramValue = (BMap<String, BValue>) params.get(index);
@@ -898,8 +1570,7 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
     private boolean hasOutParams(BRefValueArray params) {
         int paramCount = (int) params.size();
         for (int index = 0; index < paramCount; index++) {
-            BMap<String, BValue> paramValue = (BMap<String, BValue>) params.get(index);
-            int direction = getParameterDirection(paramValue);
+            int direction = getParameterDirection(params.get(index));
             if (direction == Constants.QueryParamDirection.OUT || direction == Constants.QueryParamDirection.INOUT) {
                 return true;
             }
@@ -949,15 +1620,34 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         return constructTable(rm, context, rs, structType, false, columnDefinitions, databaseProductName);
     }
 
-    private String getSQLType(BMap<String, BValue> parameter) {
+    /**
+     * Checks whether the given parameter is a {@code sql:Parameter} record rather than a plain value.
+     */
+    private static boolean isParameterRecord(BRefType param) {
+        int tag = param.getType().getTag();
+        return tag == TypeTags.OBJECT_TYPE_TAG || tag == TypeTags.RECORD_TYPE_TAG;
+    }
+
+    private String getSQLType(BRefType param) {
+        if (!isParameterRecord(param)) {
+            return SQLDatasourceUtils.getSQLType(param.getType());
+        }
+        return getRecordSQLType(param);
+    }
+
+    private static String getRecordSQLType(BRefType param) {
         String sqlType = "";
-        BRefType refType = (BRefType) parameter.get(PARAMETER_SQL_TYPE_FIELD);
+        BRefType refType = (BRefType) ((BMap<String, BValue>) param).get(PARAMETER_SQL_TYPE_FIELD);
         if (refType != null) {
             sqlType = refType.stringValue();
         }
         return sqlType;
     }
 
+    private BValue getParameterValue(BRefType param) {
+        return isParameterRecord(param) ? ((BMap<String, BValue>) param).get(PARAMETER_VALUE_FIELD) : param;
+    }
+
     private BStructureType getStructType(BMap<String, BValue> parameter) {
         BTypeDescValue type = (BTypeDescValue) parameter.get(PARAMETER_RECORD_TYPE_FIELD);
         BStructureType structType = null;
@@ -967,9 +1657,12 @@ public abstract class AbstractSQLAction extends BlockingNativeCallableUnit {
         return structType;
     }
 
-    private int getParameterDirection(BMap<String, BValue> parameter) {
-        int direction = 0;
-        BRefType dir = (BRefType) parameter.get(PARAMETER_DIRECTION_FIELD);
+    private int getParameterDirection(BRefType param) {
+        int direction = Constants.QueryParamDirection.IN;
+        if (!isParameterRecord(param)) {
+            return direction;
+        }
+        BRefType dir = (BRefType) ((BMap<String, BValue>) param).get(PARAMETER_DIRECTION_FIELD);
         if (dir != null) {
             String sqlType = dir.stringValue();
             switch (sqlType) {
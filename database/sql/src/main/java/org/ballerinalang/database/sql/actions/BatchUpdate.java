@@ -45,6 +45,9 @@ import static org.ballerinalang.util.BLangConstants.BALLERINA_BUILTIN_PKG;
         args = {
                 @Argument(name = "client", type = TypeKind.OBJECT),
                 @Argument(name = "sqlQuery", type = TypeKind.STRING),
+                @Argument(name = "batchSize", type = TypeKind.INT),
+                @Argument(name = "commitPerBatch", type = TypeKind.BOOLEAN),
+                @Argument(name = "parallelism", type = TypeKind.INT),
                 @Argument(name = "parameters", type = TypeKind.ARRAY, elementType = TypeKind.UNION,
                           structType = "Param")
         },
@@ -59,11 +62,14 @@ public class BatchUpdate extends AbstractSQLAction {
     public void execute(Context context) {
         try {
             String query = context.getStringArgument(0);
+            int batchSize = (int) context.getIntArgument(0);
+            boolean commitPerBatch = context.getBooleanArgument(0);
+            int parallelism = (int) context.getIntArgument(1);
             BRefValueArray parameters = (BRefValueArray) context.getNullableRefArgument(1);
             SQLDatasource datasource = retrieveDatasource(context);
 
             checkAndObserveSQLAction(context, datasource, query);
-            executeBatchUpdate(context, datasource, query, parameters);
+            executeBatchUpdate(context, datasource, query, parameters, batchSize, commitPerBatch, parallelism);
         } catch (Throwable e) {
             context.setReturnValues(SQLDatasourceUtils.getSQLConnectorError(context, e));
             SQLDatasourceUtils.handleErrorOnTransaction(context);
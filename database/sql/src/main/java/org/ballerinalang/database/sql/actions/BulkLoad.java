@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.actions;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.database.sql.Constants;
+import org.ballerinalang.database.sql.SQLDatasource;
+import org.ballerinalang.database.sql.SQLDatasourceUtils;
+import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.natives.annotations.Argument;
+import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.natives.annotations.Receiver;
+import org.ballerinalang.natives.annotations.ReturnType;
+
+import static org.ballerinalang.database.sql.Constants.SQL_PACKAGE_PATH;
+import static org.ballerinalang.util.BLangConstants.BALLERINA_BUILTIN_PKG;
+
+/**
+ * {@code BulkLoad} is the bulk load action implementation of the SQL Connector.
+ *
+ * @since 0.982.1
+ */
+@BallerinaFunction(
+        orgName = "ballerina", packageName = "sql",
+        functionName = "bulkLoad",
+        receiver = @Receiver(type = TypeKind.OBJECT,
+                             structType = Constants.CALLER_ACTIONS,
+                             structPackage = SQL_PACKAGE_PATH),
+        args = {
+                @Argument(name = "client", type = TypeKind.OBJECT),
+                @Argument(name = "tableName", type = TypeKind.STRING),
+                @Argument(name = "columns", type = TypeKind.ARRAY, elementType = TypeKind.STRING),
+                @Argument(name = "rows", type = TypeKind.ARRAY, elementType = TypeKind.UNION,
+                          structType = "Param")
+        },
+        returnType = {
+                @ReturnType(type = TypeKind.INT),
+                @ReturnType(type = TypeKind.RECORD, structType = "error", structPackage = BALLERINA_BUILTIN_PKG)
+        }
+)
+public class BulkLoad extends AbstractSQLAction {
+
+    @Override
+    public void execute(Context context) {
+        try {
+            String tableName = context.getStringArgument(0);
+            BStringArray columnArray = (BStringArray) context.getNullableRefArgument(1);
+            BRefValueArray rows = (BRefValueArray) context.getNullableRefArgument(2);
+            SQLDatasource datasource = retrieveDatasource(context);
+
+            String[] columns = new String[columnArray != null ? (int) columnArray.size() : 0];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = columnArray.get(i);
+            }
+            checkAndObserveSQLAction(context, datasource, "bulk load " + tableName);
+            executeBulkLoad(context, datasource, tableName, columns, rows);
+        } catch (Throwable e) {
+            context.setReturnValues(SQLDatasourceUtils.getSQLConnectorError(context, e));
+            SQLDatasourceUtils.handleErrorOnTransaction(context);
+            checkAndObserveSQLError(context, e.getMessage());
+        }
+    }
+}
@@ -19,7 +19,10 @@ package org.ballerinalang.database.sql.actions;
 
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.database.sql.Constants;
+import org.ballerinalang.database.sql.SQLDatasource;
 import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 
@@ -42,6 +45,15 @@ public class Close extends AbstractSQLAction {
 
     @Override
     public void execute(Context context) {
-        closeConnections(retrieveDatasource(context));
+        BMap<String, BValue> callerActions = (BMap<String, BValue>) context.getRefArgument(0);
+        // Endpoints with the same configuration share a datasource, which counts the endpoints using it. Hence an
+        // endpoint must give up its reference only once, even if it is closed again, or closed by two strands at once.
+        synchronized (callerActions) {
+            if (callerActions.getNativeData(Constants.CLOSED) != null) {
+                return;
+            }
+            callerActions.addNativeData(Constants.CLOSED, Boolean.TRUE);
+        }
+        closeConnections((SQLDatasource) callerActions.getNativeData(Constants.CALLER_ACTIONS));
     }
 }
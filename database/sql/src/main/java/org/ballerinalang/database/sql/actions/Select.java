@@ -44,6 +44,7 @@ import static org.ballerinalang.util.BLangConstants.BALLERINA_BUILTIN_PKG;
                 @Argument(name = "sqlQuery", type = TypeKind.STRING),
                 @Argument(name = "recordType", type = TypeKind.TYPEDESC),
                 @Argument(name = "loadToMemory", type = TypeKind.BOOLEAN),
+                @Argument(name = "fetchSize", type = TypeKind.INT),
                 @Argument(name = "parameters", type = TypeKind.ARRAY, elementType = TypeKind.UNION,
                           structType = "Param")
         },
@@ -60,12 +61,13 @@ public class Select extends AbstractSQLAction {
             String query = context.getStringArgument(0);
             BStructureType structType = getStructType(context, 1);
             boolean loadSQLTableToMemory = context.getBooleanArgument(0);
+            int fetchSize = (int) context.getIntArgument(0);
 
             BRefValueArray parameters = (BRefValueArray) context.getNullableRefArgument(2);
             SQLDatasource datasource = retrieveDatasource(context);
 
             checkAndObserveSQLAction(context, datasource, query);
-            executeQuery(context, datasource, query, parameters, structType, loadSQLTableToMemory);
+            executeQuery(context, datasource, query, parameters, structType, loadSQLTableToMemory, fetchSize);
         } catch (Throwable e) {
             context.setReturnValues(SQLDatasourceUtils.getSQLConnectorError(context, e));
             SQLDatasourceUtils.handleErrorOnTransaction(context);
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.statement;
+
+/**
+ * The binders resolved for the parameter types of the most recent execution of a {@link SQLTemplate}. Executions
+ * with the same parameter types reuse the binders instead of resolving them again.
+ * <p>
+ * A parameter is identified by the type tag of its value and, for a {@code sql:Parameter} record, by its SQL type. The
+ * SQL type is compared by reference first, as a constant SQL type is the same string in each execution, so the types
+ * are not resolved or compared character by character when the plan is reused.
+ *
+ * @since 0.982.1
+ */
+public class BindingPlan {
+
+    /**
+     * Type tag of a null parameter.
+     */
+    public static final int NULL_TYPE_TAG = -1;
+
+    private final int[] typeTags;
+    private final String[] sqlTypes;
+    private final boolean[] sqlArrays;
+    private final ParameterBinder[] binders;
+
+    /**
+     * Creates a plan.
+     *
+     * @param typeTags  Type tags of the parameters, or {@link #NULL_TYPE_TAG} for null parameters
+     * @param sqlTypes  SQL types of the {@code sql:Parameter} records, or null for other parameters
+     * @param sqlArrays Whether each parameter is bound as a single SQL array
+     * @param binders   Binders of the parameters, or null for null parameters
+     */
+    public BindingPlan(int[] typeTags, String[] sqlTypes, boolean[] sqlArrays, ParameterBinder[] binders) {
+        this.typeTags = typeTags;
+        this.sqlTypes = sqlTypes;
+        this.sqlArrays = sqlArrays;
+        this.binders = binders;
+    }
+
+    public int size() {
+        return typeTags.length;
+    }
+
+    /**
+     * Checks whether the parameter at the given index had the same type when this plan was created.
+     *
+     * @param index   Index of the parameter
+     * @param typeTag Type tag of the parameter, or {@link #NULL_TYPE_TAG} if the parameter is null
+     * @param sqlType SQL type of the parameter if it is a {@code sql:Parameter} record, or null
+     * @return {@code true} if the plan is applicable to the parameter
+     */
+    public boolean matches(int index, int typeTag, String sqlType) {
+        if (typeTags[index] != typeTag) {
+            return false;
+        }
+        String planned = sqlTypes[index];
+        return planned == sqlType || (planned != null && planned.equals(sqlType));
+    }
+
+    /**
+     * Returns the binder of the parameter at the given index.
+     *
+     * @param index Index of the parameter
+     * @return The binder, or null if the parameter was null
+     */
+    public ParameterBinder getBinder(int index) {
+        return binders[index];
+    }
+
+    /**
+     * Checks whether the parameter at the given index is bound as a single SQL array, rather than an array value
+     * being bound as several parameters.
+     *
+     * @param index Index of the parameter
+     * @return {@code true} if the SQL type of the parameter is ARRAY
+     */
+    public boolean isSQLArray(int index) {
+        return sqlArrays[index];
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.statement;
+
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * A simple {@code INSERT ... VALUES (...)} statement with a single row of values, which can be rewritten into an
+ * insert of several rows, {@code INSERT ... VALUES (...), (...), ...}. Batches of the statement then take one
+ * execution per group of rows instead of one per row, whether or not the driver rewrites batches itself.
+ * <p>
+ * Only statements which end with their row of values, and have all their placeholders in it, are rewritten. The
+ * number of rows of a rewritten statement is a power of two, so that only a few distinct statements are prepared for
+ * batches of any size.
+ *
+ * @since 0.982.1
+ */
+public class MultiRowInsert {
+
+    private static final int MAX_ROWS = 128;
+
+    private final String head;
+    private final String row;
+    private final int placeholderCount;
+    // Rewritten statements, indexed by the base 2 logarithm of their number of rows.
+    private final String[] queries = new String[Integer.numberOfTrailingZeros(MAX_ROWS) + 1];
+
+    private MultiRowInsert(String head, String row, int placeholderCount) {
+        this.head = head;
+        this.row = row;
+        this.placeholderCount = placeholderCount;
+    }
+
+    /**
+     * Checks whether the given statement can be rewritten into an insert of several rows.
+     *
+     * @param query                The SQL statement
+     * @param placeholderPositions Positions of the placeholders of the statement
+     * @return The rewritable insert, or null if the statement cannot be rewritten
+     */
+    static MultiRowInsert parse(String query, int[] placeholderPositions) {
+        int end = query.length();
+        while (end > 0 && (Character.isWhitespace(query.charAt(end - 1)) || query.charAt(end - 1) == ';')) {
+            end--;
+        }
+        if (placeholderPositions.length == 0 || end == 0 || query.charAt(end - 1) != ')') {
+            return null;
+        }
+        boolean firstWord = true;
+        int depth = 0;
+        int valuesEnd = -1;
+        int rowStart = -1;
+        int rowEnd = -1;
+        int i = 0;
+        while (i < end) {
+            char c = query.charAt(i);
+            switch (c) {
+            case '\'':
+            case '"':
+            case '`':
+                i = SQLTemplate.skipQuoted(query, i, c);
+                break;
+            case '[':
+                i = SQLTemplate.skipQuoted(query, i, ']');
+                break;
+            case '-':
+                i = i + 1 < end && query.charAt(i + 1) == '-' ? SQLTemplate.skipLineComment(query, i) : i + 1;
+                break;
+            case '/':
+                i = i + 1 < end && query.charAt(i + 1) == '*' ? SQLTemplate.skipBlockComment(query, i) : i + 1;
+                break;
+            case '$':
+                i = SQLTemplate.skipDollarQuoted(query, i);
+                break;
+            case '(':
+                if (depth == 0 && valuesEnd >= 0 && rowStart < 0) {
+                    rowStart = i;
+                }
+                depth++;
+                i++;
+                break;
+            case ')':
+                depth--;
+                if (depth == 0 && rowStart >= 0 && rowEnd < 0) {
+                    rowEnd = i + 1;
+                }
+                i++;
+                break;
+            default:
+                if (Character.isLetter(c) || c == '_') {
+                    int wordEnd = i + 1;
+                    while (wordEnd < end && isIdentifierPart(query.charAt(wordEnd))) {
+                        wordEnd++;
+                    }
+                    String word = query.substring(i, wordEnd).toLowerCase(Locale.ENGLISH);
+                    if (firstWord && !word.equals("insert")) {
+                        return null;
+                    }
+                    firstWord = false;
+                    if (depth == 0 && word.equals("values")) {
+                        valuesEnd = wordEnd;
+                        rowStart = -1;
+                        rowEnd = -1;
+                    }
+                    i = wordEnd;
+                } else {
+                    i++;
+                }
+            }
+        }
+        if (rowStart < 0 || rowEnd != end || !query.substring(valuesEnd, rowStart).trim().isEmpty()
+                || placeholderPositions[0] < rowStart
+                || placeholderPositions[placeholderPositions.length - 1] > rowEnd) {
+            return null;
+        }
+        return new MultiRowInsert(query.substring(0, rowStart), query.substring(rowStart, rowEnd),
+                placeholderPositions.length);
+    }
+
+    /**
+     * Returns the number of placeholders of a single row.
+     *
+     * @return The placeholder count
+     */
+    public int getPlaceholderCount() {
+        return placeholderCount;
+    }
+
+    /**
+     * Returns the largest number of rows of a rewritten statement on the given database. This is bound by the
+     * maximum number of parameters of a statement the database accepts.
+     *
+     * @param databaseProductName Lower case product name of the database
+     * @return The number of rows, a power of two, or 1 if the database does not support inserting several rows with
+     * a single statement
+     */
+    public int getMaxRows(String databaseProductName) {
+        int maxRows = Math.min(MAX_ROWS, getMaxParameters(databaseProductName) / placeholderCount);
+        return maxRows > 0 ? Integer.highestOneBit(maxRows) : 1;
+    }
+
+    /**
+     * Returns the number of rows of the rewritten statement which inserts the next rows of a batch, the largest power
+     * of two which is neither larger than the rows left nor than the rows of the previous statement.
+     *
+     * @param statementRows Number of rows of the previous statement, or {@link #getMaxRows(String)} for the first
+     * @param remainingRows Number of rows of the batch left to insert
+     * @return The number of rows
+     */
+    public static int getStatementRows(int statementRows, int remainingRows) {
+        while (statementRows > remainingRows) {
+            statementRows >>= 1;
+        }
+        return statementRows;
+    }
+
+    /**
+     * Returns the statement inserting the given number of rows.
+     *
+     * @param rowCount Number of rows, a power of two not larger than {@link #getMaxRows(String)}
+     * @return The rewritten statement
+     */
+    public String getQuery(int rowCount) {
+        int index = Integer.numberOfTrailingZeros(rowCount);
+        String query = queries[index];
+        if (query == null) {
+            StringBuilder builder = new StringBuilder(head.length() + (row.length() + 2) * rowCount);
+            builder.append(head).append(row);
+            for (int i = 1; i < rowCount; i++) {
+                builder.append(", ").append(row);
+            }
+            query = builder.toString();
+            queries[index] = query;
+        }
+        return query;
+    }
+
+    /**
+     * Sets the update counts of the rows inserted by one execution of a rewritten statement. Each row inserts a
+     * single row, so the rows get an update count of 1 if the statement inserted all of them. Otherwise the number
+     * of rows inserted by each is not known.
+     *
+     * @param updateCount   Update count of the rewritten statement
+     * @param rowCount      Number of rows of the rewritten statement
+     * @param updateCounts  Update counts of the rows of the batch
+     * @param firstRowIndex Index of the first row of the rewritten statement in the batch
+     */
+    public static void setUpdateCounts(int updateCount, int rowCount, int[] updateCounts, int firstRowIndex) {
+        int rowUpdateCount;
+        if (updateCount == rowCount) {
+            rowUpdateCount = 1;
+        } else if (updateCount == Statement.EXECUTE_FAILED) {
+            rowUpdateCount = Statement.EXECUTE_FAILED;
+        } else {
+            rowUpdateCount = Statement.SUCCESS_NO_INFO;
+        }
+        int end = Math.min(updateCounts.length, firstRowIndex + rowCount);
+        for (int i = firstRowIndex; i < end; i++) {
+            updateCounts[i] = rowUpdateCount;
+        }
+    }
+
+    private static int getMaxParameters(String databaseProductName) {
+        if (databaseProductName == null) {
+            return 0;
+        }
+        if (databaseProductName.equals("postgresql") || databaseProductName.equals("h2")) {
+            return Short.MAX_VALUE;
+        }
+        if (databaseProductName.contains("mysql") || databaseProductName.contains("mariadb")) {
+            return 65535;
+        }
+        if (databaseProductName.contains("sql server")) {
+            return 2100;
+        }
+        // Other databases, e.g. Oracle before 23c, do not support inserting several rows with VALUES.
+        return 0;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.statement;
+
+import org.ballerinalang.model.values.BValue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Calendar;
+
+/**
+ * Binds a parameter value of a particular SQL type to a prepared statement.
+ *
+ * @since 0.982.1
+ */
+@FunctionalInterface
+public interface ParameterBinder {
+
+    /**
+     * Sets the given value to the statement, or registers it as an out parameter depending on the direction.
+     *
+     * @param conn                The connection the statement belongs to
+     * @param stmt                The statement
+     * @param value               The parameter value
+     * @param index               Zero based index of the parameter
+     * @param direction           Direction of the parameter
+     * @param databaseProductName Lower case database product name, if required by the SQL type
+     * @param utcCalendar         Calendar used to bind date time values
+     */
+    void bind(Connection conn, PreparedStatement stmt, BValue value, int index, int direction,
+            String databaseProductName, Calendar utcCalendar);
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.statement;
+
+import org.ballerinalang.database.sql.Constants;
+import org.ballerinalang.database.sql.SQLDatasourceUtils;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves the {@link ParameterBinder} of a {@code sql:Parameter} SQL type.
+ *
+ * @since 0.982.1
+ */
+public class ParameterBinders {
+
+    private static final ParameterBinder VARCHAR_BINDER = (conn, stmt, value, index, direction, dbName, cal) ->
+            SQLDatasourceUtils.setStringValue(stmt, value, index, direction, Types.VARCHAR);
+    private static final Map<String, ParameterBinder> BINDERS = new HashMap<>();
+
+    static {
+        BINDERS.put(Constants.SQLDataTypes.SMALLINT, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setSmallIntValue(stmt, value, index, direction, Types.SMALLINT));
+        BINDERS.put(Constants.SQLDataTypes.VARCHAR, VARCHAR_BINDER);
+        BINDERS.put(Constants.SQLDataTypes.CHAR, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setStringValue(stmt, value, index, direction, Types.CHAR));
+        BINDERS.put(Constants.SQLDataTypes.LONGVARCHAR, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setStringValue(stmt, value, index, direction, Types.LONGVARCHAR));
+        BINDERS.put(Constants.SQLDataTypes.NCHAR, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setNStringValue(stmt, value, index, direction, Types.NCHAR));
+        BINDERS.put(Constants.SQLDataTypes.NVARCHAR, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setNStringValue(stmt, value, index, direction, Types.NVARCHAR));
+        BINDERS.put(Constants.SQLDataTypes.LONGNVARCHAR, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setNStringValue(stmt, value, index, direction, Types.LONGNVARCHAR));
+        BINDERS.put(Constants.SQLDataTypes.DOUBLE, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setDoubleValue(stmt, value, index, direction, Types.DOUBLE));
+        BINDERS.put(Constants.SQLDataTypes.NUMERIC, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setNumericValue(stmt, value, index, direction, Types.NUMERIC));
+        BINDERS.put(Constants.SQLDataTypes.DECIMAL, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setNumericValue(stmt, value, index, direction, Types.DECIMAL));
+        ParameterBinder booleanBinder = (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setBooleanValue(stmt, value, index, direction, Types.BIT);
+        BINDERS.put(Constants.SQLDataTypes.BIT, booleanBinder);
+        BINDERS.put(Constants.SQLDataTypes.BOOLEAN, booleanBinder);
+        BINDERS.put(Constants.SQLDataTypes.TINYINT, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setTinyIntValue(stmt, value, index, direction, Types.TINYINT));
+        BINDERS.put(Constants.SQLDataTypes.BIGINT, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setBigIntValue(stmt, value, index, direction, Types.BIGINT));
+        BINDERS.put(Constants.SQLDataTypes.INTEGER, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setIntValue(stmt, value, index, direction, Types.INTEGER));
+        BINDERS.put(Constants.SQLDataTypes.REAL, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setRealValue(stmt, value, index, direction, Types.REAL));
+        BINDERS.put(Constants.SQLDataTypes.FLOAT, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setRealValue(stmt, value, index, direction, Types.FLOAT));
+        BINDERS.put(Constants.SQLDataTypes.DATE, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setDateValue(stmt, value, index, direction, Types.DATE));
+        ParameterBinder timestampBinder = (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setTimeStampValue(stmt, value, index, direction, Types.TIMESTAMP, cal);
+        BINDERS.put(Constants.SQLDataTypes.TIMESTAMP, timestampBinder);
+        BINDERS.put(Constants.SQLDataTypes.DATETIME, timestampBinder);
+        BINDERS.put(Constants.SQLDataTypes.TIME, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setTimeValue(stmt, value, index, direction, Types.TIME, cal));
+        BINDERS.put(Constants.SQLDataTypes.BINARY, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setBinaryValue(stmt, value, index, direction, Types.BINARY));
+        BINDERS.put(Constants.SQLDataTypes.BLOB, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setBlobValue(stmt, value, index, direction, Types.BLOB));
+        BINDERS.put(Constants.SQLDataTypes.LONGVARBINARY, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setBlobValue(stmt, value, index, direction, Types.LONGVARBINARY));
+        BINDERS.put(Constants.SQLDataTypes.VARBINARY, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setBinaryValue(stmt, value, index, direction, Types.VARBINARY));
+        BINDERS.put(Constants.SQLDataTypes.CLOB, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setClobValue(stmt, value, index, direction, Types.CLOB));
+        BINDERS.put(Constants.SQLDataTypes.NCLOB, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setNClobValue(stmt, value, index, direction, Types.NCLOB));
+        BINDERS.put(Constants.SQLDataTypes.ARRAY, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setArrayValue(conn, stmt, value, index, direction, Types.ARRAY, dbName));
+        BINDERS.put(Constants.SQLDataTypes.STRUCT, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setUserDefinedValue(conn, stmt, value, index, direction, Types.STRUCT));
+        BINDERS.put(Constants.SQLDataTypes.REFCURSOR, (conn, stmt, value, index, direction, dbName, cal) ->
+                SQLDatasourceUtils.setRefCursorValue(stmt, index, direction, dbName));
+    }
+
+    private ParameterBinders() {
+    }
+
+    /**
+     * Returns the binder of the given SQL type. An empty SQL type is bound as a VARCHAR.
+     *
+     * @param sqlType SQL type of the parameter, as given in the {@code sql:Parameter} record
+     * @return The binder. The binder of an unsupported SQL type fails when a value is bound.
+     */
+    public static ParameterBinder forSQLType(String sqlType) {
+        if (sqlType == null || sqlType.isEmpty()) {
+            return VARCHAR_BINDER;
+        }
+        ParameterBinder binder = BINDERS.get(sqlType);
+        if (binder == null) {
+            binder = BINDERS.get(sqlType.toUpperCase(Locale.getDefault()));
+        }
+        if (binder == null) {
+            binder = (conn, stmt, value, index, direction, dbName, cal) -> {
+                throw new BallerinaException("unsupported datatype as parameter: " + sqlType + " index:" + index);
+            };
+        }
+        return binder;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.statement;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A SQL query tokenized into literal segments and "?" placeholder slots. Placeholders inside string literals, quoted
+ * identifiers, comments and PostgreSQL dollar-quoted strings are not treated as slots.
+ * <p>
+ * Templates are cached by the raw query string, so a query is scanned only once. The parameter binders resolved for
+ * the query, the tables it refers to and its rewritten multi-row form are kept in the template as well, see
+ * {@link BindingPlan}, {@link TableReferences} and {@link MultiRowInsert}.
+ *
+ * @since 0.982.1
+ */
+public class SQLTemplate {
+
+    private static final int MAX_CACHED_TEMPLATES = 2048;
+    private static final Map<String, SQLTemplate> TEMPLATE_CACHE = new ConcurrentHashMap<>();
+
+    private final String query;
+    private final int[] placeholderPositions;
+    private volatile BindingPlan bindingPlan;
+    private volatile TableReferences tableReferences;
+    private volatile MultiRowInsert multiRowInsert;
+    private volatile boolean multiRowInsertParsed;
+
+    private SQLTemplate(String query, int[] placeholderPositions) {
+        this.query = query;
+        this.placeholderPositions = placeholderPositions;
+    }
+
+    /**
+     * Returns the template of the given query, tokenizing it if it has not been seen before.
+     *
+     * @param query The raw SQL query
+     * @return The compiled template
+     */
+    public static SQLTemplate compile(String query) {
+        SQLTemplate template = TEMPLATE_CACHE.get(query);
+        if (template == null) {
+            // Queries built dynamically could otherwise grow the cache without bound.
+            if (TEMPLATE_CACHE.size() >= MAX_CACHED_TEMPLATES) {
+                TEMPLATE_CACHE.clear();
+            }
+            template = new SQLTemplate(query, findPlaceholders(query));
+            TEMPLATE_CACHE.put(query, template);
+        }
+        return template;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getPlaceholderCount() {
+        return placeholderPositions.length;
+    }
+
+    public BindingPlan getBindingPlan() {
+        return bindingPlan;
+    }
+
+    public void setBindingPlan(BindingPlan bindingPlan) {
+        this.bindingPlan = bindingPlan;
+    }
+
+    /**
+     * Returns the tables read and written by the query, scanning the query the first time this is called.
+     *
+     * @return The table references of the query
+     */
+    public TableReferences getTableReferences() {
+        TableReferences references = tableReferences;
+        if (references == null) {
+            references = TableReferences.parse(query);
+            tableReferences = references;
+        }
+        return references;
+    }
+
+    /**
+     * Returns the insert of several rows the query can be rewritten into, scanning the query the first time this is
+     * called.
+     *
+     * @return The rewritable insert, or null if the query is not a simple insert of a single row
+     */
+    public MultiRowInsert getMultiRowInsert() {
+        if (!multiRowInsertParsed) {
+            multiRowInsert = MultiRowInsert.parse(query, placeholderPositions);
+            multiRowInsertParsed = true;
+        }
+        return multiRowInsert;
+    }
+
+    /**
+     * Expands each placeholder slot to the given number of comma separated placeholders. This is used to pass the
+     * elements of an array parameter as individual parameters, e.g. for an IN clause.
+     *
+     * @param placeholderCounts Number of placeholders for each slot, in order. Slots without a count are kept as a
+     *                          single placeholder and counts without a slot are ignored.
+     * @return The expanded query
+     */
+    public String expand(int[] placeholderCounts) {
+        int slotCount = Math.min(placeholderCounts.length, placeholderPositions.length);
+        int extraLength = 0;
+        for (int i = 0; i < slotCount; i++) {
+            extraLength += placeholderCounts[i] > 0 ? 2 * (placeholderCounts[i] - 1) : -1;
+        }
+        if (extraLength == 0 && isUnchanged(placeholderCounts, slotCount)) {
+            return query;
+        }
+        StringBuilder expandedQuery = new StringBuilder(query.length() + extraLength);
+        int segmentStart = 0;
+        for (int i = 0; i < slotCount; i++) {
+            int position = placeholderPositions[i];
+            expandedQuery.append(query, segmentStart, position);
+            appendPlaceholders(expandedQuery, placeholderCounts[i]);
+            segmentStart = position + 1;
+        }
+        expandedQuery.append(query, segmentStart, query.length());
+        return expandedQuery.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SQLTemplate{query=" + query + ", placeholders=" + Arrays.toString(placeholderPositions) + "}";
+    }
+
+    private static boolean isUnchanged(int[] placeholderCounts, int slotCount) {
+        for (int i = 0; i < slotCount; i++) {
+            if (placeholderCounts[i] != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendPlaceholders(StringBuilder builder, int count) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append('?');
+        }
+    }
+
+    private static int[] findPlaceholders(String query) {
+        int[] positions = new int[8];
+        int count = 0;
+        int length = query.length();
+        int i = 0;
+        while (i < length) {
+            char c = query.charAt(i);
+            switch (c) {
+            case '\'':
+            case '"':
+            case '`':
+                i = skipQuoted(query, i, c);
+                break;
+            case '-':
+                if (i + 1 < length && query.charAt(i + 1) == '-') {
+                    i = skipLineComment(query, i);
+                } else {
+                    i++;
+                }
+                break;
+            case '/':
+                if (i + 1 < length && query.charAt(i + 1) == '*') {
+                    i = skipBlockComment(query, i);
+                } else {
+                    i++;
+                }
+                break;
+            case '$':
+                i = skipDollarQuoted(query, i);
+                break;
+            case '?':
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = i;
+                i++;
+                break;
+            default:
+                i++;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * Skips a quoted string or identifier. A doubled quote character is an escaped quote and is handled naturally by
+     * treating it as the end of one quoted section followed by the start of the next.
+     */
+    static int skipQuoted(String query, int start, char quote) {
+        int end = query.indexOf(quote, start + 1);
+        return end < 0 ? query.length() : end + 1;
+    }
+
+    static int skipLineComment(String query, int start) {
+        int end = query.indexOf('\n', start + 2);
+        return end < 0 ? query.length() : end + 1;
+    }
+
+    /**
+     * Skips a block comment. Nested comments, as supported by PostgreSQL, are taken into account.
+     */
+    static int skipBlockComment(String query, int start) {
+        int length = query.length();
+        int depth = 1;
+        int i = start + 2;
+        while (i < length && depth > 0) {
+            char c = query.charAt(i);
+            if (c == '*' && i + 1 < length && query.charAt(i + 1) == '/') {
+                depth--;
+                i += 2;
+            } else if (c == '/' && i + 1 < length && query.charAt(i + 1) == '*') {
+                depth++;
+                i += 2;
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Skips a PostgreSQL dollar-quoted string such as $$text$$ or $tag$text$tag$. A "$" which does not start a valid
+     * opening tag, e.g. a positional parameter like $1 or a "$" within an identifier, is skipped on its own.
+     */
+    static int skipDollarQuoted(String query, int start) {
+        if (start > 0 && isIdentifierPart(query.charAt(start - 1))) {
+            return start + 1;
+        }
+        int length = query.length();
+        int tagEnd = start + 1;
+        while (tagEnd < length && query.charAt(tagEnd) != '$') {
+            char c = query.charAt(tagEnd);
+            boolean validTagChar = tagEnd == start + 1 ? Character.isLetter(c) || c == '_' : isIdentifierPart(c);
+            if (!validTagChar) {
+                return start + 1;
+            }
+            tagEnd++;
+        }
+        if (tagEnd >= length) {
+            return start + 1;
+        }
+        String tag = query.substring(start, tagEnd + 1);
+        int closingTag = query.indexOf(tag, tagEnd + 1);
+        return closingTag < 0 ? length : closingTag + tag.length();
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.statement;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * LRU cache of prepared statements belonging to a single physical database connection. Statements are borrowed for
+ * the duration of an action and returned afterwards, so a statement is never shared by two callers at the same time.
+ *
+ * @since 0.982.1
+ */
+public class StatementCache {
+
+    private final Connection connection;
+    private final int maxSize;
+    private final LinkedHashMap<StatementKey, PreparedStatement> idleStatements = new LinkedHashMap<>();
+    private final Map<Statement, StatementKey> borrowedStatements = new IdentityHashMap<>();
+
+    public StatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the physical connection the cached statements are prepared on.
+     *
+     * @return The physical connection.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Borrows a statement for the given query, preparing a new one if there is no idle statement for it.
+     *
+     * @param query                The processed SQL query
+     * @param resultSetType        Result set type of the statement
+     * @param resultSetConcurrency Result set concurrency of the statement
+     * @return A prepared statement which must be given back through {@link #release(Statement)}
+     * @throws SQLException If the statement cannot be prepared
+     */
+    public synchronized PreparedStatement borrow(String query, int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        StatementKey key = new StatementKey(query, resultSetType, resultSetConcurrency);
+        PreparedStatement stmt = idleStatements.remove(key);
+        if (stmt == null || stmt.isClosed()) {
+            stmt = connection.prepareStatement(query, resultSetType, resultSetConcurrency);
+        }
+        borrowedStatements.put(stmt, key);
+        return stmt;
+    }
+
+    /**
+     * Prepares a statement ahead of its first use and keeps it idle in the cache. Nothing is done if the cache
+     * already holds a statement for the query or is full.
+     *
+     * @param query                The processed SQL query
+     * @param resultSetType        Result set type of the statement
+     * @param resultSetConcurrency Result set concurrency of the statement
+     * @throws SQLException If the statement cannot be prepared
+     */
+    public synchronized void prepare(String query, int resultSetType, int resultSetConcurrency)
+            throws SQLException {
+        StatementKey key = new StatementKey(query, resultSetType, resultSetConcurrency);
+        if (idleStatements.containsKey(key) || idleStatements.size() + borrowedStatements.size() >= maxSize) {
+            return;
+        }
+        idleStatements.put(key, connection.prepareStatement(query, resultSetType, resultSetConcurrency));
+    }
+
+    /**
+     * Gives back a borrowed statement. The statement is kept for reuse and the least recently used idle statement is
+     * closed if the cache is full.
+     *
+     * @param stmt The statement to give back
+     * @return {@code true} if the statement was borrowed from this cache, {@code false} otherwise
+     */
+    public synchronized boolean release(Statement stmt) {
+        StatementKey key = borrowedStatements.remove(stmt);
+        if (key == null) {
+            return false;
+        }
+        try {
+            if (stmt.isClosed()) {
+                return true;
+            }
+            PreparedStatement preparedStatement = (PreparedStatement) stmt;
+            preparedStatement.clearParameters();
+            preparedStatement.clearBatch();
+            closeQuietly(idleStatements.put(key, preparedStatement));
+            evictExcessStatements();
+        } catch (SQLException e) {
+            closeQuietly(stmt);
+        }
+        return true;
+    }
+
+    /**
+     * Closes all the statements held by this cache.
+     */
+    public synchronized void close() {
+        List<Statement> statements = new ArrayList<>(idleStatements.values());
+        statements.addAll(borrowedStatements.keySet());
+        idleStatements.clear();
+        borrowedStatements.clear();
+        for (Statement stmt : statements) {
+            closeQuietly(stmt);
+        }
+    }
+
+    /**
+     * Checks whether the underlying physical connection has been closed by the pool.
+     *
+     * @return {@code true} if the connection is no longer usable
+     */
+    public boolean isConnectionClosed() {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private void evictExcessStatements() {
+        Iterator<PreparedStatement> iterator = idleStatements.values().iterator();
+        while (idleStatements.size() + borrowedStatements.size() > maxSize && iterator.hasNext()) {
+            closeQuietly(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private static void closeQuietly(Statement stmt) {
+        if (stmt == null) {
+            return;
+        }
+        try {
+            stmt.close();
+        } catch (SQLException ignored) {
+            // The statement is discarded anyway.
+        }
+    }
+
+    /**
+     * Identifies a cached statement.
+     */
+    private static class StatementKey {
+        private final String query;
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+
+        StatementKey(String query, int resultSetType, int resultSetConcurrency) {
+            this.query = query;
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StatementKey)) {
+                return false;
+            }
+            StatementKey that = (StatementKey) o;
+            return resultSetType == that.resultSetType && resultSetConcurrency == that.resultSetConcurrency
+                    && query.equals(that.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, resultSetType, resultSetConcurrency);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.statement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Names of the tables a SQL statement reads and writes, found with a simple scan of the statement. Views, triggers and
+ * stored procedures are not resolved, so the names are only the ones written in the statement. Table names are lower
+ * case and without their schema.
+ *
+ * @since 0.982.1
+ */
+public class TableReferences {
+
+    private static final char QUOTED_PREFIX = '"';
+    private static final Set<String> WRITE_KEYWORDS = new HashSet<>(Arrays.asList(
+            "insert", "update", "delete", "merge", "replace", "truncate", "upsert"));
+    private static final Set<String> DATA_MANIPULATION_KEYWORDS = new HashSet<>(Arrays.asList(
+            "insert", "update", "delete", "merge", "replace", "upsert"));
+    private static final Set<String> READ_STATEMENT_KEYWORDS = new HashSet<>(Arrays.asList(
+            "select", "with", "values", "table"));
+    private static final Set<String> NON_TABLE_KEYWORDS = new HashSet<>(Arrays.asList(
+            "select", "from", "where", "join", "inner", "left", "right", "full", "cross", "outer", "natural",
+            "straight_join", "on", "using", "group", "order", "having", "limit", "offset", "union", "intersect",
+            "except", "minus", "window", "fetch", "for", "into", "set", "values", "as", "lateral", "only", "ignore",
+            "low_priority", "quick", "table", "with", "returning", "default", "partition"));
+
+    private final Set<String> readTables;
+    private final Set<String> writtenTables;
+    private final boolean dataManipulation;
+
+    private TableReferences(Set<String> readTables, Set<String> writtenTables, boolean dataManipulation) {
+        this.readTables = readTables;
+        this.writtenTables = writtenTables;
+        this.dataManipulation = dataManipulation;
+    }
+
+    /**
+     * Scans the given statement for the tables it reads and writes.
+     *
+     * @param query The SQL statement
+     * @return The table references of the statement
+     */
+    public static TableReferences parse(String query) {
+        List<String> tokens = tokenize(query);
+        Set<String> writtenTables = findWrittenTables(tokens);
+        return new TableReferences(findReadTables(tokens), writtenTables,
+                writtenTables != null && DATA_MANIPULATION_KEYWORDS.contains(tokens.get(0)));
+    }
+
+    /**
+     * Returns the tables read by a query which only reads data.
+     *
+     * @return The table names, or null if the statement is not a plain query, e.g. a call or a query which locks or
+     * writes rows
+     */
+    public Set<String> getReadTables() {
+        return readTables;
+    }
+
+    /**
+     * Returns the tables written by a statement.
+     *
+     * @return The table names, or null if the statement is not recognized and could write any table
+     */
+    public Set<String> getWrittenTables() {
+        return writtenTables;
+    }
+
+    /**
+     * Returns whether the statement is a single insert, update, delete or merge, as opposed to a query, a call or a
+     * statement which changes the schema.
+     *
+     * @return true if the statement only modifies rows
+     */
+    public boolean isDataManipulation() {
+        return dataManipulation;
+    }
+
+    private static Set<String> findReadTables(List<String> tokens) {
+        if (tokens.isEmpty() || !READ_STATEMENT_KEYWORDS.contains(tokens.get(0)) || hasMultipleStatements(tokens)) {
+            return null;
+        }
+        Set<String> tables = new HashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if ((WRITE_KEYWORDS.contains(token) && !isFunctionCall(tokens, i)) || token.equals("into")) {
+                // SELECT ... FOR UPDATE, SELECT ... INTO and data modifying WITH queries
+                return null;
+            }
+            if (token.equals("from") || token.equals("join") || token.equals("straight_join")) {
+                readTableList(tokens, i + 1, tables, token.equals("from"));
+            } else if (token.equals("table") && i == 0) {
+                readTableList(tokens, i + 1, tables, false);
+            }
+        }
+        return Collections.unmodifiableSet(tables);
+    }
+
+    private static Set<String> findWrittenTables(List<String> tokens) {
+        if (tokens.isEmpty() || hasMultipleStatements(tokens)) {
+            return null;
+        }
+        String statementKeyword = tokens.get(0);
+        if (!WRITE_KEYWORDS.contains(statementKeyword) && !statementKeyword.equals("with")) {
+            return null;
+        }
+        Set<String> tables = new HashSet<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (!WRITE_KEYWORDS.contains(token) || isFunctionCall(tokens, i)) {
+                continue;
+            }
+            // Skips modifiers such as INSERT IGNORE INTO, INSERT OR REPLACE INTO and DELETE FROM.
+            int nameIndex = i + 1;
+            while (nameIndex < tokens.size() && (NON_TABLE_KEYWORDS.contains(tokens.get(nameIndex))
+                    || tokens.get(nameIndex).equals("or") || tokens.get(nameIndex).equals("replace"))) {
+                nameIndex++;
+            }
+            readTableList(tokens, nameIndex, tables, false);
+        }
+        return tables.isEmpty() ? null : Collections.unmodifiableSet(tables);
+    }
+
+    /**
+     * Reads a table name and its optional alias starting at the given token. If {@code isList} is set, further table
+     * names separated by commas are read as well. Sub queries are skipped, since their own FROM clauses are scanned
+     * separately.
+     */
+    private static void readTableList(List<String> tokens, int start, Set<String> tables, boolean isList) {
+        int i = start;
+        while (i < tokens.size()) {
+            String token = tokens.get(i);
+            if (token.equals("(")) {
+                i = skipParentheses(tokens, i);
+            } else if (isIdentifier(token) && !NON_TABLE_KEYWORDS.contains(token)) {
+                String name = unquote(token);
+                i++;
+                while (i + 1 < tokens.size() && tokens.get(i).equals(".") && isIdentifier(tokens.get(i + 1))) {
+                    name = unquote(tokens.get(i + 1));
+                    i += 2;
+                }
+                tables.add(name);
+            } else {
+                return;
+            }
+            if (i < tokens.size() && tokens.get(i).equals("as")) {
+                i++;
+            }
+            if (i < tokens.size() && isIdentifier(tokens.get(i)) && !NON_TABLE_KEYWORDS.contains(tokens.get(i))) {
+                i++;
+            }
+            if (!isList || i >= tokens.size() || !tokens.get(i).equals(",")) {
+                return;
+            }
+            i++;
+        }
+    }
+
+    private static int skipParentheses(List<String> tokens, int start) {
+        int depth = 0;
+        for (int i = start; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (token.equals("(")) {
+                depth++;
+            } else if (token.equals(")") && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return tokens.size();
+    }
+
+    private static boolean isFunctionCall(List<String> tokens, int index) {
+        return index + 1 < tokens.size() && tokens.get(index + 1).equals("(");
+    }
+
+    private static boolean hasMultipleStatements(List<String> tokens) {
+        int separator = tokens.indexOf(";");
+        return separator >= 0 && separator < tokens.size() - 1;
+    }
+
+    private static boolean isIdentifier(String token) {
+        char c = token.charAt(0);
+        return Character.isLetter(c) || c == '_' || c == '#' || c == '@' || c == QUOTED_PREFIX;
+    }
+
+    private static String unquote(String identifier) {
+        return identifier.charAt(0) == QUOTED_PREFIX ? identifier.substring(1) : identifier;
+    }
+
+    /**
+     * Splits the statement into lower case identifiers and single character symbols. String literals are replaced by
+     * a single "'" token and comments are dropped. Quoted identifiers are marked with a leading '"', so that they are
+     * not taken for keywords.
+     */
+    private static List<String> tokenize(String query) {
+        List<String> tokens = new ArrayList<>();
+        int length = query.length();
+        int i = 0;
+        while (i < length) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                int end = query.indexOf('\'', i + 1);
+                while (end >= 0 && end + 1 < length && query.charAt(end + 1) == '\'') {
+                    end = query.indexOf('\'', end + 2);
+                }
+                tokens.add("'");
+                i = end < 0 ? length : end + 1;
+            } else if (c == '"' || c == '`' || c == '[') {
+                char closingQuote = c == '[' ? ']' : c;
+                int end = query.indexOf(closingQuote, i + 1);
+                end = end < 0 ? length : end;
+                if (end > i + 1) {
+                    tokens.add(QUOTED_PREFIX + query.substring(i + 1, end).toLowerCase(Locale.ENGLISH));
+                }
+                i = end + 1;
+            } else if (c == '-' && i + 1 < length && query.charAt(i + 1) == '-') {
+                int end = query.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else if (c == '/' && i + 1 < length && query.charAt(i + 1) == '*') {
+                int end = query.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (Character.isLetterOrDigit(c) || c == '_' || c == '#' || c == '@' || c == '$') {
+                int end = i + 1;
+                while (end < length && isIdentifierPart(query.charAt(end))) {
+                    end++;
+                }
+                tokens.add(query.substring(i, end).toLowerCase(Locale.ENGLISH));
+                i = end;
+            } else {
+                tokens.add(String.valueOf(c));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '#' || c == '@' || c == '$';
+    }
+}
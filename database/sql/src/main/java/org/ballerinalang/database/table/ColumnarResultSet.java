@@ -0,0 +1,653 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.table;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Struct;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.serial.SerialArray;
+import javax.sql.rowset.serial.SerialBlob;
+import javax.sql.rowset.serial.SerialStruct;
+
+/**
+ * In-memory result set which stores each column in a primitive array. Integer, floating point, boolean and date time
+ * columns do not box their values, and string columns are dictionary encoded while their values repeat. Nulls are
+ * kept in a bitmap per column.
+ *
+ * @since 0.982.1
+ */
+public class ColumnarResultSet extends AbstractInMemoryResultSet {
+
+    private static final int INITIAL_CAPACITY = 64;
+    // Rough heap sizes used to estimate the size of the loaded rows.
+    private static final int REFERENCE_BYTES = 8;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int STRING_HEADER_BYTES = 40;
+    private static final int DICTIONARY_ENTRY_BYTES = 48;
+    private static final int OBJECT_BYTES = 64;
+
+    private final Column[] columns;
+
+    private final boolean complete;
+    private final long estimatedBytes;
+
+    private ColumnarResultSet(ResultSetMetaData metaData, int rowCount, Column[] columns, boolean complete,
+            long estimatedBytes) {
+        super(metaData, rowCount);
+        this.columns = columns;
+        this.complete = complete;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Reads all the remaining rows of the given result set. The given result set is not closed.
+     *
+     * @param rs The result set to read
+     * @return An in-memory result set holding the rows
+     * @throws SQLException If the rows cannot be read
+     */
+    public static ColumnarResultSet load(ResultSet rs) throws SQLException {
+        return load(rs, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads the remaining rows of the given result set until the estimated heap size of the rows read reaches the given
+     * limit. The given result set is not closed.
+     *
+     * @param rs       The result set to read
+     * @param maxBytes Estimated heap size after which no more rows are read
+     * @return An in-memory result set holding the rows. It is not complete if the limit was reached.
+     * @throws SQLException If the rows cannot be read
+     */
+    static ColumnarResultSet load(ResultSet rs, long maxBytes) throws SQLException {
+        ResultSetMetaData sourceMetaData = rs.getMetaData();
+        int columnCount = sourceMetaData.getColumnCount();
+        Column[] columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = createColumn(sourceMetaData.getColumnType(i + 1));
+        }
+        int rowCount = 0;
+        long estimatedBytes = 0;
+        boolean complete = false;
+        while (estimatedBytes < maxBytes) {
+            if (!rs.next()) {
+                complete = true;
+                break;
+            }
+            for (int i = 0; i < columnCount; i++) {
+                estimatedBytes += columns[i].read(rs, i + 1, rowCount);
+            }
+            rowCount++;
+        }
+        for (Column column : columns) {
+            column.complete(rowCount);
+        }
+        return new ColumnarResultSet(copyMetaData(sourceMetaData), rowCount, columns, complete, estimatedBytes);
+    }
+
+    /**
+     * Checks whether all the rows of the source result set were read.
+     *
+     * @return {@code false} if loading stopped at the size limit
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public AbstractInMemoryResultSet copy() {
+        return new ColumnarResultSet(metaData, getRowCount(), columns, complete, estimatedBytes);
+    }
+
+    @Override
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        checkColumn(columnIndex);
+        Column column = columns[columnIndex - 1];
+        wasNull = column.isNull(cursor);
+        return wasNull ? null : column.get(cursor);
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        checkColumn(columnIndex);
+        Column column = columns[columnIndex - 1];
+        if (column instanceof StringColumn) {
+            String value = ((StringColumn) column).getString(cursor);
+            wasNull = value == null;
+            return value;
+        }
+        return super.getString(columnIndex);
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        checkColumn(columnIndex);
+        Column column = columns[columnIndex - 1];
+        if (column instanceof LongColumn) {
+            wasNull = column.isNull(cursor);
+            return ((LongColumn) column).values[cursor];
+        }
+        return super.getLong(columnIndex);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        checkColumn(columnIndex);
+        Column column = columns[columnIndex - 1];
+        if (column instanceof DoubleColumn) {
+            wasNull = column.isNull(cursor);
+            return ((DoubleColumn) column).values[cursor];
+        }
+        return super.getDouble(columnIndex);
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        checkColumn(columnIndex);
+        Column column = columns[columnIndex - 1];
+        if (column instanceof BooleanColumn) {
+            wasNull = column.isNull(cursor);
+            return ((BooleanColumn) column).values.get(cursor);
+        }
+        return super.getBoolean(columnIndex);
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        checkColumn(columnIndex);
+        Column column = columns[columnIndex - 1];
+        if (column instanceof BinaryColumn) {
+            byte[] value = ((BinaryColumn) column).values[cursor];
+            wasNull = value == null;
+            return value;
+        }
+        return super.getBytes(columnIndex);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        checkColumn(columnIndex);
+        Column column = columns[columnIndex - 1];
+        if (column instanceof ObjectColumn && ((ObjectColumn) column).values[cursor] instanceof BigDecimal) {
+            wasNull = false;
+            return (BigDecimal) ((ObjectColumn) column).values[cursor];
+        }
+        return super.getBigDecimal(columnIndex);
+    }
+    private static Column createColumn(int sqlType) {
+        switch (sqlType) {
+        case Types.TINYINT:
+        case Types.SMALLINT:
+        case Types.INTEGER:
+        case Types.BIGINT:
+            return new LongColumn(sqlType);
+        case Types.REAL:
+        case Types.FLOAT:
+        case Types.DOUBLE:
+            return new DoubleColumn(sqlType);
+        case Types.BIT:
+        case Types.BOOLEAN:
+            return new BooleanColumn();
+        case Types.CHAR:
+        case Types.VARCHAR:
+        case Types.LONGVARCHAR:
+        case Types.NCHAR:
+        case Types.NVARCHAR:
+        case Types.LONGNVARCHAR:
+        case Types.CLOB:
+        case Types.NCLOB:
+            return new StringColumn(sqlType);
+        case Types.DATE:
+        case Types.TIME:
+        case Types.TIME_WITH_TIMEZONE:
+        case Types.TIMESTAMP:
+        case Types.TIMESTAMP_WITH_TIMEZONE:
+            return new DateTimeColumn(sqlType);
+        case Types.BINARY:
+        case Types.VARBINARY:
+        case Types.LONGVARBINARY:
+        case Types.BLOB:
+            return new BinaryColumn(sqlType);
+        default:
+            return new ObjectColumn(sqlType);
+        }
+    }
+
+    private static ResultSetMetaData copyMetaData(ResultSetMetaData source) throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        int columnCount = source.getColumnCount();
+        metaData.setColumnCount(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            metaData.setColumnName(i, source.getColumnName(i));
+            metaData.setColumnLabel(i, source.getColumnLabel(i));
+            metaData.setColumnType(i, source.getColumnType(i));
+            metaData.setColumnTypeName(i, source.getColumnTypeName(i));
+            metaData.setTableName(i, source.getTableName(i));
+            metaData.setNullable(i, source.isNullable(i));
+            metaData.setSigned(i, source.isSigned(i));
+            metaData.setPrecision(i, Math.max(source.getPrecision(i), 0));
+            metaData.setScale(i, Math.max(source.getScale(i), 0));
+        }
+        return metaData;
+    }
+
+    private static int grow(int capacity, int row) {
+        int newCapacity = Math.max(capacity, INITIAL_CAPACITY);
+        while (newCapacity <= row) {
+            newCapacity = newCapacity + (newCapacity >> 1);
+        }
+        return newCapacity;
+    }
+
+    /**
+     * Values of a single column.
+     */
+    private abstract static class Column {
+        final int sqlType;
+        final BitSet nulls = new BitSet();
+
+        Column(int sqlType) {
+            this.sqlType = sqlType;
+        }
+
+        /**
+         * Reads the value of the column from the current row of the given result set.
+         *
+         * @return Estimated number of heap bytes taken by the value
+         */
+        abstract long read(ResultSet rs, int columnIndex, int row) throws SQLException;
+
+        /**
+         * Returns the boxed value of a non null row.
+         */
+        abstract Object get(int row) throws SQLException;
+
+        /**
+         * Releases the capacity which is not used after all the rows are read.
+         */
+        abstract void complete(int rowCount);
+
+        boolean isNull(int row) {
+            return nulls.get(row);
+        }
+    }
+
+    private static class LongColumn extends Column {
+        long[] values = new long[0];
+
+        LongColumn(int sqlType) {
+            super(sqlType);
+        }
+
+        @Override
+        long read(ResultSet rs, int columnIndex, int row) throws SQLException {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = rs.getLong(columnIndex);
+            if (rs.wasNull()) {
+                nulls.set(row);
+            }
+            return Long.BYTES;
+        }
+
+        @Override
+        Object get(int row) {
+            return sqlType == Types.BIGINT ? (Object) values[row] : (Object) (int) values[row];
+        }
+
+        @Override
+        void complete(int rowCount) {
+            values = Arrays.copyOf(values, rowCount);
+        }
+    }
+
+    private static class DoubleColumn extends Column {
+        double[] values = new double[0];
+
+        DoubleColumn(int sqlType) {
+            super(sqlType);
+        }
+
+        @Override
+        long read(ResultSet rs, int columnIndex, int row) throws SQLException {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            values[row] = rs.getDouble(columnIndex);
+            if (rs.wasNull()) {
+                nulls.set(row);
+            }
+            return Double.BYTES;
+        }
+
+        @Override
+        Object get(int row) {
+            return sqlType == Types.REAL ? (Object) (float) values[row] : (Object) values[row];
+        }
+
+        @Override
+        void complete(int rowCount) {
+            values = Arrays.copyOf(values, rowCount);
+        }
+    }
+
+    private static class BooleanColumn extends Column {
+        final BitSet values = new BitSet();
+
+        BooleanColumn() {
+            super(Types.BOOLEAN);
+        }
+
+        @Override
+        long read(ResultSet rs, int columnIndex, int row) throws SQLException {
+            if (rs.getBoolean(columnIndex)) {
+                values.set(row);
+            }
+            if (rs.wasNull()) {
+                nulls.set(row);
+            }
+            return 1;
+        }
+
+        @Override
+        Object get(int row) {
+            return values.get(row);
+        }
+
+        @Override
+        void complete(int rowCount) {
+        }
+    }
+
+    /**
+     * String values, stored as codes of a dictionary of the distinct values. Once the values turn out to be mostly
+     * distinct, the dictionary is dropped and the values are stored as they are.
+     */
+    private static class StringColumn extends Column {
+        private static final int DICTIONARY_CHECK_ROWS = 1024;
+
+        int[] codes = new int[0];
+        List<String> dictionary = new ArrayList<>();
+        Map<String, Integer> dictionaryIndex = new HashMap<>();
+        String[] values;
+
+        StringColumn(int sqlType) {
+            super(sqlType);
+        }
+
+        @Override
+        long read(ResultSet rs, int columnIndex, int row) throws SQLException {
+            String value = readString(rs, columnIndex);
+            if (value == null) {
+                nulls.set(row);
+            }
+            if (values != null) {
+                if (row >= values.length) {
+                    values = Arrays.copyOf(values, grow(values.length, row));
+                }
+                values[row] = value;
+                return value == null ? REFERENCE_BYTES : REFERENCE_BYTES + stringBytes(value);
+            }
+            if (row >= codes.length) {
+                codes = Arrays.copyOf(codes, grow(codes.length, row));
+            }
+            long bytes = Integer.BYTES;
+            if (value == null) {
+                codes[row] = -1;
+            } else {
+                Integer code = dictionaryIndex.get(value);
+                if (code == null) {
+                    code = dictionary.size();
+                    dictionary.add(value);
+                    dictionaryIndex.put(value, code);
+                    bytes += DICTIONARY_ENTRY_BYTES + stringBytes(value);
+                }
+                codes[row] = code;
+            }
+            if (row + 1 == DICTIONARY_CHECK_ROWS && dictionary.size() > DICTIONARY_CHECK_ROWS / 2) {
+                decode(row + 1);
+            }
+            return bytes;
+        }
+
+        private static long stringBytes(String value) {
+            return STRING_HEADER_BYTES + 2L * value.length();
+        }
+
+        private String readString(ResultSet rs, int columnIndex) throws SQLException {
+            if (sqlType == Types.CLOB || sqlType == Types.NCLOB) {
+                Clob clob = sqlType == Types.CLOB ? rs.getClob(columnIndex) : rs.getNClob(columnIndex);
+                return clob == null ? null : clob.getSubString(1L, (int) clob.length());
+            }
+            return rs.getString(columnIndex);
+        }
+
+        private void decode(int rowCount) {
+            String[] decoded = new String[codes.length];
+            for (int row = 0; row < rowCount; row++) {
+                decoded[row] = codes[row] < 0 ? null : dictionary.get(codes[row]);
+            }
+            values = decoded;
+            codes = null;
+            dictionary = null;
+            dictionaryIndex = null;
+        }
+
+        String getString(int row) {
+            if (values != null) {
+                return values[row];
+            }
+            int code = codes[row];
+            return code < 0 ? null : dictionary.get(code);
+        }
+
+        @Override
+        Object get(int row) {
+            return getString(row);
+        }
+
+        @Override
+        void complete(int rowCount) {
+            if (values != null) {
+                values = Arrays.copyOf(values, rowCount);
+            } else {
+                codes = Arrays.copyOf(codes, rowCount);
+                dictionary = new ArrayList<>(dictionary);
+                dictionaryIndex = null;
+            }
+        }
+    }
+
+    /**
+     * Date, time and timestamp values, stored as epoch milliseconds in the default time zone, the same way as the
+     * JDBC driver returns them without a calendar. Sub millisecond precision of timestamps is kept separately.
+     */
+    private static class DateTimeColumn extends Column {
+        long[] millis = new long[0];
+        int[] nanos;
+
+        DateTimeColumn(int sqlType) {
+            super(sqlType);
+            if (isTimestamp()) {
+                nanos = new int[0];
+            }
+        }
+
+        private boolean isTimestamp() {
+            return sqlType == Types.TIMESTAMP || sqlType == Types.TIMESTAMP_WITH_TIMEZONE;
+        }
+
+        @Override
+        long read(ResultSet rs, int columnIndex, int row) throws SQLException {
+            if (row >= millis.length) {
+                int capacity = grow(millis.length, row);
+                millis = Arrays.copyOf(millis, capacity);
+                if (nanos != null) {
+                    nanos = Arrays.copyOf(nanos, capacity);
+                }
+            }
+            java.util.Date value;
+            if (isTimestamp()) {
+                Timestamp timestamp = rs.getTimestamp(columnIndex);
+                if (timestamp != null) {
+                    nanos[row] = timestamp.getNanos();
+                }
+                value = timestamp;
+            } else if (sqlType == Types.DATE) {
+                value = rs.getDate(columnIndex);
+            } else {
+                value = rs.getTime(columnIndex);
+            }
+            if (value == null) {
+                nulls.set(row);
+            } else {
+                millis[row] = value.getTime();
+            }
+            return nanos == null ? Long.BYTES : Long.BYTES + Integer.BYTES;
+        }
+
+        @Override
+        Object get(int row) {
+            if (isTimestamp()) {
+                Timestamp timestamp = new Timestamp(millis[row]);
+                timestamp.setNanos(nanos[row]);
+                return timestamp;
+            }
+            return sqlType == Types.DATE ? new Date(millis[row]) : new Time(millis[row]);
+        }
+
+        @Override
+        void complete(int rowCount) {
+            millis = Arrays.copyOf(millis, rowCount);
+            if (nanos != null) {
+                nanos = Arrays.copyOf(nanos, rowCount);
+            }
+        }
+    }
+
+    private static class BinaryColumn extends Column {
+        byte[][] values = new byte[0][];
+
+        BinaryColumn(int sqlType) {
+            super(sqlType);
+        }
+
+        @Override
+        long read(ResultSet rs, int columnIndex, int row) throws SQLException {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            byte[] value;
+            if (sqlType == Types.BLOB) {
+                Blob blob = rs.getBlob(columnIndex);
+                value = blob == null ? null : blob.getBytes(1L, (int) blob.length());
+            } else {
+                value = rs.getBytes(columnIndex);
+            }
+            if (value == null) {
+                nulls.set(row);
+            }
+            values[row] = value;
+            return value == null ? REFERENCE_BYTES : REFERENCE_BYTES + ARRAY_HEADER_BYTES + value.length;
+        }
+
+        @Override
+        Object get(int row) throws SQLException {
+            return sqlType == Types.BLOB ? new SerialBlob(values[row]) : values[row];
+        }
+
+        @Override
+        void complete(int rowCount) {
+            values = Arrays.copyOf(values, rowCount);
+        }
+    }
+
+    /**
+     * Values of the remaining types, such as decimals, arrays and structs. Driver specific values which are only valid
+     * while the connection is open are copied into their serializable counterparts.
+     */
+    private static class ObjectColumn extends Column {
+        Object[] values = new Object[0];
+
+        ObjectColumn(int sqlType) {
+            super(sqlType);
+        }
+
+        @Override
+        long read(ResultSet rs, int columnIndex, int row) throws SQLException {
+            if (row >= values.length) {
+                values = Arrays.copyOf(values, grow(values.length, row));
+            }
+            Object value;
+            switch (sqlType) {
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                value = rs.getBigDecimal(columnIndex);
+                break;
+            case Types.ARRAY:
+                Array array = rs.getArray(columnIndex);
+                value = array == null ? null : new SerialArray(array);
+                break;
+            default:
+                value = rs.getObject(columnIndex);
+                if (value instanceof Struct) {
+                    value = new SerialStruct((Struct) value, new HashMap<>());
+                } else if (value instanceof Array) {
+                    value = new SerialArray((Array) value);
+                }
+            }
+            if (value == null) {
+                nulls.set(row);
+            }
+            values[row] = value;
+            return value == null ? REFERENCE_BYTES : REFERENCE_BYTES + OBJECT_BYTES;
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void complete(int rowCount) {
+            values = Arrays.copyOf(values, rowCount);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.table;
+
+import org.ballerinalang.model.ColumnDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of the results of select queries loaded to memory, with least recently used eviction by entry count and
+ * estimated size. Entries expire after a time to live and are invalidated when a table they read is written.
+ * <p>
+ * A write could happen while a query is being executed, after which its result must not be cached. So a query takes
+ * the {@link #getVersion() version} of the cache before it is executed and the result is only cached if none of its
+ * tables have been invalidated since.
+ *
+ * @since 0.982.1
+ */
+public class ResultCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final LinkedHashMap<Key, CachedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> tableInvalidationVersions = new HashMap<>();
+    private long version;
+    private long allTablesInvalidationVersion;
+    private long totalBytes;
+
+    /**
+     * Creates a result cache.
+     *
+     * @param maxEntries Maximum number of cached results
+     * @param maxBytes   Maximum estimated size of all the cached results, or 0 for no limit
+     * @param ttlMillis  Time in milliseconds a result is cached for, or 0 to keep results until they are invalidated
+     */
+    public ResultCache(int maxEntries, long maxBytes, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Returns the current version of the cache, which changes whenever tables are invalidated.
+     *
+     * @return The version to pass to {@link #put}
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Looks up a cached result.
+     *
+     * @param key The key of the query
+     * @return The cached result, or null if there is no valid result for the query
+     */
+    public synchronized CachedResult get(Key key) {
+        CachedResult result = entries.get(key);
+        if (result == null) {
+            return null;
+        }
+        if (ttlNanos > 0 && System.nanoTime() - result.expiresAt > 0) {
+            remove(key);
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Caches the result of a query, unless a table read by the query has been invalidated since the query started.
+     *
+     * @param key               The key of the query
+     * @param version           Version of the cache taken before the query was executed
+     * @param resultSet         The rows of the result
+     * @param columnDefinitions Column definitions of the result
+     */
+    public synchronized void put(Key key, long version, AbstractInMemoryResultSet resultSet,
+            List<ColumnDefinition> columnDefinitions) {
+        if (isInvalidatedSince(key.tables, version)) {
+            return;
+        }
+        long bytes = resultSet.getEstimatedBytes();
+        if (maxBytes > 0 && bytes > maxBytes) {
+            return;
+        }
+        remove(key);
+        entries.put(key, new CachedResult(resultSet, columnDefinitions, bytes, System.nanoTime() + ttlNanos));
+        totalBytes += bytes;
+        Iterator<CachedResult> iterator = entries.values().iterator();
+        while ((entries.size() > maxEntries || (maxBytes > 0 && totalBytes > maxBytes)) && iterator.hasNext()) {
+            totalBytes -= iterator.next().bytes;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes the cached results which read any of the given tables.
+     *
+     * @param tables Names of the written tables, or null if any table could have been written
+     */
+    public synchronized void invalidate(Set<String> tables) {
+        version++;
+        if (tables == null) {
+            allTablesInvalidationVersion = version;
+            entries.clear();
+            totalBytes = 0;
+            return;
+        }
+        for (String table : tables) {
+            tableInvalidationVersions.put(table, version);
+        }
+        Iterator<Map.Entry<Key, CachedResult>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, CachedResult> entry = iterator.next();
+            if (!Collections.disjoint(entry.getKey().tables, tables)) {
+                totalBytes -= entry.getValue().bytes;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    public void clear() {
+        invalidate(null);
+    }
+
+    private boolean isInvalidatedSince(Set<String> tables, long version) {
+        if (allTablesInvalidationVersion > version) {
+            return true;
+        }
+        for (String table : tables) {
+            Long invalidationVersion = tableInvalidationVersions.get(table);
+            if (invalidationVersion != null && invalidationVersion > version) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remove(Key key) {
+        CachedResult result = entries.remove(key);
+        if (result != null) {
+            totalBytes -= result.bytes;
+        }
+    }
+
+    /**
+     * Identifies a query by its processed SQL and the parameter values bound to it.
+     */
+    public static final class Key {
+        private final String query;
+        private final String[] parameters;
+        private final Set<String> tables;
+        private final int hashCode;
+
+        /**
+         * Creates a key.
+         *
+         * @param query      The processed SQL query
+         * @param parameters The SQL type and value of each parameter, in a form which is equal for equal values
+         * @param tables     Names of the tables read by the query. Not a part of the identity of the key.
+         */
+        public Key(String query, String[] parameters, Set<String> tables) {
+            this.query = query;
+            this.parameters = parameters;
+            this.tables = tables;
+            this.hashCode = 31 * query.hashCode() + Arrays.hashCode(parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return hashCode == that.hashCode && query.equals(that.query) && Arrays.equals(parameters, that.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * A cached query result.
+     */
+    public static final class CachedResult {
+        private final AbstractInMemoryResultSet resultSet;
+        private final List<ColumnDefinition> columnDefinitions;
+        private final long bytes;
+        private final long expiresAt;
+
+        private CachedResult(AbstractInMemoryResultSet resultSet, List<ColumnDefinition> columnDefinitions, long bytes,
+                long expiresAt) {
+            this.resultSet = resultSet;
+            this.columnDefinitions = columnDefinitions;
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Returns a result set over the cached rows, with a cursor of its own.
+         *
+         * @return A new result set
+         */
+        public AbstractInMemoryResultSet newResultSet() {
+            return resultSet.copy();
+        }
+
+        public List<ColumnDefinition> getColumnDefinitions() {
+            return columnDefinitions;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.table;
+
+import org.ballerinalang.model.ColumnDefinition;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Lets concurrent executions of the same select query share a single execution. The first caller executes the query
+ * and loads the result to memory, while the callers which arrive before it is done wait for the result and read it
+ * through copies with cursors of their own. The result is not kept once the execution is done, see
+ * {@link ResultCache} for that.
+ *
+ * @since 0.982.1
+ */
+public class SelectCoalescer {
+
+    private final ConcurrentHashMap<ResultCache.Key, CompletableFuture<SharedResult>> executions =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Joins the execution of a query in progress, or makes the caller the one to execute the query. The caller which
+     * executes the query must call {@link #complete} or {@link #fail} once done.
+     *
+     * @param key The key of the query
+     * @return The result of the execution in progress, or null if the caller has to execute the query
+     */
+    public CompletableFuture<SharedResult> join(ResultCache.Key key) {
+        return executions.putIfAbsent(key, new CompletableFuture<>());
+    }
+
+    /**
+     * Hands the result of an execution to the callers waiting for it.
+     *
+     * @param key               The key of the query
+     * @param resultSet         The rows of the result, which must not be read by the caller other than through a copy
+     * @param columnDefinitions Column definitions of the result
+     */
+    public void complete(ResultCache.Key key, AbstractInMemoryResultSet resultSet,
+            List<ColumnDefinition> columnDefinitions) {
+        CompletableFuture<SharedResult> execution = executions.remove(key);
+        if (execution != null) {
+            execution.complete(new SharedResult(resultSet, columnDefinitions));
+        }
+    }
+
+    /**
+     * Hands the error of a failed execution to the callers waiting for it.
+     *
+     * @param key   The key of the query
+     * @param error The error
+     */
+    public void fail(ResultCache.Key key, Throwable error) {
+        CompletableFuture<SharedResult> execution = executions.remove(key);
+        if (execution != null) {
+            execution.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Waits for the result of an execution joined through {@link #join}.
+     *
+     * @param execution The execution
+     * @return The result
+     */
+    public static SharedResult await(CompletableFuture<SharedResult> execution) {
+        try {
+            return execution.get();
+        } catch (ExecutionException e) {
+            throw new BallerinaException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BallerinaException("interrupted while waiting for the result of the same query");
+        }
+    }
+
+    /**
+     * The result of an execution shared by several callers.
+     */
+    public static final class SharedResult {
+        private final AbstractInMemoryResultSet resultSet;
+        private final List<ColumnDefinition> columnDefinitions;
+
+        private SharedResult(AbstractInMemoryResultSet resultSet, List<ColumnDefinition> columnDefinitions) {
+            this.resultSet = resultSet;
+            this.columnDefinitions = columnDefinitions;
+        }
+
+        /**
+         * Returns a result set over the shared rows, with a cursor of its own.
+         *
+         * @return A new result set
+         */
+        public AbstractInMemoryResultSet newResultSet() {
+            return resultSet.copy();
+        }
+
+        public List<ColumnDefinition> getColumnDefinitions() {
+            return columnDefinitions;
+        }
+    }
+}
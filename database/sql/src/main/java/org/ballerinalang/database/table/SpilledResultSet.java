@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.table;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Blob;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.rowset.serial.SerialBlob;
+
+/**
+ * In-memory result set for results which are too large to be kept on the heap. Rows are serialized into a temporary
+ * file, which is mapped into memory and deleted right away. Only the offset of each row is kept on the heap, and the
+ * values of a row are decoded when the cursor moves to it.
+ *
+ * @since 0.982.1
+ */
+public class SpilledResultSet extends AbstractInMemoryResultSet {
+
+    private static final String TEMP_FILE_PREFIX = "ballerina-sql-table-";
+    private static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte INTEGER = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte FLOAT = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte STRING = 6;
+    private static final byte DECIMAL = 7;
+    private static final byte BYTES = 8;
+    private static final byte BLOB = 9;
+    private static final byte DATE = 10;
+    private static final byte TIME = 11;
+    private static final byte TIMESTAMP = 12;
+    private static final byte SERIALIZED = 13;
+
+    private final ByteBuffer[] segments;
+    private final int[] segmentFirstRows;
+    private final int[] rowOffsets;
+    private final int columnCount;
+    private final long fileSize;
+    private Object[] currentRow;
+    private int currentRowIndex = -1;
+
+    private SpilledResultSet(ResultSetMetaData metaData, int rowCount, ByteBuffer[] segments, int[] segmentFirstRows,
+            int[] rowOffsets, int columnCount, long fileSize) {
+        super(metaData, rowCount);
+        this.segments = segments;
+        this.segmentFirstRows = segmentFirstRows;
+        this.rowOffsets = rowOffsets;
+        this.columnCount = columnCount;
+        this.fileSize = fileSize;
+    }
+
+    /**
+     * Reads all the remaining rows of the given result set. The rows are kept on the heap as long as their estimated
+     * size stays below the given threshold, and are spilled to a memory mapped file otherwise. The given result set is
+     * not closed.
+     *
+     * @param rs             The result set to read
+     * @param spillThreshold Estimated heap size in bytes after which the rows are spilled
+     * @return An in-memory result set holding the rows
+     * @throws SQLException If the rows cannot be read or spilled
+     */
+    public static AbstractInMemoryResultSet load(ResultSet rs, long spillThreshold) throws SQLException {
+        ColumnarResultSet chunk = ColumnarResultSet.load(rs, spillThreshold);
+        if (chunk.isComplete()) {
+            return chunk;
+        }
+        ResultSetMetaData metaData = chunk.getMetaData();
+        Path file = null;
+        try {
+            file = Files.createTempFile(TEMP_FILE_PREFIX, ".tmp");
+            SpillWriter writer = new SpillWriter(metaData.getColumnCount());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                while (true) {
+                    while (chunk.next()) {
+                        writer.writeRow(chunk, out);
+                    }
+                    if (chunk.isComplete()) {
+                        break;
+                    }
+                    chunk = ColumnarResultSet.load(rs, spillThreshold);
+                }
+            }
+            return writer.map(metaData, file);
+        } catch (IOException e) {
+            throw new SQLException("error in spilling the table to disk: " + e.getMessage(), e);
+        } finally {
+            if (file != null) {
+                deleteTempFile(file);
+            }
+        }
+    }
+
+    @Override
+    public AbstractInMemoryResultSet copy() {
+        return new SpilledResultSet(metaData, getRowCount(), segments, segmentFirstRows, rowOffsets, columnCount,
+                fileSize);
+    }
+
+    /**
+     * Returns the size of the spilled rows. Most of it is held in the memory mapping rather than on the heap.
+     *
+     * @return The estimated size in bytes
+     */
+    @Override
+    public long getEstimatedBytes() {
+        return fileSize + (long) Integer.BYTES * rowOffsets.length;
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        checkColumn(columnIndex);
+        if (currentRowIndex != cursor) {
+            currentRow = readRow(cursor);
+            currentRowIndex = cursor;
+        }
+        Object value = currentRow[columnIndex - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    private Object[] readRow(int row) throws SQLException {
+        int segment = Arrays.binarySearch(segmentFirstRows, row);
+        if (segment < 0) {
+            segment = -segment - 2;
+        }
+        ByteBuffer buffer = segments[segment].duplicate();
+        buffer.position(rowOffsets[row]);
+        Object[] values = new Object[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            values[i] = readValue(buffer);
+        }
+        return values;
+    }
+
+    private static Object readValue(ByteBuffer buffer) throws SQLException {
+        byte tag = buffer.get();
+        switch (tag) {
+        case NULL:
+            return null;
+        case LONG:
+            return buffer.getLong();
+        case INTEGER:
+            return buffer.getInt();
+        case DOUBLE:
+            return buffer.getDouble();
+        case FLOAT:
+            return buffer.getFloat();
+        case BOOLEAN:
+            return buffer.get() != 0;
+        case STRING:
+            return new String(readBytes(buffer), StandardCharsets.UTF_8);
+        case DECIMAL:
+            int scale = buffer.getInt();
+            return new BigDecimal(new BigInteger(readBytes(buffer)), scale);
+        case BYTES:
+            return readBytes(buffer);
+        case BLOB:
+            return new SerialBlob(readBytes(buffer));
+        case DATE:
+            return new Date(buffer.getLong());
+        case TIME:
+            return new Time(buffer.getLong());
+        case TIMESTAMP:
+            Timestamp timestamp = new Timestamp(buffer.getLong());
+            timestamp.setNanos(buffer.getInt());
+            return timestamp;
+        case SERIALIZED:
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(readBytes(buffer)))) {
+                return in.readObject();
+            } catch (IOException | ClassNotFoundException e) {
+                throw new SQLException("error in reading a spilled value: " + e.getMessage(), e);
+            }
+        default:
+            throw new SQLException("invalid value tag in spilled table: " + tag);
+        }
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Deletes the temporary file. The memory mapping stays valid after the file is deleted, except on platforms which
+     * do not allow deleting a mapped file, where the file is deleted when the JVM exits instead.
+     */
+    private static void deleteTempFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * Serializes rows into the temporary file, keeping track of where each row starts. The file is mapped in segments
+     * of at most 2GB, and a row never spans two segments.
+     */
+    private static class SpillWriter {
+        private final int columnCount;
+        private final ByteArrayOutputStream rowBuffer = new ByteArrayOutputStream();
+        private final DataOutputStream rowOut = new DataOutputStream(rowBuffer);
+        private final List<Long> segmentStarts = new ArrayList<>();
+        private final List<Integer> segmentFirstRows = new ArrayList<>();
+        private int[] rowOffsets = new int[1024];
+        private int rowCount;
+        private long fileSize;
+
+        SpillWriter(int columnCount) {
+            this.columnCount = columnCount;
+        }
+
+        void writeRow(ResultSet rs, OutputStream out) throws SQLException, IOException {
+            rowBuffer.reset();
+            for (int i = 1; i <= columnCount; i++) {
+                writeValue(rs.getObject(i));
+            }
+            int rowLength = rowBuffer.size();
+            if (segmentStarts.isEmpty()
+                    || fileSize - segmentStarts.get(segmentStarts.size() - 1) + rowLength > MAX_SEGMENT_BYTES) {
+                segmentStarts.add(fileSize);
+                segmentFirstRows.add(rowCount);
+            }
+            if (rowCount == rowOffsets.length) {
+                rowOffsets = Arrays.copyOf(rowOffsets, rowCount + (rowCount >> 1));
+            }
+            rowOffsets[rowCount++] = (int) (fileSize - segmentStarts.get(segmentStarts.size() - 1));
+            rowBuffer.writeTo(out);
+            fileSize += rowLength;
+        }
+
+        private void writeValue(Object value) throws SQLException, IOException {
+            if (value == null) {
+                rowOut.writeByte(NULL);
+            } else if (value instanceof Long) {
+                rowOut.writeByte(LONG);
+                rowOut.writeLong((Long) value);
+            } else if (value instanceof Integer) {
+                rowOut.writeByte(INTEGER);
+                rowOut.writeInt((Integer) value);
+            } else if (value instanceof Double) {
+                rowOut.writeByte(DOUBLE);
+                rowOut.writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                rowOut.writeByte(FLOAT);
+                rowOut.writeFloat((Float) value);
+            } else if (value instanceof Boolean) {
+                rowOut.writeByte(BOOLEAN);
+                rowOut.writeBoolean((Boolean) value);
+            } else if (value instanceof String) {
+                rowOut.writeByte(STRING);
+                writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+            } else if (value instanceof BigDecimal) {
+                BigDecimal decimal = (BigDecimal) value;
+                rowOut.writeByte(DECIMAL);
+                rowOut.writeInt(decimal.scale());
+                writeBytes(decimal.unscaledValue().toByteArray());
+            } else if (value instanceof byte[]) {
+                rowOut.writeByte(BYTES);
+                writeBytes((byte[]) value);
+            } else if (value instanceof Blob) {
+                Blob blob = (Blob) value;
+                rowOut.writeByte(BLOB);
+                writeBytes(blob.getBytes(1L, (int) blob.length()));
+            } else if (value instanceof Timestamp) {
+                Timestamp timestamp = (Timestamp) value;
+                rowOut.writeByte(TIMESTAMP);
+                rowOut.writeLong(timestamp.getTime());
+                rowOut.writeInt(timestamp.getNanos());
+            } else if (value instanceof Date) {
+                rowOut.writeByte(DATE);
+                rowOut.writeLong(((Date) value).getTime());
+            } else if (value instanceof Time) {
+                rowOut.writeByte(TIME);
+                rowOut.writeLong(((Time) value).getTime());
+            } else if (value instanceof Serializable) {
+                ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+                try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+                    out.writeObject(value);
+                }
+                rowOut.writeByte(SERIALIZED);
+                writeBytes(serialized.toByteArray());
+            } else {
+                throw new SQLException("values of type " + value.getClass().getName() + " cannot be spilled to disk");
+            }
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            rowOut.writeInt(bytes.length);
+            rowOut.write(bytes);
+        }
+
+        SpilledResultSet map(ResultSetMetaData metaData, Path file) throws IOException, SQLException {
+            int segmentCount = segmentStarts.size();
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            int[] firstRows = new int[segmentCount];
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                for (int i = 0; i < segmentCount; i++) {
+                    long start = segmentStarts.get(i);
+                    long end = i + 1 < segmentCount ? segmentStarts.get(i + 1) : fileSize;
+                    segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                    firstRows[i] = segmentFirstRows.get(i);
+                }
+            }
+            return new SpilledResultSet(metaData, rowCount, segments, firstRows, Arrays.copyOf(rowOffsets, rowCount),
+                    columnCount, fileSize);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.statement;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Tests the rewriting of single row inserts into inserts of several rows.
+ *
+ * @since 0.982.1
+ */
+public class MultiRowInsertTest {
+
+    @Test(description = "Test rewriting an insert of a single row")
+    public void testRewriteSingleRowInsert() {
+        MultiRowInsert insert = parse("INSERT INTO employees (id, name) VALUES (?, ?);");
+        Assert.assertNotNull(insert);
+        Assert.assertEquals(insert.getPlaceholderCount(), 2);
+        Assert.assertEquals(insert.getQuery(1), "INSERT INTO employees (id, name) VALUES (?, ?)");
+        Assert.assertEquals(insert.getQuery(4),
+                "INSERT INTO employees (id, name) VALUES (?, ?), (?, ?), (?, ?), (?, ?)");
+    }
+
+    @Test(description = "Test that a placeholder in a string literal or a comment is not part of the row")
+    public void testRewriteInsertWithQuotedText() {
+        MultiRowInsert insert = parse("INSERT INTO /* (?) */ notes (id, text) VALUES (?, 'values (?)')");
+        Assert.assertNotNull(insert);
+        Assert.assertEquals(insert.getPlaceholderCount(), 1);
+        Assert.assertEquals(insert.getQuery(2),
+                "INSERT INTO /* (?) */ notes (id, text) VALUES (?, 'values (?)'), (?, 'values (?)')");
+    }
+
+    @Test(description = "Test that inserts which do more than insert their row are not rewritten")
+    public void testRejectInsertWithTrailingClause() {
+        Assert.assertNull(parse("INSERT INTO employees (id, name) VALUES (?, ?) ON DUPLICATE KEY UPDATE name = ?"));
+        Assert.assertNull(parse("INSERT INTO employees (id, name) VALUES (?, ?) ON CONFLICT (id) DO NOTHING"));
+        Assert.assertNull(parse("INSERT INTO employees (id, name) VALUES (?, ?) ON CONFLICT (id) DO UPDATE SET "
+                + "name = (?)"));
+        Assert.assertNull(parse("INSERT INTO employees (id, name) VALUES (?, ?) RETURNING id"));
+    }
+
+    @Test(description = "Test that inserts which already have several rows are not rewritten")
+    public void testRejectMultiRowInsert() {
+        Assert.assertNull(parse("INSERT INTO employees (id, name) VALUES (?, ?), (?, ?)"));
+        Assert.assertNull(parse("INSERT INTO employees (id, name) VALUES (?, 'a'), (?, 'b')"));
+    }
+
+    @Test(description = "Test that statements other than inserts of a row of values are not rewritten")
+    public void testRejectOtherStatements() {
+        Assert.assertNull(parse("UPDATE employees SET name = ? WHERE id = (?)"));
+        Assert.assertNull(parse("INSERT INTO employees (id, name) SELECT id, name FROM staff WHERE id = (?)"));
+        Assert.assertNull(parse("INSERT INTO employees (id, name) VALUES (1, 'a')"));
+    }
+
+    @Test(description = "Test the largest number of rows of a rewritten insert on each database")
+    public void testMaxRows() {
+        MultiRowInsert insert = parse("INSERT INTO employees (id, name) VALUES (?, ?)");
+        Assert.assertEquals(insert.getMaxRows("mysql"), 128);
+        Assert.assertEquals(insert.getMaxRows("postgresql"), 128);
+        Assert.assertEquals(insert.getMaxRows("oracle"), 1);
+        Assert.assertEquals(insert.getMaxRows(null), 1);
+
+        StringJoiner columns = new StringJoiner(", ", "(", ")");
+        StringJoiner placeholders = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < 30; i++) {
+            columns.add("c" + i);
+            placeholders.add("?");
+        }
+        MultiRowInsert wideInsert = parse("INSERT INTO wide " + columns + " VALUES " + placeholders);
+        // 2100 parameters allow 70 rows of 30 placeholders, rounded down to a power of two.
+        Assert.assertEquals(wideInsert.getMaxRows("microsoft sql server"), 64);
+    }
+
+    @Test(description = "Test splitting the rows of a batch into rewritten inserts of powers of two rows")
+    public void testSplitRows() {
+        Assert.assertEquals(split(8, 13), Arrays.asList(8, 4, 1));
+        Assert.assertEquals(split(8, 20), Arrays.asList(8, 8, 4));
+        Assert.assertEquals(split(128, 7), Arrays.asList(4, 2, 1));
+        Assert.assertEquals(split(1, 3), Arrays.asList(1, 1, 1));
+    }
+
+    @Test(description = "Test mapping the update counts of rewritten inserts to the rows of the batch")
+    public void testSetUpdateCounts() {
+        int[] updateCounts = new int[13];
+        MultiRowInsert.setUpdateCounts(8, 8, updateCounts, 0);
+        MultiRowInsert.setUpdateCounts(2, 4, updateCounts, 8);
+        MultiRowInsert.setUpdateCounts(Statement.EXECUTE_FAILED, 1, updateCounts, 12);
+        Assert.assertEquals(updateCounts, new int[] { 1, 1, 1, 1, 1, 1, 1, 1, Statement.SUCCESS_NO_INFO,
+                Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO,
+                Statement.EXECUTE_FAILED });
+
+        int[] chunkCounts = new int[3];
+        MultiRowInsert.setUpdateCounts(4, 4, chunkCounts, 2);
+        Assert.assertEquals(chunkCounts, new int[] { 0, 0, 1 });
+    }
+
+    private static MultiRowInsert parse(String query) {
+        return SQLTemplate.compile(query).getMultiRowInsert();
+    }
+
+    /**
+     * Returns the number of rows of each rewritten insert of a batch, as they are run by a batch update.
+     */
+    private static List<Integer> split(int maxRows, int rowCount) {
+        List<Integer> statementRows = new ArrayList<>();
+        int rows = maxRows;
+        for (int rowIndex = 0; rowIndex < rowCount; rowIndex += rows) {
+            rows = MultiRowInsert.getStatementRows(rows, rowCount - rowIndex);
+            statementRows.add(rows);
+        }
+        return statementRows;
+    }
+}
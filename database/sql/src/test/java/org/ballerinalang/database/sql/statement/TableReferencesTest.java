@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2018, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.database.sql.statement;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests finding the tables a SQL statement reads and writes.
+ *
+ * @since 0.982.1
+ */
+public class TableReferencesTest {
+
+    @Test(description = "Test the tables written by inserts, updates and deletes")
+    public void testWrittenTables() {
+        TableReferences insert = TableReferences.parse("INSERT INTO Employees (id, name) VALUES (?, ?)");
+        Assert.assertEquals(insert.getWrittenTables(), tables("employees"));
+        Assert.assertNull(insert.getReadTables());
+        Assert.assertTrue(insert.isDataManipulation());
+
+        TableReferences update = TableReferences.parse("UPDATE hr.employees e SET name = ? WHERE id = ?");
+        Assert.assertEquals(update.getWrittenTables(), tables("employees"));
+        Assert.assertTrue(update.isDataManipulation());
+
+        TableReferences delete = TableReferences.parse("DELETE FROM employees WHERE id = ?");
+        Assert.assertEquals(delete.getWrittenTables(), tables("employees"));
+        Assert.assertTrue(delete.isDataManipulation());
+
+        TableReferences insertIgnore = TableReferences.parse("INSERT IGNORE INTO employees (id) VALUES (?)");
+        Assert.assertEquals(insertIgnore.getWrittenTables(), tables("employees"));
+    }
+
+    @Test(description = "Test the tables written by statements with quoted and schema qualified names")
+    public void testWrittenQuotedTables() {
+        Assert.assertEquals(TableReferences.parse("DELETE FROM \"Order Items\" WHERE id = ?").getWrittenTables(),
+                tables("order items"));
+        Assert.assertEquals(TableReferences.parse("INSERT INTO `shop`.`orders` (id) VALUES (?)").getWrittenTables(),
+                tables("orders"));
+        Assert.assertEquals(TableReferences.parse("UPDATE [dbo].[Select] SET name = ?").getWrittenTables(),
+                tables("select"));
+    }
+
+    @Test(description = "Test the tables read by queries")
+    public void testReadTables() {
+        TableReferences query = TableReferences.parse("SELECT e.name, d.name FROM employees e "
+                + "JOIN hr.departments AS d ON e.dept = d.id WHERE e.id IN (SELECT id FROM \"Managers\")");
+        Assert.assertEquals(query.getReadTables(), tables("employees", "departments", "managers"));
+        Assert.assertNull(query.getWrittenTables());
+        Assert.assertFalse(query.isDataManipulation());
+
+        Assert.assertEquals(TableReferences.parse("SELECT * FROM a, public.b WHERE a.id = b.id").getReadTables(),
+                tables("a", "b"));
+        Assert.assertEquals(TableReferences.parse("SELECT replace(name, 'a', 'b') FROM employees -- from x\n")
+                .getReadTables(), tables("employees"));
+    }
+
+    @Test(description = "Test that queries which lock or write rows are not taken for plain queries")
+    public void testQueriesWhichWrite() {
+        Assert.assertNull(TableReferences.parse("SELECT * FROM employees WHERE id = ? FOR UPDATE").getReadTables());
+        Assert.assertNull(TableReferences.parse("SELECT name INTO names FROM employees").getReadTables());
+    }
+
+    @Test(description = "Test statements which are not data manipulation")
+    public void testOtherStatements() {
+        TableReferences truncate = TableReferences.parse("TRUNCATE TABLE employees");
+        Assert.assertEquals(truncate.getWrittenTables(), tables("employees"));
+        Assert.assertFalse(truncate.isDataManipulation());
+
+        TableReferences create = TableReferences.parse("CREATE TABLE employees (id INT)");
+        Assert.assertNull(create.getWrittenTables());
+        Assert.assertNull(create.getReadTables());
+        Assert.assertFalse(create.isDataManipulation());
+
+        TableReferences call = TableReferences.parse("CALL update_employee(?)");
+        Assert.assertNull(call.getWrittenTables());
+        Assert.assertFalse(call.isDataManipulation());
+
+        TableReferences statements = TableReferences.parse("DELETE FROM a; DELETE FROM b");
+        Assert.assertNull(statements.getWrittenTables());
+        Assert.assertFalse(statements.isDataManipulation());
+    }
+
+    private static Set<String> tables(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+}